@@ -1,2 +1,7 @@
 CREATE DATABASE productdb;
-CREATE DATABASE orderdb;
\ No newline at end of file
+CREATE DATABASE orderdb;
+
+-- Product search's trigram index (product migration V2) needs pg_trgm. Creating an extension takes privileges the
+-- services' database user should not need, so it is installed here and V2's CREATE EXTENSION IF NOT EXISTS is a no-op
+\connect productdb
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
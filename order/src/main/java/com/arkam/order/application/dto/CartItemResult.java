@@ -0,0 +1,14 @@
+package com.arkam.order.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartItemResult {
+    private String productId;
+    private Integer quantity;
+    private CartItemStatus status;
+}
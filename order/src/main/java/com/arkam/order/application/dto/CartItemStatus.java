@@ -0,0 +1,5 @@
+package com.arkam.order.application.dto;
+
+public enum CartItemStatus {
+    ADDED, INVALID_REQUEST, PRODUCT_NOT_FOUND, OUT_OF_STOCK
+}
@@ -0,0 +1,16 @@
+package com.arkam.order.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartSummaryResponse {
+    private long lines;
+    private long quantity;
+    private BigDecimal total;
+}
@@ -0,0 +1,34 @@
+package com.arkam.order.application.dto;
+
+import com.arkam.order.domain.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Payload of createOrder-out-0; field names match notification's OrderCreatedEvent
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderCreatedEvent {
+    private Long orderId;
+    private String userId;
+    private OrderStatus status;
+    private List<Item> items;
+    private BigDecimal totalAmount;
+    private LocalDateTime createdAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private Long id;
+        private String productId;
+        private Integer quantity;
+        private BigDecimal price;
+        private BigDecimal subTotal;
+    }
+}
@@ -4,6 +4,7 @@ import com.arkam.order.domain.model.OrderStatus;
 import lombok.Data;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
@@ -13,4 +14,5 @@ public class OrderResponse {
     private BigDecimal totalAmount;
     private OrderStatus status;
     private List<OrderItemDTO> items;
+    private LocalDateTime createdAt;
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.arkam.order.application.dto;
+
+import com.arkam.order.domain.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusResult {
+    private Long orderId;
+    // null when the order does not exist
+    private OrderStatus previousStatus;
+    private StatusUpdateOutcome outcome;
+}
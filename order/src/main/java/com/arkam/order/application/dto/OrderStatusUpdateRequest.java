@@ -0,0 +1,12 @@
+package com.arkam.order.application.dto;
+
+import com.arkam.order.domain.model.OrderStatus;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class OrderStatusUpdateRequest {
+    private List<Long> orderIds;
+    private OrderStatus status;
+}
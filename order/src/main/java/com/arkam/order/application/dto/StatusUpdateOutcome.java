@@ -0,0 +1,5 @@
+package com.arkam.order.application.dto;
+
+public enum StatusUpdateOutcome {
+    UPDATED, UNCHANGED, INVALID_TRANSITION, NOT_FOUND
+}
@@ -0,0 +1,12 @@
+package com.arkam.order.application.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class StockReservationRequest {
+    private String reservationId;
+    private List<StockLineRequest> items = new ArrayList<>();
+}
@@ -1,8 +1,14 @@
 package com.arkam.order.application.port.in;
 
 import com.arkam.order.application.dto.CartItemRequest;
+import com.arkam.order.application.dto.CartItemResult;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface AddToCartUseCase {
     Mono<Boolean> addToCart(String userId, CartItemRequest request);
+
+    // One result per distinct product; empty if the user does not exist
+    Mono<List<CartItemResult>> addAllToCart(String userId, List<CartItemRequest> requests);
 }
\ No newline at end of file
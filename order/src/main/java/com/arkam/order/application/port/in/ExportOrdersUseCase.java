@@ -0,0 +1,13 @@
+package com.arkam.order.application.port.in;
+
+import com.arkam.order.application.dto.OrderResponse;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+public interface ExportOrdersUseCase {
+    Flux<OrderResponse> exportOrders(LocalDateTime from, LocalDateTime to);
+
+    // Earliest from the export accepts; older orders have moved, or are about to move, to the archive
+    LocalDateTime exportableFrom();
+}
@@ -0,0 +1,8 @@
+package com.arkam.order.application.port.in;
+
+import com.arkam.order.application.dto.CartSummaryResponse;
+import reactor.core.publisher.Mono;
+
+public interface GetCartSummaryUseCase {
+    Mono<CartSummaryResponse> getCartSummary(String userId);
+}
@@ -0,0 +1,8 @@
+package com.arkam.order.application.port.in;
+
+import com.arkam.order.application.dto.OrderResponse;
+import reactor.core.publisher.Mono;
+
+public interface GetOrderUseCase {
+    Mono<OrderResponse> getOrder(String userId, Long orderId);
+}
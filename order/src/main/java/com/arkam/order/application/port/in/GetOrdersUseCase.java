@@ -0,0 +1,8 @@
+package com.arkam.order.application.port.in;
+
+import com.arkam.order.application.dto.OrderPageResponse;
+import reactor.core.publisher.Mono;
+
+public interface GetOrdersUseCase {
+    Mono<OrderPageResponse> getOrders(String userId, String cursor, int limit);
+}
@@ -0,0 +1,11 @@
+package com.arkam.order.application.port.in;
+
+import com.arkam.order.application.dto.OrderStatusResult;
+import com.arkam.order.domain.model.OrderStatus;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface UpdateOrderStatusUseCase {
+    Mono<List<OrderStatusResult>> updateStatus(List<Long> orderIds, OrderStatus target);
+}
@@ -0,0 +1,12 @@
+package com.arkam.order.application.port.out;
+
+/**
+ * Thrown by {@link OrderRepositoryPort#placeOrder} when a cart line the order was built from is gone or holds a
+ * different quantity by the time the checkout transaction locks it.
+ */
+public class CartChangedException extends RuntimeException {
+
+    public CartChangedException(String userId) {
+        super("Cart of user " + userId + " changed during checkout");
+    }
+}
@@ -1,15 +1,23 @@
 package com.arkam.order.application.port.out;
 
 import com.arkam.order.domain.model.CartItem;
+import com.arkam.order.domain.model.CartSummary;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface CartItemRepositoryPort {
     Mono<CartItem> save(CartItem cartItem);
+    // Inserts the line or adds cartItem.quantity to the existing one in a single statement
+    Mono<Void> upsertQuantity(CartItem cartItem);
+    // upsertQuantity for several lines of one user's cart, sent as one batch; product ids must be distinct
+    Mono<Void> upsertQuantities(String userId, List<CartItem> cartItems);
     Mono<Optional<CartItem>> findByUserIdAndProductId(String userId, String productId);
     Flux<CartItem> findByUserId(String userId);
+    // Count, quantity and total from one aggregate query, without loading the lines
+    Mono<CartSummary> summarize(String userId);
     Mono<Void> delete(CartItem cartItem);
     Mono<Void> deleteByUserId(String userId);
 }
\ No newline at end of file
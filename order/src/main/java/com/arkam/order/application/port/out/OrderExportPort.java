@@ -0,0 +1,14 @@
+package com.arkam.order.application.port.out;
+
+import com.arkam.order.domain.model.Order;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+public interface OrderExportPort {
+    // Orders created in [from, to) with their items, streamed from the database without materialising the range
+    Flux<Order> streamByCreatedAt(LocalDateTime from, LocalDateTime to);
+
+    // Orders created before this are not in the tables the export reads
+    LocalDateTime exportableFrom();
+}
@@ -1,8 +1,27 @@
 package com.arkam.order.application.port.out;
 
 import com.arkam.order.domain.model.Order;
+import com.arkam.order.domain.model.OrderCursor;
+import com.arkam.order.domain.model.OrderStatus;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
 public interface OrderRepositoryPort {
     Mono<Order> save(Order order);
-}
\ No newline at end of file
+
+    // Saves the order and deletes the cart lines it was built from (id -> quantity read) as one unit of work; lines
+    // added since stay. Fails with CartChangedException if one of those lines is gone or its quantity changed.
+    Mono<Order> placeOrder(Order order, Map<Long, Integer> cartQuantities);
+
+    // Newest first, with items loaded; after is null for the first page
+    Flux<Order> findByUserId(String userId, OrderCursor after, int limit);
+
+    Mono<Order> findById(Long id);
+
+    // Moves the orders currently in one of the from states to the to state; returns each found order's status before the update
+    Mono<Map<Long, OrderStatus>> updateStatus(Collection<Long> ids, Set<OrderStatus> from, OrderStatus to);
+}
@@ -1,8 +1,21 @@
 package com.arkam.order.application.port.out;
 
 import com.arkam.order.application.dto.ProductResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.Map;
+
 public interface ProductServicePort {
     Mono<ProductResponse> getProductDetails(String productId);
+    // Current data for all ids in one call; unknown ids are missing from the result
+    Flux<ProductResponse> getProducts(Collection<String> productIds);
+    // All-or-nothing: false when any product is short, and then nothing is reserved. The caller picks the
+    // reservation id, so a retried call finds the reservation it already made; product-service releases it on its
+    // own if it is neither confirmed nor released in time
+    Mono<Boolean> reserveStock(String reservationId, Map<String, Integer> quantities);
+    Mono<Void> confirmStock(String reservationId);
+    // quantities are those reserved, naming the products whose stock changes back
+    Mono<Void> releaseStock(String reservationId, Map<String, Integer> quantities);
 }
\ No newline at end of file
@@ -5,4 +5,6 @@ import reactor.core.publisher.Mono;
 
 public interface UserServicePort {
     Mono<UserResponse> getUserDetails(String userId);
+    // Completes with false when user-service answers 404
+    Mono<Boolean> exists(String userId);
 }
\ No newline at end of file
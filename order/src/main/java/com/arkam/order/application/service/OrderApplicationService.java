@@ -2,132 +2,439 @@ package com.arkam.order.application.service;
 
 import com.arkam.order.application.dto.CartItemRequest;
 import com.arkam.order.application.dto.CartItemResponse;
+import com.arkam.order.application.dto.CartItemResult;
+import com.arkam.order.application.dto.CartItemStatus;
+import com.arkam.order.application.dto.CartSummaryResponse;
 import com.arkam.order.application.dto.OrderItemDTO;
+import com.arkam.order.application.dto.OrderPageResponse;
 import com.arkam.order.application.dto.OrderResponse;
+import com.arkam.order.application.dto.OrderStatusResult;
+import com.arkam.order.application.dto.ProductResponse;
+import com.arkam.order.application.dto.StatusUpdateOutcome;
 import com.arkam.order.application.port.in.*;
+import com.arkam.order.application.port.out.CartChangedException;
 import com.arkam.order.application.port.out.CartItemRepositoryPort;
+import com.arkam.order.application.port.out.OrderExportPort;
 import com.arkam.order.application.port.out.OrderRepositoryPort;
 import com.arkam.order.application.port.out.ProductServicePort;
 import com.arkam.order.application.port.out.UserServicePort;
 import com.arkam.order.domain.model.CartItem;
+import com.arkam.order.domain.model.CartSummary;
+import com.arkam.order.domain.model.Money;
 import com.arkam.order.domain.model.Order;
+import com.arkam.order.domain.model.OrderCursor;
 import com.arkam.order.domain.model.OrderItem;
+import com.arkam.order.domain.model.OrderStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class OrderApplicationService implements AddToCartUseCase, RemoveFromCartUseCase, GetCartUseCase, CreateOrderUseCase {
+public class OrderApplicationService implements AddToCartUseCase, RemoveFromCartUseCase, GetCartUseCase, GetCartSummaryUseCase,
+        CreateOrderUseCase, GetOrdersUseCase, GetOrderUseCase, ExportOrdersUseCase, UpdateOrderStatusUseCase {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public static final String USE_CASE_TIMER = "order.usecase";
+    public static final String DOWNSTREAM_TIMER = "order.usecase.downstream";
+    public static final String CART_SIZE = "order.cart.size";
+    public static final String ORDER_VALUE = "order.value";
+    public static final String CART_LINES = "order.cart.batch.lines";
+    public static final String STATUS_UPDATES = "order.status.updates";
+
+    private static final String USER = "user-service";
+    private static final String PRODUCT = "product-service";
+    private static final String DATABASE = "database";
+
+    private static final String SUCCESS = "success";
+    private static final String EMPTY = "empty";
+    private static final String CANCELLED = "cancelled";
+    private static final String TIMEOUT = "timeout";
+    private static final String ERROR = "error";
+    private static final String INVALID_REQUEST = "invalid-request";
+    private static final String NOT_FOUND = "not-found";
+    private static final String USER_NOT_FOUND = "user-not-found";
+    private static final String PRODUCT_NOT_FOUND = "product-not-found";
+    private static final String PRODUCT_UNAVAILABLE = "product-unavailable";
+    private static final String OUT_OF_STOCK = "out-of-stock";
+    private static final String EMPTY_CART = "empty-cart";
+    private static final String STOCK_REJECTED = "stock-rejected";
+    private static final String CART_CHANGED = "cart-changed";
 
     private final CartItemRepositoryPort cartItemRepository;
     private final OrderRepositoryPort orderRepository;
+    private final OrderExportPort orderExport;
     private final ProductServicePort productService;
     private final UserServicePort userService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${order.cart.lookup-deadline:1500ms}")
+    private Duration lookupDeadline;
 
     @Override
     public Mono<Boolean> addToCart(String userId, CartItemRequest request) {
-        return userService.getUserDetails(userId)
-                .flatMap(user -> {
-                    // User exists
-                    return productService.getProductDetails(request.getProductId())
-                            .flatMap(product -> {
-                                if (product.getStockQuantity() < request.getQuantity()) {
-                                    return Mono.just(false);
-                                }
-                                return cartItemRepository.findByUserIdAndProductId(userId, request.getProductId())
-                                        .flatMap(optional -> {
-                                            if (optional.isPresent()) {
-                                                CartItem existing = optional.get();
-                                                existing.setQuantity(existing.getQuantity() + request.getQuantity());
-                                                existing.setPrice(product.getPrice()); // Dynamic price
-                                                existing.setUpdatedAt(LocalDateTime.now());
-                                                return cartItemRepository.save(existing).then(Mono.just(true));
-                                            } else {
-                                                CartItem cartItem = new CartItem();
-                                                cartItem.setUserId(userId);
-                                                cartItem.setProductId(request.getProductId());
-                                                cartItem.setQuantity(request.getQuantity());
-                                                cartItem.setPrice(product.getPrice()); // Dynamic price
-                                                cartItem.setCreatedAt(LocalDateTime.now());
-                                                cartItem.setUpdatedAt(LocalDateTime.now());
-                                                return cartItemRepository.save(cartItem).then(Mono.just(true));
-                                            }
-                                        });
-                            })
-                            .defaultIfEmpty(false); // Product not found
-                })
-                .defaultIfEmpty(false) // User not found
-                .onErrorResume(e -> Mono.just(false));
+        return useCase("add-to-cart", outcome ->
+                // Both lookups run at once under one deadline, so latency is the slower of the two, not the sum
+                Mono.zip(downstream(USER, "exists", userService.exists(userId)),
+                                downstream(PRODUCT, "get-product", productService.getProductDetails(request.getProductId())))
+                        .timeout(lookupDeadline)
+                        .flatMap(lookups -> {
+                            if (!lookups.getT1()) {
+                                return reject(outcome, USER_NOT_FOUND, Mono.just(false));
+                            }
+                            ProductResponse product = lookups.getT2();
+                            if (!isAvailable(product, request.getQuantity())) {
+                                // Same check as checkout: inactive or incomplete products are refused, not just short stock
+                                return reject(outcome, isAvailable(product, 0) ? OUT_OF_STOCK : PRODUCT_UNAVAILABLE,
+                                        Mono.just(false));
+                            }
+                            CartItem cartItem = new CartItem();
+                            cartItem.setUserId(userId);
+                            cartItem.setProductId(request.getProductId());
+                            cartItem.setQuantity(request.getQuantity());
+                            cartItem.setPrice(Money.ofNullable(product.getPrice())); // Dynamic price
+                            // Single INSERT ... ON CONFLICT: concurrent adds of the same product can't lose updates
+                            return downstream(DATABASE, "upsert-quantity", cartItemRepository.upsertQuantity(cartItem))
+                                    .thenReturn(true);
+                        })
+                        .switchIfEmpty(Mono.defer(() -> reject(outcome, PRODUCT_NOT_FOUND, Mono.just(false))))
+                        // Still answered as a plain false, but the reason is kept for the outcome tag
+                        .onErrorResume(e -> reject(outcome, failure(e), Mono.just(false))));
+    }
+
+    @Override
+    public Mono<List<CartItemResult>> addAllToCart(String userId, List<CartItemRequest> requests) {
+        return useCase("add-all-to-cart", outcome -> {
+            // Repeated products are merged so stock is checked against the combined quantity
+            Map<String, Integer> quantities = new LinkedHashMap<>();
+            List<CartItemResult> invalid = new ArrayList<>();
+            for (CartItemRequest request : requests) {
+                if (request.getProductId() == null || request.getQuantity() == null || request.getQuantity() <= 0) {
+                    invalid.add(new CartItemResult(request.getProductId(), request.getQuantity(), CartItemStatus.INVALID_REQUEST));
+                } else {
+                    quantities.merge(request.getProductId(), request.getQuantity(), Integer::sum);
+                }
+            }
+            Mono<Map<String, ProductResponse>> products = quantities.isEmpty()
+                    ? Mono.just(Map.of())
+                    : downstream(PRODUCT, "get-products", productService.getProducts(quantities.keySet()))
+                            .collectMap(product -> String.valueOf(product.getId()));
+            // One user check and one product batch for the whole list, under the same deadline as a single add
+            return Mono.zip(downstream(USER, "exists", userService.exists(userId)), products)
+                    .timeout(lookupDeadline)
+                    .flatMap(lookups -> {
+                        if (!lookups.getT1()) {
+                            return reject(outcome, USER_NOT_FOUND, Mono.empty());
+                        }
+                        List<CartItemResult> results = new ArrayList<>(invalid);
+                        List<CartItem> accepted = new ArrayList<>();
+                        quantities.forEach((productId, quantity) -> {
+                            ProductResponse product = lookups.getT2().get(productId);
+                            CartItemStatus status = product == null ? CartItemStatus.PRODUCT_NOT_FOUND
+                                    : isAvailable(product, quantity) ? CartItemStatus.ADDED
+                                    : CartItemStatus.OUT_OF_STOCK;
+                            if (status == CartItemStatus.ADDED) {
+                                CartItem cartItem = new CartItem();
+                                cartItem.setUserId(userId);
+                                cartItem.setProductId(productId);
+                                cartItem.setQuantity(quantity);
+                                cartItem.setPrice(Money.of(product.getPrice()));
+                                accepted.add(cartItem);
+                            }
+                            results.add(new CartItemResult(productId, quantity, status));
+                        });
+                        results.forEach(result -> meterRegistry.counter(CART_LINES, "status", result.getStatus().name()).increment());
+                        return downstream(DATABASE, "upsert-quantities", cartItemRepository.upsertQuantities(userId, accepted))
+                                .thenReturn(results);
+                    });
+        });
     }
 
     @Override
     public Mono<Boolean> removeFromCart(String userId, String productId) {
-        return cartItemRepository.findByUserIdAndProductId(userId, productId)
-                .flatMap(optional -> {
-                    if (optional.isPresent()) {
-                        return cartItemRepository.delete(optional.get()).then(Mono.just(true));
-                    }
-                    return Mono.just(false);
-                });
+        return useCase("remove-from-cart", outcome ->
+                downstream(DATABASE, "find-cart-item", cartItemRepository.findByUserIdAndProductId(userId, productId))
+                        .flatMap(optional -> {
+                            if (optional.isPresent()) {
+                                return downstream(DATABASE, "delete-cart-item", cartItemRepository.delete(optional.get()))
+                                        .then(Mono.just(true));
+                            }
+                            return reject(outcome, NOT_FOUND, Mono.just(false));
+                        }));
     }
 
     @Override
     public Flux<CartItemResponse> getCart(String userId) {
-        return cartItemRepository.findByUserId(userId)
-                .map(this::mapToCartItemResponse);
+        return useCase("get-cart", downstream(DATABASE, "find-cart", cartItemRepository.findByUserId(userId))
+                .map(this::mapToCartItemResponse));
+    }
+
+    @Override
+    public Mono<CartSummaryResponse> getCartSummary(String userId) {
+        return useCase("get-cart-summary", outcome ->
+                downstream(DATABASE, "summarize-cart", cartItemRepository.summarize(userId))
+                        .map(this::mapToCartSummaryResponse));
     }
 
     @Override
-    @Transactional
     public Mono<OrderResponse> createOrder(String userId) {
-        return cartItemRepository.findByUserId(userId)
-                .collectList()
-                .flatMap(cartItems -> {
-                    if (cartItems.isEmpty()) return Mono.empty();
-                    Order order = new Order();
-                    order.setUserId(userId);
-                    order.setItems(cartItems.stream()
-                            .map(cartItem -> {
-                                OrderItem item = new OrderItem();
-                                item.setProductId(cartItem.getProductId());
-                                item.setQuantity(cartItem.getQuantity());
-                                item.setPrice(cartItem.getPrice());
-                                return item;
-                            })
-                            .collect(Collectors.toList()));
-                    order.calculateTotalAmount();
-                    order.setCreatedAt(LocalDateTime.now());
-                    order.setUpdatedAt(LocalDateTime.now());
-                    return orderRepository.save(order)
-                            .flatMap(savedOrder -> {
-                                // Clear cart after order creation
-                                return cartItemRepository.deleteByUserId(userId)
-                                        .then(Mono.just(mapToOrderResponse(savedOrder)));
-                            });
-                });
-    }
-
-    private CartItemResponse mapToCartItemResponse(CartItem cartItem) {
+        return useCase("create-order", outcome ->
+                downstream(DATABASE, "find-cart", cartItemRepository.findByUserId(userId))
+                        .collectList()
+                        .flatMap(cartItems -> {
+                            if (cartItems.isEmpty()) return reject(outcome, EMPTY_CART, Mono.<Order>empty());
+                            meterRegistry.summary(CART_SIZE).record(cartItems.size());
+                            Set<String> productIds = cartItems.stream()
+                                    .map(CartItem::getProductId)
+                                    .collect(Collectors.toSet());
+                            // One batch call re-checks price and stock for the whole cart
+                            return downstream(PRODUCT, "get-products", productService.getProducts(productIds))
+                                    .collectMap(product -> String.valueOf(product.getId()))
+                                    .flatMap(products -> {
+                                        List<OrderItem> items = new ArrayList<>(cartItems.size());
+                                        for (CartItem cartItem : cartItems) {
+                                            ProductResponse product = products.get(cartItem.getProductId());
+                                            if (!isAvailable(product, cartItem.getQuantity())) {
+                                                return reject(outcome, PRODUCT_UNAVAILABLE, Mono.<Order>empty());
+                                            }
+                                            OrderItem item = new OrderItem();
+                                            item.setProductId(cartItem.getProductId());
+                                            item.setQuantity(cartItem.getQuantity());
+                                            item.setPrice(Money.of(product.getPrice())); // Current price, not the one stored in the cart
+                                            items.add(item);
+                                        }
+                                        Order order = new Order();
+                                        order.setUserId(userId);
+                                        order.setItems(items);
+                                        order.calculateTotalAmount();
+                                        order.setCreatedAt(LocalDateTime.now());
+                                        order.setUpdatedAt(LocalDateTime.now());
+                                        Money total = order.getTotalAmount();
+                                        Map<Long, Integer> cartQuantities = cartItems.stream()
+                                                .collect(Collectors.toMap(CartItem::getId, CartItem::getQuantity));
+                                        return reserveAndPlace(order, cartQuantities, outcome)
+                                                .doOnNext(placed -> meterRegistry.summary(ORDER_VALUE,
+                                                                "currency", total.currency().getCurrencyCode())
+                                                        .record(total.toBigDecimal().doubleValue()))
+                                                // The stock is back by now; the client checks out again on the current cart
+                                                .onErrorResume(CartChangedException.class,
+                                                        e -> reject(outcome, CART_CHANGED, Mono.<Order>empty()));
+                                    });
+                        })
+                        .map(this::mapToOrderResponse));
+    }
+
+    @Override
+    public Mono<OrderPageResponse> getOrders(String userId, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // One extra row tells whether there is a next page without a count query
+        return useCase("get-orders", outcome -> Mono.defer(() -> downstream(DATABASE, "find-orders",
+                        orderRepository.findByUserId(userId, decodeCursor(cursor), pageSize + 1)).collectList())
+                .map(orders -> {
+                    boolean hasMore = orders.size() > pageSize;
+                    List<Order> page = hasMore ? orders.subList(0, pageSize) : orders;
+                    String nextCursor = hasMore ? encodeCursor(OrderCursor.of(page.get(pageSize - 1))) : null;
+                    return new OrderPageResponse(page.stream().map(this::mapToOrderResponse).toList(), nextCursor);
+                }));
+    }
+
+    @Override
+    public Mono<OrderResponse> getOrder(String userId, Long orderId) {
+        return useCase("get-order", outcome -> downstream(DATABASE, "find-order", orderRepository.findById(orderId))
+                .filter(order -> userId.equals(order.getUserId()))
+                .map(this::mapToOrderResponse)
+                .switchIfEmpty(Mono.defer(() -> reject(outcome, NOT_FOUND, Mono.empty()))));
+    }
+
+    @Override
+    public Flux<OrderResponse> exportOrders(LocalDateTime from, LocalDateTime to) {
+        return useCase("export-orders", downstream(DATABASE, "export-orders", orderExport.streamByCreatedAt(from, to))
+                .map(this::mapToOrderResponse));
+    }
+
+    @Override
+    public LocalDateTime exportableFrom() {
+        return orderExport.exportableFrom();
+    }
+
+    @Override
+    public Mono<List<OrderStatusResult>> updateStatus(List<Long> orderIds, OrderStatus target) {
+        // The adapter only moves orders in a legal source state; the outcome per id is derived from the state it found
+        return useCase("update-status", outcome -> downstream(DATABASE, "update-status",
+                        orderRepository.updateStatus(orderIds, OrderStatus.sourcesOf(target), target))
+                .map(previous -> orderIds.stream()
+                        .distinct()
+                        .map(id -> {
+                            OrderStatus current = previous.get(id);
+                            StatusUpdateOutcome result = current == null ? StatusUpdateOutcome.NOT_FOUND
+                                    : current == target ? StatusUpdateOutcome.UNCHANGED
+                                    : current.canTransitionTo(target) ? StatusUpdateOutcome.UPDATED
+                                    : StatusUpdateOutcome.INVALID_TRANSITION;
+                            meterRegistry.counter(STATUS_UPDATES, "outcome", result.name()).increment();
+                            return new OrderStatusResult(id, current, result);
+                        })
+                        .toList()));
+    }
+
+    // Stock is taken first; if the order then fails to persist, the reservation is handed back, and once it is
+    // placed the reservation is confirmed. A reservation left pending either way is released by product-service
+    // after its TTL
+    private Mono<Order> reserveAndPlace(Order order, Map<Long, Integer> cartQuantities, AtomicReference<String> outcome) {
+        String reservationId = UUID.randomUUID().toString();
+        Map<String, Integer> quantities = order.getItems().stream()
+                .collect(Collectors.toMap(OrderItem::getProductId, OrderItem::getQuantity, Integer::sum));
+        return downstream(PRODUCT, "reserve-stock", productService.reserveStock(reservationId, quantities))
+                .flatMap(reserved -> reserved ? Mono.just(true) : reject(outcome, STOCK_REJECTED, Mono.<Boolean>empty()))
+                // Order insert and cart clean-up commit together; only the lines read above are removed, and only while unchanged
+                .flatMap(reserved -> downstream(DATABASE, "place-order", orderRepository.placeOrder(order, cartQuantities))
+                        .onErrorResume(e -> downstream(PRODUCT, "release-stock", productService.releaseStock(reservationId, quantities))
+                                .onErrorResume(releaseError -> {
+                                    log.error("No se pudo liberar la reserva de stock {} del usuario {}: {}",
+                                            reservationId, order.getUserId(), quantities, releaseError);
+                                    return Mono.empty();
+                                })
+                                .then(Mono.error(e))))
+                .flatMap(placed -> downstream(PRODUCT, "confirm-stock", productService.confirmStock(reservationId))
+                        .onErrorResume(confirmError -> {
+                            log.error("Pedido {} creado pero no se pudo confirmar la reserva de stock {}",
+                                    placed.getId(), reservationId, confirmError);
+                            return Mono.empty();
+                        })
+                        .thenReturn(placed));
+    }
+
+    // Opaque to clients: base64url of "createdAt|id"
+    private static String encodeCursor(OrderCursor cursor) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((cursor.createdAt() + "|" + cursor.id()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static OrderCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+            return new OrderCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid order cursor: " + cursor, e);
+        }
+    }
+
+    // One order.usecase sample per subscription; the body may name a failure reason, otherwise the signal decides
+    private <T> Mono<T> useCase(String name, Function<AtomicReference<String>, Mono<T>> body) {
+        return Mono.defer(() -> {
+            AtomicReference<String> outcome = new AtomicReference<>();
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return body.apply(outcome)
+                    .doOnNext(value -> outcome.compareAndSet(null, SUCCESS))
+                    .doOnError(e -> outcome.compareAndSet(null, failure(e)))
+                    .doFinally(signal -> sample.stop(meterRegistry.timer(USE_CASE_TIMER,
+                            "usecase", name, "outcome", outcome(signal, outcome, EMPTY))));
+        });
+    }
+
+    private <T> Flux<T> useCase(String name, Flux<T> body) {
+        return Flux.defer(() -> {
+            AtomicReference<String> outcome = new AtomicReference<>();
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return body.doOnError(e -> outcome.set(failure(e)))
+                    .doFinally(signal -> sample.stop(meterRegistry.timer(USE_CASE_TIMER,
+                            "usecase", name, "outcome", outcome(signal, outcome, SUCCESS))));
+        });
+    }
+
+    // Cancelled calls are the ones a sibling failure or the lookup deadline cut short
+    private <T> Mono<T> downstream(String dependency, String call, Mono<T> source) {
+        return Mono.defer(() -> {
+            AtomicReference<String> outcome = new AtomicReference<>();
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return source.doOnError(e -> outcome.set(failure(e)))
+                    .doFinally(signal -> sample.stop(meterRegistry.timer(DOWNSTREAM_TIMER,
+                            "dependency", dependency, "call", call, "outcome", outcome(signal, outcome, SUCCESS))));
+        });
+    }
+
+    private <T> Flux<T> downstream(String dependency, String call, Flux<T> source) {
+        return Flux.defer(() -> {
+            AtomicReference<String> outcome = new AtomicReference<>();
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return source.doOnError(e -> outcome.set(failure(e)))
+                    .doFinally(signal -> sample.stop(meterRegistry.timer(DOWNSTREAM_TIMER,
+                            "dependency", dependency, "call", call, "outcome", outcome(signal, outcome, SUCCESS))));
+        });
+    }
+
+    private static <T> Mono<T> reject(AtomicReference<String> outcome, String reason, Mono<T> answer) {
+        outcome.set(reason);
+        return answer;
+    }
+
+    private static String outcome(SignalType signal, AtomicReference<String> outcome, String completed) {
+        String reason = outcome.get();
+        if (reason != null) {
+            return reason;
+        }
+        return signal == SignalType.CANCEL ? CANCELLED : completed;
+    }
+
+    private static String failure(Throwable e) {
+        if (e instanceof TimeoutException) {
+            return TIMEOUT;
+        }
+        return e instanceof IllegalArgumentException ? INVALID_REQUEST : ERROR;
+    }
+
+    private boolean isAvailable(ProductResponse product, int quantity) {
+        return product != null
+                && !Boolean.FALSE.equals(product.getActive())
+                && product.getPrice() != null
+                && product.getStockQuantity() != null
+                && product.getStockQuantity() >= quantity;
+    }
+
+    CartItemResponse mapToCartItemResponse(CartItem cartItem) {
         CartItemResponse response = new CartItemResponse();
         response.setId(cartItem.getId());
         response.setProductId(cartItem.getProductId());
         response.setQuantity(cartItem.getQuantity());
-        response.setPrice(cartItem.getPrice());
-        response.setTotalPrice(cartItem.getTotalPrice());
+        response.setPrice(Money.amountOrNull(cartItem.getPrice()));
+        response.setTotalPrice(cartItem.getTotalPrice().toBigDecimal());
         return response;
     }
 
-    private OrderResponse mapToOrderResponse(Order order) {
+    CartSummaryResponse mapToCartSummaryResponse(CartSummary summary) {
+        return new CartSummaryResponse(summary.lines(), summary.quantity(), summary.total().toBigDecimal());
+    }
+
+    OrderResponse mapToOrderResponse(Order order) {
         OrderResponse response = new OrderResponse();
         response.setId(order.getId());
         response.setUserId(order.getUserId());
-        response.setTotalAmount(order.getTotalAmount());
+        response.setTotalAmount(Money.amountOrNull(order.getTotalAmount()));
         response.setStatus(order.getStatus());
         response.setItems(order.getItems().stream()
                 .map(item -> {
@@ -135,11 +442,12 @@ public class OrderApplicationService implements AddToCartUseCase, RemoveFromCart
                     dto.setId(item.getId());
                     dto.setProductId(item.getProductId());
                     dto.setQuantity(item.getQuantity());
-                    dto.setPrice(item.getPrice());
-                    dto.setTotalPrice(item.getTotalPrice());
+                    dto.setPrice(Money.amountOrNull(item.getPrice()));
+                    dto.setTotalPrice(item.getTotalPrice().toBigDecimal());
                     return dto;
                 })
                 .collect(Collectors.toList()));
+        response.setCreatedAt(order.getCreatedAt());
         return response;
     }
 }
\ No newline at end of file
@@ -1,14 +1,36 @@
 package com.arkam.order.clients;
 
 import com.arkam.order.application.dto.ProductResponse;
+import com.arkam.order.application.dto.StockReservationRequest;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.service.annotation.DeleteExchange;
 import org.springframework.web.service.annotation.GetExchange;
 import org.springframework.web.service.annotation.HttpExchange;
+import org.springframework.web.service.annotation.PostExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 @HttpExchange
 public interface ProductServiceClient {
 
     @GetExchange("/api/products/{id}")
     Mono<ProductResponse> getProductDetails(@PathVariable String id);
+
+    @GetExchange("/api/products/batch")
+    Mono<List<ProductResponse>> getProducts(@RequestParam List<String> ids);
+
+    // Not routed by the gateway. 409 when any line is short of stock, and then nothing is reserved, or when a retry
+    // finds the reservation already released
+    @PostExchange("/internal/stock/reservations")
+    Mono<Void> reserveStock(@RequestBody StockReservationRequest request);
+
+    // 409 when the reservation expired and was released first
+    @PostExchange("/internal/stock/reservations/{reservationId}/confirmation")
+    Mono<Void> confirmStock(@PathVariable String reservationId);
+
+    @DeleteExchange("/internal/stock/reservations/{reservationId}")
+    Mono<Void> releaseStock(@PathVariable String reservationId);
 }
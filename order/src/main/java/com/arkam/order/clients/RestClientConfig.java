@@ -1,13 +1,19 @@
 package com.arkam.order.clients;
 
 import io.micrometer.observation.ObservationRegistry;
+import io.netty.channel.ChannelOption;
 import io.micrometer.tracing.Tracer;
 import io.micrometer.tracing.propagation.Propagator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
 
 @Configuration
 public class RestClientConfig {
@@ -21,10 +27,20 @@ public class RestClientConfig {
     @Autowired(required = false)
     private Propagator propagator;
 
+    @Value("${order.clients.connect-timeout:500ms}")
+    private Duration connectTimeout;
+
+    @Value("${order.clients.response-timeout:2s}")
+    private Duration responseTimeout;
+
     @Bean
     @LoadBalanced
     public WebClient.Builder webClientBuilder() {
-        WebClient.Builder builder = WebClient.builder();
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout);
+        WebClient.Builder builder = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient));
 
         if (observationRegistry != null){
             // For WebClient, tracing is handled differently, but for simplicity, omit for now
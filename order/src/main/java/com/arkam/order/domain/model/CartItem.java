@@ -3,7 +3,6 @@ package com.arkam.order.domain.model;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -13,16 +12,16 @@ public class CartItem {
     private String userId;
     private String productId;
     private Integer quantity;
-    private BigDecimal price;
+    private Money price;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
     // Domain business logic
-    public BigDecimal getTotalPrice() {
-        return price != null && quantity != null ? price.multiply(BigDecimal.valueOf(quantity)) : BigDecimal.ZERO;
+    public Money getTotalPrice() {
+        return price != null && quantity != null ? price.times(quantity) : Money.ZERO;
     }
 
     public boolean isValid() {
-        return userId != null && productId != null && quantity != null && quantity > 0 && price != null && price.compareTo(BigDecimal.ZERO) > 0;
+        return userId != null && productId != null && quantity != null && quantity > 0 && price != null && price.isPositive();
     }
 }
\ No newline at end of file
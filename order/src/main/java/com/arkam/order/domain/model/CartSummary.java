@@ -0,0 +1,7 @@
+package com.arkam.order.domain.model;
+
+// Line count, summed quantity and total price of one cart, aggregated where the lines are stored
+public record CartSummary(long lines, long quantity, Money total) {
+
+    public static final CartSummary EMPTY = new CartSummary(0, 0, Money.ZERO);
+}
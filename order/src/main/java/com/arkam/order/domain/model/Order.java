@@ -3,7 +3,6 @@ package com.arkam.order.domain.model;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -13,7 +12,7 @@ import java.util.List;
 public class Order {
     private Long id;
     private String userId;
-    private BigDecimal totalAmount;
+    private Money totalAmount;
     private OrderStatus status = OrderStatus.PENDING;
     private List<OrderItem> items = new ArrayList<>();
     private LocalDateTime createdAt;
@@ -21,12 +20,21 @@ public class Order {
 
     // Domain business logic
     public void calculateTotalAmount() {
-        this.totalAmount = items.stream()
-                .map(OrderItem::getTotalPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Summed in minor units: no intermediate Money per line
+        long total = 0;
+        for (OrderItem item : items) {
+            Money price = item.getPrice();
+            if (price != null && item.getQuantity() != null) {
+                if (!price.currency().equals(Money.DEFAULT_CURRENCY)) {
+                    throw new IllegalArgumentException("Order lines must be in " + Money.DEFAULT_CURRENCY);
+                }
+                total = Math.addExact(total, Math.multiplyExact(price.minorUnits(), item.getQuantity()));
+            }
+        }
+        this.totalAmount = new Money(total, Money.DEFAULT_CURRENCY);
     }
 
     public boolean canBeProcessed() {
-        return status == OrderStatus.PENDING && !items.isEmpty() && totalAmount != null && totalAmount.compareTo(BigDecimal.ZERO) > 0;
+        return status == OrderStatus.PENDING && !items.isEmpty() && totalAmount != null && totalAmount.isPositive();
     }
 }
\ No newline at end of file
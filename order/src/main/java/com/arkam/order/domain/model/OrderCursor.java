@@ -0,0 +1,11 @@
+package com.arkam.order.domain.model;
+
+import java.time.LocalDateTime;
+
+// Position in a user's order history, which is ordered by (createdAt, id) descending
+public record OrderCursor(LocalDateTime createdAt, Long id) {
+
+    public static OrderCursor of(Order order) {
+        return new OrderCursor(order.getCreatedAt(), order.getId());
+    }
+}
@@ -4,8 +4,6 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
-
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -13,14 +11,14 @@ public class OrderItem {
     private Long id;
     private String productId;
     private Integer quantity;
-    private BigDecimal price;
+    private Money price;
 
     // Domain business logic
-    public BigDecimal getTotalPrice() {
-        return price != null && quantity != null ? price.multiply(BigDecimal.valueOf(quantity)) : BigDecimal.ZERO;
+    public Money getTotalPrice() {
+        return price != null && quantity != null ? price.times(quantity) : Money.ZERO;
     }
 
     public boolean isValid() {
-        return productId != null && quantity != null && quantity > 0 && price != null && price.compareTo(BigDecimal.ZERO) > 0;
+        return productId != null && quantity != null && quantity > 0 && price != null && price.isPositive();
     }
 }
\ No newline at end of file
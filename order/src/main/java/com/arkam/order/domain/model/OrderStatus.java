@@ -1,5 +1,28 @@
 package com.arkam.order.domain.model;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum OrderStatus {
-    PENDING, CONFIRMED, SHIPPED, DELIVERED, CANCELLED
-}
\ No newline at end of file
+    PENDING, CONFIRMED, SHIPPED, DELIVERED, CANCELLED;
+
+    // PENDING -> CONFIRMED -> SHIPPED -> DELIVERED; anything not yet delivered can be cancelled
+    public boolean canTransitionTo(OrderStatus target) {
+        return switch (this) {
+            case PENDING -> target == CONFIRMED || target == CANCELLED;
+            case CONFIRMED -> target == SHIPPED || target == CANCELLED;
+            case SHIPPED -> target == DELIVERED || target == CANCELLED;
+            case DELIVERED, CANCELLED -> false;
+        };
+    }
+
+    public static Set<OrderStatus> sourcesOf(OrderStatus target) {
+        Set<OrderStatus> sources = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus status : values()) {
+            if (status.canTransitionTo(target)) {
+                sources.add(status);
+            }
+        }
+        return sources;
+    }
+}
@@ -2,24 +2,34 @@ package com.arkam.order.infrastructure.adapter.in;
 
 import com.arkam.order.application.dto.CartItemRequest;
 import com.arkam.order.application.dto.CartItemResponse;
+import com.arkam.order.application.dto.CartItemResult;
+import com.arkam.order.application.dto.CartSummaryResponse;
 import com.arkam.order.application.port.in.AddToCartUseCase;
+import com.arkam.order.application.port.in.GetCartSummaryUseCase;
 import com.arkam.order.application.port.in.GetCartUseCase;
 import com.arkam.order.application.port.in.RemoveFromCartUseCase;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/cart")
 public class CartController {
 
+    // Same bound as the product service's batch lookup
+    public static final int MAX_BATCH_SIZE = 100;
+
     private final AddToCartUseCase addToCartUseCase;
     private final RemoveFromCartUseCase removeFromCartUseCase;
     private final GetCartUseCase getCartUseCase;
+    private final GetCartSummaryUseCase getCartSummaryUseCase;
 
     @PostMapping
     public Mono<ResponseEntity<String>> addToCart(
@@ -31,6 +41,19 @@ public class CartController {
                         ResponseEntity.badRequest().body("No se pudo agregar al carrito: usuario, producto no encontrado o stock insuficiente"));
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<List<CartItemResult>>> addAllToCart(
+            @RequestHeader("X-User-ID") String userId,
+            @RequestBody List<CartItemRequest> requests) {
+        if (requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return addToCartUseCase.addAllToCart(userId, requests)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.badRequest().build()) // User not found
+                .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build()));
+    }
+
     @DeleteMapping("/items/{productId}")
     public Mono<ResponseEntity<Void>> removeFromCart(
             @RequestHeader("X-User-ID") String userId,
@@ -45,4 +68,14 @@ public class CartController {
     public Flux<CartItemResponse> getCart(@RequestHeader("X-User-ID") String userId) {
         return getCartUseCase.getCart(userId);
     }
+
+    // The ETag is the body itself, so it changes exactly when the body does; If-None-Match is answered with 304
+    @GetMapping("/summary")
+    public Mono<ResponseEntity<CartSummaryResponse>> getCartSummary(@RequestHeader("X-User-ID") String userId) {
+        return getCartSummaryUseCase.getCartSummary(userId)
+                .map(summary -> ResponseEntity.ok()
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .eTag(summary.getLines() + "-" + summary.getQuantity() + "-" + summary.getTotal().toPlainString())
+                        .body(summary));
+    }
 }
\ No newline at end of file
@@ -1,18 +1,38 @@
 package com.arkam.order.infrastructure.adapter.in;
 
+import com.arkam.order.application.dto.OrderPageResponse;
 import com.arkam.order.application.dto.OrderResponse;
+import com.arkam.order.application.dto.OrderStatusResult;
+import com.arkam.order.application.dto.OrderStatusUpdateRequest;
 import com.arkam.order.application.port.in.CreateOrderUseCase;
+import com.arkam.order.application.port.in.ExportOrdersUseCase;
+import com.arkam.order.application.port.in.GetOrderUseCase;
+import com.arkam.order.application.port.in.GetOrdersUseCase;
+import com.arkam.order.application.port.in.UpdateOrderStatusUseCase;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/orders")
 public class OrderController {
 
+    public static final int MAX_STATUS_UPDATE_SIZE = 10_000;
+
     private final CreateOrderUseCase createOrderUseCase;
+    private final GetOrdersUseCase getOrdersUseCase;
+    private final GetOrderUseCase getOrderUseCase;
+    private final ExportOrdersUseCase exportOrdersUseCase;
+    private final UpdateOrderStatusUseCase updateOrderStatusUseCase;
 
     @PostMapping
     public Mono<ResponseEntity<OrderResponse>> createOrder(@RequestHeader("X-User-ID") String userId) {
@@ -20,4 +40,48 @@ public class OrderController {
                 .map(ResponseEntity::ok)
                 .defaultIfEmpty(ResponseEntity.badRequest().build());
     }
-}
\ No newline at end of file
+
+    @GetMapping
+    public Mono<ResponseEntity<OrderPageResponse>> getOrders(
+            @RequestHeader("X-User-ID") String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return getOrdersUseCase.getOrders(userId, cursor, limit)
+                .map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    @GetMapping("/{orderId}")
+    public Mono<ResponseEntity<OrderResponse>> getOrder(
+            @RequestHeader("X-User-ID") String userId,
+            @PathVariable Long orderId) {
+        return getOrderUseCase.getOrder(userId, orderId)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // One JSON order per line, written as the cursor is read; a client disconnect cancels the query. Ranges reaching
+    // back past the archive horizon are rejected rather than silently cut short
+    @GetMapping("/export")
+    public ResponseEntity<Flux<OrderResponse>> exportOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (!from.isBefore(to) || from.isBefore(exportOrdersUseCase.exportableFrom())) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(exportOrdersUseCase.exportOrders(from, to));
+    }
+
+    @PatchMapping("/status")
+    public Mono<ResponseEntity<List<OrderStatusResult>>> updateStatus(@RequestBody OrderStatusUpdateRequest request) {
+        List<Long> orderIds = request.getOrderIds();
+        if (request.getStatus() == null || orderIds == null || orderIds.isEmpty()
+                || orderIds.size() > MAX_STATUS_UPDATE_SIZE || orderIds.stream().anyMatch(Objects::isNull)) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return updateOrderStatusUseCase.updateStatus(orderIds, request.getStatus())
+                .map(ResponseEntity::ok);
+    }
+}
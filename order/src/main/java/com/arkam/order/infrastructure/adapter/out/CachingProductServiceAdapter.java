@@ -0,0 +1,121 @@
+package com.arkam.order.infrastructure.adapter.out;
+
+import com.arkam.order.application.dto.ProductResponse;
+import com.arkam.order.application.port.out.ProductServicePort;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Caches product-service lookups. A single remote call serves both the catalog fields and the stock figure, so the
+ * entry is bounded by how stale stock may get:
+ * <ul>
+ *     <li>after {@code refresh-after} a read still returns the cached product but triggers a background reload
+ *     (stale-while-revalidate), so hot products are reloaded before they reach the bound;</li>
+ *     <li>an entry written more than {@code stock-ttl} ago is never returned, whether or not it was read in between
+ *     or product-service is failing: the next read waits for product-service.</li>
+ * </ul>
+ * Concurrent lookups of the same id share one in-flight call.
+ */
+@Component
+@Primary
+public class CachingProductServiceAdapter implements ProductServicePort {
+
+    public static final String DELEGATE = "remoteProductService";
+    static final String CACHE_NAME = "order.product";
+
+    private final ProductServicePort delegate;
+    private final AsyncLoadingCache<String, ProductResponse> products;
+    private final Counter coalesced;
+
+    @Autowired
+    public CachingProductServiceAdapter(@Qualifier(DELEGATE) ProductServicePort delegate,
+                                        @Value("${order.product-cache.maximum-size:10000}") long maximumSize,
+                                        @Value("${order.product-cache.refresh-after:1s}") Duration refreshAfter,
+                                        @Value("${order.product-cache.stock-ttl:2s}") Duration stockTtl,
+                                        MeterRegistry meterRegistry) {
+        this(delegate, maximumSize, refreshAfter, stockTtl, meterRegistry, Ticker.systemTicker());
+    }
+
+    CachingProductServiceAdapter(ProductServicePort delegate, long maximumSize, Duration refreshAfter, Duration stockTtl,
+                                 MeterRegistry meterRegistry, Ticker ticker) {
+        if (refreshAfter.compareTo(stockTtl) >= 0) {
+            throw new IllegalArgumentException("order.product-cache.refresh-after must be shorter than order.product-cache.stock-ttl");
+        }
+        this.delegate = delegate;
+        this.products = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(stockTtl)
+                .refreshAfterWrite(refreshAfter)
+                .ticker(ticker)
+                .recordStats()
+                .buildAsync((String productId, Executor executor) ->
+                        delegate.getProductDetails(productId).toFuture()), CACHE_NAME);
+        this.coalesced = Counter.builder("order.product.cache.coalesced")
+                .description("Product lookups that joined a call already in flight instead of issuing their own")
+                .register(meterRegistry);
+        Gauge.builder("order.product.cache.hit.ratio", products, cache -> cache.synchronous().stats().hitRate())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<ProductResponse> getProductDetails(String productId) {
+        return Mono.fromFuture(() -> lookup(productId), true);
+    }
+
+    // Callers of the batch lookup need current stock and price, so it always goes to product-service; the answers
+    // refresh the cache on the way through
+    @Override
+    public Flux<ProductResponse> getProducts(Collection<String> productIds) {
+        return delegate.getProducts(productIds)
+                .doOnNext(product -> products.put(String.valueOf(product.getId()), CompletableFuture.completedFuture(product)));
+    }
+
+    @Override
+    public Mono<Boolean> reserveStock(String reservationId, Map<String, Integer> quantities) {
+        return delegate.reserveStock(reservationId, quantities)
+                .doOnNext(reserved -> invalidate(quantities));
+    }
+
+    @Override
+    public Mono<Void> confirmStock(String reservationId) {
+        return delegate.confirmStock(reservationId);
+    }
+
+    @Override
+    public Mono<Void> releaseStock(String reservationId, Map<String, Integer> quantities) {
+        return delegate.releaseStock(reservationId, quantities)
+                .doOnSuccess(done -> invalidate(quantities));
+    }
+
+    // Cached stock is now wrong for these products
+    private void invalidate(Map<String, Integer> quantities) {
+        products.synchronous().invalidateAll(quantities.keySet());
+    }
+
+    private CompletableFuture<ProductResponse> lookup(String productId) {
+        // asMap() reads don't count towards hit/miss stats
+        CompletableFuture<ProductResponse> inFlight = products.asMap().get(productId);
+        if (inFlight != null && !inFlight.isDone()) {
+            coalesced.increment();
+        }
+        return products.get(productId);
+    }
+}
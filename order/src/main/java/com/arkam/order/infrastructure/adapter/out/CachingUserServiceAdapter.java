@@ -0,0 +1,80 @@
+package com.arkam.order.infrastructure.adapter.out;
+
+import com.arkam.order.application.dto.UserResponse;
+import com.arkam.order.application.port.out.UserServicePort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Answers {@link #exists} from a compact in-memory table. Known users are held for {@code ttl}. Unknown ids are
+ * held for the much shorter {@code negative-ttl}, so a user created just after a miss is not turned away for
+ * long. Only a definite answer is cached: user-service errors other than 404 pass through. Full user details are
+ * never cached.
+ */
+@Component
+@Primary
+public class CachingUserServiceAdapter implements UserServicePort {
+
+    public static final String DELEGATE = "remoteUserService";
+
+    private final UserServicePort delegate;
+    private final UserExistenceCache cache;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final Counter hits;
+    private final Counter negativeHits;
+    private final Counter misses;
+
+    @Autowired
+    public CachingUserServiceAdapter(@Qualifier(DELEGATE) UserServicePort delegate,
+                                     @Value("${order.user-cache.maximum-size:2000000}") int maximumSize,
+                                     @Value("${order.user-cache.ttl:10m}") Duration ttl,
+                                     @Value("${order.user-cache.negative-ttl:30s}") Duration negativeTtl,
+                                     MeterRegistry meterRegistry) {
+        this(delegate, new UserExistenceCache(maximumSize), ttl, negativeTtl, meterRegistry);
+    }
+
+    CachingUserServiceAdapter(UserServicePort delegate, UserExistenceCache cache, Duration ttl, Duration negativeTtl,
+                              MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.ttlMillis = ttl.toMillis();
+        this.negativeTtlMillis = negativeTtl.toMillis();
+        this.hits = lookups(meterRegistry, "hit");
+        this.negativeHits = lookups(meterRegistry, "negative-hit");
+        this.misses = lookups(meterRegistry, "miss");
+        meterRegistry.gauge("order.user.exists.cache.capacity", cache, UserExistenceCache::capacity);
+    }
+
+    @Override
+    public Mono<UserResponse> getUserDetails(String userId) {
+        return delegate.getUserDetails(userId)
+                .doOnNext(user -> cache.put(userId, true, ttlMillis));
+    }
+
+    @Override
+    public Mono<Boolean> exists(String userId) {
+        Boolean cached = cache.get(userId);
+        if (cached != null) {
+            (cached ? hits : negativeHits).increment();
+            return Mono.just(cached);
+        }
+        misses.increment();
+        return delegate.exists(userId)
+                .doOnNext(exists -> cache.put(userId, exists, exists ? ttlMillis : negativeTtlMillis));
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("order.user.exists.cache")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,130 @@
+package com.arkam.order.infrastructure.adapter.out;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Hedges idempotent downstream reads. If the first attempt has not answered after the client's recent
+ * {@code percentile} latency, a second attempt is sent, and whichever answers first wins while the other is
+ * cancelled. Each attempt goes back through the {@code @LoadBalanced} WebClient, so the round-robin balancer
+ * sends the hedge to the next instance.
+ * <p>
+ * An error from the first attempt is returned straight away. An error from the hedge is ignored and the first
+ * attempt keeps running. Latency per client and attempt is recorded as a histogram. A primary cancelled because
+ * the hedge won is recorded at the time it had run, a lower bound that is at least the hedge delay; leaving these
+ * slow primaries out would cut the tail off the percentile and let the hedge delay drift down to
+ * {@code min-delay}.
+ */
+@Component
+public class HedgingPolicy {
+
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final double percentile;
+    private final Duration minDelay;
+    private final Duration initialDelay;
+    private final Map<String, Client> clients = new ConcurrentHashMap<>();
+
+    public HedgingPolicy(MeterRegistry meterRegistry,
+                         @Value("${order.clients.hedge.enabled:true}") boolean enabled,
+                         @Value("${order.clients.hedge.percentile:0.95}") double percentile,
+                         @Value("${order.clients.hedge.min-delay:20ms}") Duration minDelay,
+                         @Value("${order.clients.hedge.initial-delay:100ms}") Duration initialDelay) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelay = minDelay;
+        this.initialDelay = initialDelay;
+    }
+
+    public <T> Mono<T> call(String client, Supplier<Mono<T>> request) {
+        Client meters = clients.computeIfAbsent(client, Client::new);
+        Mono<T> primary = timed(request, meters.primary);
+        if (!enabled) {
+            return primary;
+        }
+        Mono<T> hedge = Mono.delay(meters.hedgeDelay())
+                .then(Mono.defer(() -> {
+                    meters.hedges.increment();
+                    return timed(request, meters.hedge);
+                }))
+                .doOnNext(value -> meters.hedgeWins.increment())
+                .onErrorResume(e -> Mono.never());
+        return Mono.firstWithSignal(primary, hedge);
+    }
+
+    Duration hedgeDelay(String client) {
+        return clients.computeIfAbsent(client, Client::new).hedgeDelay();
+    }
+
+    private <T> Mono<T> timed(Supplier<Mono<T>> request, Timer timer) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return request.get()
+                    .doOnSuccess(value -> sample.stop(timer))
+                    .doOnError(e -> sample.stop(timer))
+                    .doOnCancel(() -> sample.stop(timer));
+        });
+    }
+
+    private final class Client {
+
+        private final Timer primary;
+        private final Timer hedge;
+        private final Counter hedges;
+        private final Counter hedgeWins;
+        private volatile long delayNanos;
+        private volatile long delayComputedAt;
+
+        Client(String name) {
+            this.primary = latency(name, "primary");
+            this.hedge = latency(name, "hedge");
+            this.hedges = Counter.builder("order.downstream.hedges").tag("client", name).register(meterRegistry);
+            this.hedgeWins = Counter.builder("order.downstream.hedges.won").tag("client", name).register(meterRegistry);
+            this.delayNanos = initialDelay.toNanos();
+            this.delayComputedAt = meterRegistry.config().clock().monotonicTime();
+        }
+
+        // Snapshots allocate, so the percentile is re-read at most once a second
+        Duration hedgeDelay() {
+            long now = meterRegistry.config().clock().monotonicTime();
+            if (now - delayComputedAt > DELAY_REFRESH_NANOS) {
+                delayComputedAt = now;
+                delayNanos = computeDelay();
+            }
+            return Duration.ofNanos(delayNanos);
+        }
+
+        private long computeDelay() {
+            for (ValueAtPercentile value : primary.takeSnapshot().percentileValues()) {
+                if (value.percentile() == percentile && value.value() > 0) {
+                    return Math.max(minDelay.toNanos(), (long) value.value(TimeUnit.NANOSECONDS));
+                }
+            }
+            return initialDelay.toNanos();
+        }
+
+        private Timer latency(String name, String attempt) {
+            return Timer.builder("order.downstream.latency")
+                    .description("Latency of one downstream attempt")
+                    .tag("client", name)
+                    .tag("attempt", attempt)
+                    .publishPercentiles(percentile)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -1,20 +1,78 @@
 package com.arkam.order.infrastructure.adapter.out;
 
 import com.arkam.order.application.dto.ProductResponse;
+import com.arkam.order.application.dto.StockLineRequest;
+import com.arkam.order.application.dto.StockReservationRequest;
 import com.arkam.order.application.port.out.ProductServicePort;
 import com.arkam.order.clients.ProductServiceClient;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 @Component
+@Qualifier(CachingProductServiceAdapter.DELEGATE)
 @RequiredArgsConstructor
 public class ProductServiceAdapter implements ProductServicePort {
 
+    // An answer from product-service is final; only a call that got none is repeated
+    private static final Retry RETRY = Retry.backoff(2, Duration.ofMillis(100))
+            .filter(e -> !(e instanceof WebClientResponseException));
+
     private final ProductServiceClient productServiceClient;
+    private final HedgingPolicy hedgingPolicy;
 
+    // product-service answers 404 for an unknown id; the port reports that as empty
     @Override
     public Mono<ProductResponse> getProductDetails(String productId) {
-        return productServiceClient.getProductDetails(productId);
+        return hedgingPolicy.call("product-service", () -> productServiceClient.getProductDetails(productId))
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty());
+    }
+
+    @Override
+    public Flux<ProductResponse> getProducts(Collection<String> productIds) {
+        if (productIds.isEmpty()) {
+            return Flux.empty();
+        }
+        List<String> ids = List.copyOf(productIds);
+        return hedgingPolicy.call("product-service", () -> productServiceClient.getProducts(ids))
+                .flatMapMany(Flux::fromIterable);
+    }
+
+    // Every call names the reservation, so one that failed without an answer is sent again
+    @Override
+    public Mono<Boolean> reserveStock(String reservationId, Map<String, Integer> quantities) {
+        return productServiceClient.reserveStock(toRequest(reservationId, quantities))
+                .retryWhen(RETRY)
+                .thenReturn(true)
+                .onErrorResume(WebClientResponseException.Conflict.class, e -> Mono.just(false));
+    }
+
+    @Override
+    public Mono<Void> confirmStock(String reservationId) {
+        return productServiceClient.confirmStock(reservationId)
+                .retryWhen(RETRY);
+    }
+
+    @Override
+    public Mono<Void> releaseStock(String reservationId, Map<String, Integer> quantities) {
+        return productServiceClient.releaseStock(reservationId)
+                .retryWhen(RETRY);
+    }
+
+    private StockReservationRequest toRequest(String reservationId, Map<String, Integer> quantities) {
+        StockReservationRequest request = new StockReservationRequest();
+        request.setReservationId(reservationId);
+        quantities.forEach((productId, quantity) ->
+                request.getItems().add(new StockLineRequest(Long.valueOf(productId), quantity)));
+        return request;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,151 @@
+package com.arkam.order.infrastructure.adapter.out;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Fixed-size map from user id to "exists" / "does not exist" with an expiry, laid out as two primitive arrays:
+ * a 64-bit fingerprint of the id and an int expiry in seconds whose sign carries the answer. That is 12 bytes
+ * per entry, so a few million ids fit in tens of megabytes with no per-entry objects for the GC to trace.
+ * <p>
+ * Slots are split into segments, each guarded by its own lock. A key may only live in a short probe window
+ * starting at its home slot. When the window is full, the entry closest to expiry is overwritten. That gives
+ * approximate, bounded eviction and never grows the arrays. Two different ids sharing a fingerprint is
+ * astronomically unlikely at this size, and a collision would only return a stale answer for one TTL.
+ */
+class UserExistenceCache {
+
+    private static final int SEGMENTS = 64;
+    private static final int PROBE_WINDOW = 8;
+    private static final long EMPTY = 0L;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final LongSupplier clock;
+    private final long epochMillis;
+
+    UserExistenceCache(int maximumSize) {
+        this(maximumSize, System::currentTimeMillis);
+    }
+
+    UserExistenceCache(int maximumSize, LongSupplier clock) {
+        int slotsPerSegment = Math.max(PROBE_WINDOW, Integer.highestOneBit(Math.max(1, maximumSize / SEGMENTS - 1)) << 1);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(slotsPerSegment);
+        }
+        this.clock = clock;
+        this.epochMillis = clock.getAsLong();
+    }
+
+    /**
+     * @return {@code TRUE} / {@code FALSE} for a live entry, {@code null} when unknown or expired
+     */
+    Boolean get(String userId) {
+        long fingerprint = fingerprint(userId);
+        return segmentFor(fingerprint).get(fingerprint, now());
+    }
+
+    void put(String userId, boolean exists, long ttlMillis) {
+        long fingerprint = fingerprint(userId);
+        int now = now();
+        // stored as 1-based seconds so that 0 never means "expires now" and the sign stays meaningful
+        int expiry = (int) Math.min(Integer.MAX_VALUE, now + 1 + TimeUnit.MILLISECONDS.toSeconds(ttlMillis));
+        segmentFor(fingerprint).put(fingerprint, exists ? expiry : -expiry, now);
+    }
+
+    void invalidate(String userId) {
+        long fingerprint = fingerprint(userId);
+        segmentFor(fingerprint).remove(fingerprint);
+    }
+
+    int capacity() {
+        return segments.length * segments[0].fingerprints.length;
+    }
+
+    private Segment segmentFor(long fingerprint) {
+        return segments[(int) (fingerprint >>> 58) & (SEGMENTS - 1)];
+    }
+
+    private int now() {
+        return (int) TimeUnit.MILLISECONDS.toSeconds(clock.getAsLong() - epochMillis);
+    }
+
+    // FNV-1a over the UTF-8 bytes followed by the murmur3 finalizer to spread the bits
+    static long fingerprint(String userId) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : userId.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h == EMPTY ? 1L : h;
+    }
+
+    private static final class Segment {
+
+        private final long[] fingerprints;
+        private final int[] expiries;
+        private final int mask;
+
+        Segment(int slots) {
+            this.fingerprints = new long[slots];
+            this.expiries = new int[slots];
+            this.mask = slots - 1;
+        }
+
+        synchronized Boolean get(long fingerprint, int now) {
+            int home = (int) fingerprint & mask;
+            for (int i = 0; i < PROBE_WINDOW; i++) {
+                int slot = (home + i) & mask;
+                if (fingerprints[slot] == fingerprint) {
+                    int expiry = expiries[slot];
+                    if (Math.abs(expiry) <= now) {
+                        return null;
+                    }
+                    return expiry > 0;
+                }
+            }
+            return null;
+        }
+
+        synchronized void put(long fingerprint, int signedExpiry, int now) {
+            int home = (int) fingerprint & mask;
+            int victim = -1;
+            int victimExpiry = Integer.MAX_VALUE;
+            for (int i = 0; i < PROBE_WINDOW; i++) {
+                int slot = (home + i) & mask;
+                long current = fingerprints[slot];
+                if (current == fingerprint) {
+                    expiries[slot] = signedExpiry;
+                    return;
+                }
+                int expiry = current == EMPTY ? 0 : Math.abs(expiries[slot]);
+                if (expiry <= now) {
+                    expiry = Integer.MIN_VALUE;
+                }
+                if (victim < 0 || expiry < victimExpiry) {
+                    victim = slot;
+                    victimExpiry = expiry;
+                }
+            }
+            fingerprints[victim] = fingerprint;
+            expiries[victim] = signedExpiry;
+        }
+
+        synchronized void remove(long fingerprint) {
+            int home = (int) fingerprint & mask;
+            for (int i = 0; i < PROBE_WINDOW; i++) {
+                int slot = (home + i) & mask;
+                if (fingerprints[slot] == fingerprint) {
+                    fingerprints[slot] = EMPTY;
+                    expiries[slot] = 0;
+                    return;
+                }
+            }
+        }
+    }
+}
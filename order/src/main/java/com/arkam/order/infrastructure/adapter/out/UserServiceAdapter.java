@@ -4,17 +4,29 @@ import com.arkam.order.application.dto.UserResponse;
 import com.arkam.order.application.port.out.UserServicePort;
 import com.arkam.order.clients.UserServiceClient;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
 @Component
+@Qualifier(CachingUserServiceAdapter.DELEGATE)
 @RequiredArgsConstructor
 public class UserServiceAdapter implements UserServicePort {
 
     private final UserServiceClient userServiceClient;
+    private final HedgingPolicy hedgingPolicy;
 
     @Override
     public Mono<UserResponse> getUserDetails(String userId) {
-        return userServiceClient.getUserDetails(userId);
+        return hedgingPolicy.call("user-service", () -> userServiceClient.getUserDetails(userId));
+    }
+
+    @Override
+    public Mono<Boolean> exists(String userId) {
+        return getUserDetails(userId)
+                .map(user -> true)
+                .defaultIfEmpty(false)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.just(false));
     }
 }
\ No newline at end of file
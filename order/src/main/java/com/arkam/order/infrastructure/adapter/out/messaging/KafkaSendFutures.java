@@ -0,0 +1,46 @@
+package com.arkam.order.infrastructure.adapter.out.messaging;
+
+import org.springframework.cloud.stream.config.ProducerMessageHandlerCustomizer;
+import org.springframework.integration.kafka.outbound.KafkaProducerMessageHandler;
+import org.springframework.integration.kafka.support.KafkaIntegrationHeaders;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands the relay the broker acknowledgement of each record it sends. The Kafka producer handler of every binding
+ * publishes the send future of a message carrying {@link KafkaIntegrationHeaders#FUTURE_TOKEN} on
+ * {@link #channel()}, on the sending thread, before {@code StreamBridge.send} returns; {@link #take} then picks it
+ * up by token.
+ */
+@Component
+public class KafkaSendFutures implements ProducerMessageHandlerCustomizer<KafkaProducerMessageHandler<?, ?>> {
+
+    private final Map<Object, CompletableFuture<?>> futures = new ConcurrentHashMap<>();
+
+    private final MessageChannel channel = (message, timeout) -> {
+        Object token = message.getHeaders().get(KafkaIntegrationHeaders.FUTURE_TOKEN);
+        if (token == null || !(message.getPayload() instanceof CompletableFuture<?> future)) {
+            return false;
+        }
+        futures.put(token, future);
+        return true;
+    };
+
+    @Override
+    public void configure(KafkaProducerMessageHandler<?, ?> handler, String destinationName) {
+        handler.setFuturesChannel(channel);
+    }
+
+    MessageChannel channel() {
+        return channel;
+    }
+
+    // null when no future was published for the token, e.g. the binding is not a Kafka one
+    CompletableFuture<?> take(Object token) {
+        return futures.remove(token);
+    }
+}
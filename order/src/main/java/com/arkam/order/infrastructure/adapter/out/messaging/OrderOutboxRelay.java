@@ -0,0 +1,156 @@
+package com.arkam.order.infrastructure.adapter.out.messaging;
+
+import com.arkam.order.infrastructure.adapter.persistence.entity.OutboxEventEntity;
+import com.arkam.order.infrastructure.adapter.persistence.repository.OutboxJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.integration.kafka.support.KafkaIntegrationHeaders;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Moves rows from {@code order_outbox} to the {@code createOrder-out-0} binding. Each batch is locked with
+ * {@code SKIP LOCKED}, sent and deleted in one transaction. The whole batch is handed to the producer without
+ * waiting, so it lingers into few Kafka batches, and the last record flushes it; the relay then waits up to
+ * {@code ack-timeout} for the broker acknowledgements ({@link KafkaSendFutures}) and deletes only the rows whose
+ * record was acknowledged. The rest are retried on the next run, as is a whole batch whose send the binding
+ * refused, so consumers must tolerate duplicates.
+ * <p>
+ * {@code order.outbox.lag} records how long each event waited between the checkout commit and its hand-off.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderOutboxRelay {
+
+    public static final String BINDING = "createOrder-out-0";
+
+    private final OutboxJpaRepository outboxJpaRepository;
+    private final StreamBridge streamBridge;
+    private final KafkaSendFutures sendFutures;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration ackTimeout;
+    private final Counter published;
+    private final Timer lag;
+
+    public OrderOutboxRelay(OutboxJpaRepository outboxJpaRepository,
+                            StreamBridge streamBridge,
+                            KafkaSendFutures sendFutures,
+                            TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${order.outbox.relay.batch-size:100}") int batchSize,
+                            @Value("${order.outbox.relay.max-batches-per-run:50}") int maxBatchesPerRun,
+                            @Value("${order.outbox.relay.ack-timeout:10s}") Duration ackTimeout) {
+        this.outboxJpaRepository = outboxJpaRepository;
+        this.streamBridge = streamBridge;
+        this.sendFutures = sendFutures;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.ackTimeout = ackTimeout;
+        this.published = Counter.builder("order.outbox.published")
+                .description("Outbox events handed to the broker")
+                .register(meterRegistry);
+        this.lag = Timer.builder("order.outbox.lag")
+                .description("Time between an outbox event being committed and being handed to the broker")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${order.outbox.relay.interval:200ms}")
+    public void relay() {
+        try {
+            // keep draining while batches come back full, bounded so one backlog cannot pin the scheduler thread
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                if (relayBatch() < batchSize) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron publicar los eventos pendientes del outbox: {}", e.getMessage());
+        }
+    }
+
+    int relayBatch() {
+        Integer sent = transactionTemplate.execute(status -> {
+            List<OutboxEventEntity> batch = outboxJpaRepository.lockNextBatch(batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            Map<Long, CompletableFuture<?>> acks = new LinkedHashMap<>();
+            try {
+                for (int i = 0; i < batch.size(); i++) {
+                    OutboxEventEntity event = batch.get(i);
+                    boolean accepted = streamBridge.send(BINDING, MessageBuilder
+                            .withPayload(event.getPayload().getBytes(StandardCharsets.UTF_8))
+                            .setHeader(KafkaHeaders.KEY, String.valueOf(event.getAggregateId()).getBytes(StandardCharsets.UTF_8))
+                            .setHeader(KafkaIntegrationHeaders.FUTURE_TOKEN, event.getId())
+                            .setHeader(KafkaIntegrationHeaders.FLUSH, i == batch.size() - 1)
+                            .build());
+                    acks.put(event.getId(), sendFutures.take(event.getId()));
+                    if (!accepted) {
+                        throw new IllegalStateException("Binding " + BINDING + " rejected outbox event " + event.getId());
+                    }
+                }
+            } catch (RuntimeException e) {
+                acks.keySet().forEach(sendFutures::take);
+                throw e;
+            }
+            List<Long> acked = awaitAcks(acks);
+            if (acked.size() < batch.size()) {
+                log.warn("El broker no confirmó {} de {} eventos del outbox; se reintentarán", batch.size() - acked.size(),
+                        batch.size());
+            }
+            if (acked.isEmpty()) {
+                return 0;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            batch.stream()
+                    .filter(event -> acked.contains(event.getId()))
+                    .forEach(event -> lag.record(Duration.between(event.getCreatedAt(), now)));
+            outboxJpaRepository.deleteByIds(acked);
+            return acked.size();
+        });
+        published.increment(sent);
+        return sent;
+    }
+
+    // Ids whose record the broker acknowledged within ack-timeout; the batch transaction stays open meanwhile
+    private List<Long> awaitAcks(Map<Long, CompletableFuture<?>> acks) {
+        CompletableFuture<?>[] pending = acks.values().stream().filter(Objects::nonNull).toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(pending).get(ackTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // some records failed or are still in flight; the ones acknowledged so far are kept below
+        }
+        return acks.entrySet().stream()
+                .filter(ack -> ack.getValue() != null && ack.getValue().isDone()
+                        && !ack.getValue().isCompletedExceptionally())
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+}
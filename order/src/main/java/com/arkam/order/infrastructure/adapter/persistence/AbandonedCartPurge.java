@@ -0,0 +1,194 @@
+package com.arkam.order.infrastructure.adapter.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Deletes carts whose lines have all gone untouched for {@code idle-after}. Each run walks the lines older than
+ * the cutoff in {@code (updated_at, id)} order ({@code idx_cart_items_updated_at}), {@code chunk-size} at a time,
+ * and deletes the carts of the users it finds in one short transaction per chunk. A cart with any fresher line is
+ * kept whole; the keyset cursor steps past its stale lines so later chunks do not revisit them.
+ * <p>
+ * {@code rows-per-second} paces the run by sleeping between chunks (0 disables it). The cart cache and the
+ * read-your-writes window are cleared for every user in a chunk through {@link CartClearedEvent}.
+ * <p>
+ * One instance purges at a time: a run holds a session advisory lock on a connection of its own for its whole
+ * length, and an instance that cannot take it skips that run. The lock goes with the connection if the instance
+ * dies mid-run.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order.cart.purge.enabled", havingValue = "true", matchIfMissing = true)
+public class AbandonedCartPurge {
+
+    private static final long ADVISORY_LOCK = 0x6f72_6465_7270_7572L;
+
+    private static final String FIRST_STALE_LINES = "SELECT updated_at, id, user_id FROM cart_items "
+            + "WHERE updated_at < :cutoff ORDER BY updated_at, id LIMIT :limit";
+
+    private static final String STALE_LINES_AFTER = "SELECT updated_at, id, user_id FROM cart_items "
+            + "WHERE updated_at < :cutoff AND (updated_at > :updatedAt OR (updated_at = :updatedAt AND id > :id)) "
+            + "ORDER BY updated_at, id LIMIT :limit";
+
+    // updated_at is rechecked per row so a line touched while the DELETE waited for its lock survives
+    private static final String DELETE_IDLE_CARTS = "DELETE FROM cart_items c "
+            + "WHERE c.user_id IN (:userIds) AND c.updated_at < :cutoff "
+            + "AND NOT EXISTS (SELECT 1 FROM cart_items f WHERE f.user_id = c.user_id AND f.updated_at >= :cutoff)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration idleAfter;
+    private final int chunkSize;
+    private final int rowsPerSecond;
+    private final Counter purged;
+    private final Timer duration;
+
+    public AbandonedCartPurge(NamedParameterJdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry,
+                              @Value("${order.cart.purge.idle-after:30d}") Duration idleAfter,
+                              @Value("${order.cart.purge.chunk-size:500}") int chunkSize,
+                              @Value("${order.cart.purge.rows-per-second:2000}") int rowsPerSecond) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.idleAfter = idleAfter;
+        this.chunkSize = chunkSize;
+        this.rowsPerSecond = rowsPerSecond;
+        this.purged = Counter.builder("order.cart.purged")
+                .description("Cart lines deleted because their cart was abandoned")
+                .register(meterRegistry);
+        this.duration = Timer.builder("order.cart.purge.duration")
+                .description("Time taken by one abandoned-cart purge run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${order.cart.purge.cron:0 45 3 * * *}")
+    public void purge() {
+        try {
+            purge(LocalDateTime.now().minus(idleAfter));
+        } catch (RuntimeException e) {
+            log.warn("No se pudo completar la purga de carritos abandonados: {}", e.getMessage());
+        }
+    }
+
+    // Returns how many lines were deleted; 0 when another instance is purging
+    long purge(LocalDateTime cutoff) {
+        Long deleted = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Long>) lockConnection -> {
+            if (!advisoryLock(lockConnection, "pg_try_advisory_lock")) {
+                log.info("Purga de carritos abandonados omitida: otra instancia la está ejecutando");
+                return 0L;
+            }
+            try {
+                return purgeChunks(cutoff);
+            } finally {
+                advisoryLock(lockConnection, "pg_advisory_unlock");
+            }
+        });
+        return deleted == null ? 0 : deleted;
+    }
+
+    private long purgeChunks(LocalDateTime cutoff) {
+        Timer.Sample sample = Timer.start();
+        long started = System.nanoTime();
+        long deleted = 0;
+        StaleLine after = null;
+        try {
+            while (true) {
+                Chunk chunk = purgeChunk(cutoff, after);
+                deleted += chunk.deleted();
+                purged.increment(chunk.deleted());
+                chunk.userIds().forEach(userId -> eventPublisher.publishEvent(new CartClearedEvent(userId)));
+                if (chunk.lines() < chunkSize) {
+                    break;
+                }
+                after = chunk.last();
+                if (!pace(started, deleted)) {
+                    break;
+                }
+            }
+        } finally {
+            long elapsed = sample.stop(duration);
+            if (deleted > 0) {
+                log.info("Purga de carritos abandonados: {} líneas eliminadas en {} ms", deleted,
+                        Duration.ofNanos(elapsed).toMillis());
+            }
+        }
+        return deleted;
+    }
+
+    private Chunk purgeChunk(LocalDateTime cutoff, StaleLine after) {
+        return transactionTemplate.execute(status -> {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("cutoff", Timestamp.valueOf(cutoff))
+                    .addValue("limit", chunkSize);
+            if (after != null) {
+                params.addValue("updatedAt", Timestamp.valueOf(after.updatedAt())).addValue("id", after.id());
+            }
+            List<StaleLine> lines = jdbcTemplate.query(after == null ? FIRST_STALE_LINES : STALE_LINES_AFTER, params,
+                    (rs, rowNum) -> new StaleLine(rs.getTimestamp("updated_at").toLocalDateTime(), rs.getLong("id"),
+                            rs.getString("user_id")));
+            if (lines.isEmpty()) {
+                return new Chunk(0, null, Set.of(), 0);
+            }
+            Set<String> userIds = lines.stream().map(StaleLine::userId).collect(Collectors.toSet());
+            int deleted = jdbcTemplate.update(DELETE_IDLE_CARTS, params.addValue("userIds", userIds));
+            return new Chunk(lines.size(), lines.get(lines.size() - 1), userIds, deleted);
+        });
+    }
+
+    // Sleeps until the rows deleted so far fit within rows-per-second since the run started; false if interrupted
+    private boolean pace(long started, long deleted) {
+        if (rowsPerSecond <= 0) {
+            return true;
+        }
+        long dueNanos = started + deleted * 1_000_000_000L / rowsPerSecond;
+        long waitMillis = Duration.ofNanos(dueNanos - System.nanoTime()).toMillis();
+        if (waitMillis > 0) {
+            try {
+                Thread.sleep(waitMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean advisoryLock(Connection connection, String function) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT " + function + "(" + ADVISORY_LOCK + ")")) {
+            return result.next() && result.getBoolean(1);
+        }
+    }
+
+    private record StaleLine(LocalDateTime updatedAt, long id, String userId) {
+    }
+
+    private record Chunk(int lines, StaleLine last, Set<String> userIds, int deleted) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.arkam.order.infrastructure.adapter.persistence;
+
+/**
+ * Published after cart rows are deleted without going through
+ * {@link com.arkam.order.application.port.out.CartItemRepositoryPort}: when a checkout commits, since they are
+ * deleted inside the order transaction, and when {@link AbandonedCartPurge} removes an idle cart.
+ */
+public record CartClearedEvent(String userId) {
+}
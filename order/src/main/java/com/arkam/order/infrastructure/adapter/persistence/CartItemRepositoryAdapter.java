@@ -2,60 +2,145 @@ package com.arkam.order.infrastructure.adapter.persistence;
 
 import com.arkam.order.application.port.out.CartItemRepositoryPort;
 import com.arkam.order.domain.model.CartItem;
+import com.arkam.order.domain.model.CartSummary;
+import com.arkam.order.infrastructure.adapter.persistence.cache.CachingCartItemRepositoryAdapter;
 import com.arkam.order.infrastructure.adapter.persistence.entity.CartItemEntity;
 import com.arkam.order.infrastructure.adapter.persistence.mapper.CartItemPersistenceMapper;
 import com.arkam.order.infrastructure.adapter.persistence.repository.CartItemJpaRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Component
-@RequiredArgsConstructor
+@Qualifier(CachingCartItemRepositoryAdapter.DELEGATE)
+@Profile("!r2dbc")
 public class CartItemRepositoryAdapter implements CartItemRepositoryPort {
 
     private final CartItemJpaRepository cartItemJpaRepository;
     private final CartItemPersistenceMapper cartItemPersistenceMapper;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Scheduler persistenceScheduler;
+    private final RecentWriters recentWriters;
+
+    public CartItemRepositoryAdapter(CartItemJpaRepository cartItemJpaRepository,
+                                     CartItemPersistenceMapper cartItemPersistenceMapper,
+                                     NamedParameterJdbcTemplate jdbcTemplate,
+                                     TransactionTemplate transactionTemplate,
+                                     Scheduler persistenceScheduler,
+                                     RecentWriters recentWriters) {
+        this.cartItemJpaRepository = cartItemJpaRepository;
+        this.cartItemPersistenceMapper = cartItemPersistenceMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        // Read-only transactions are served by the replica when one is configured (ReadReplicaConfig)
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.persistenceScheduler = persistenceScheduler;
+        this.recentWriters = recentWriters;
+    }
 
     @Override
     public Mono<CartItem> save(CartItem cartItem) {
         return Mono.fromCallable(() -> {
             CartItemEntity entity = cartItemPersistenceMapper.toEntity(cartItem);
             CartItemEntity savedEntity = cartItemJpaRepository.save(entity);
+            recentWriters.wrote(cartItem.getUserId());
             return cartItemPersistenceMapper.toDomain(savedEntity);
-        });
+        }).subscribeOn(persistenceScheduler);
+    }
+
+    @Override
+    public Mono<Void> upsertQuantity(CartItem cartItem) {
+        return Mono.<Void>fromRunnable(() -> {
+                    transactionTemplate.executeWithoutResult(status -> cartItemJpaRepository.upsertQuantity(
+                            cartItem.getUserId(), cartItem.getProductId(), cartItem.getQuantity(),
+                            cartItem.getPrice().toBigDecimal(), LocalDateTime.now()));
+                    recentWriters.wrote(cartItem.getUserId());
+                })
+                .subscribeOn(persistenceScheduler);
+    }
+
+    @Override
+    public Mono<Void> upsertQuantities(String userId, List<CartItem> cartItems) {
+        if (cartItems.isEmpty()) {
+            return Mono.empty();
+        }
+        // JDBC batch of the same upsert: one round trip for the whole list, in the JPA transaction's connection
+        return Mono.<Void>fromRunnable(() -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    SqlParameterSource[] lines = cartItems.stream()
+                            .map(cartItem -> new MapSqlParameterSource()
+                                    .addValue("userId", userId)
+                                    .addValue("productId", cartItem.getProductId())
+                                    .addValue("quantity", cartItem.getQuantity())
+                                    .addValue("price", cartItem.getPrice().toBigDecimal())
+                                    .addValue("now", now))
+                            .toArray(SqlParameterSource[]::new);
+                    transactionTemplate.executeWithoutResult(
+                            status -> jdbcTemplate.batchUpdate(CartItemJpaRepository.UPSERT_QUANTITY, lines));
+                    recentWriters.wrote(userId);
+                })
+                .subscribeOn(persistenceScheduler);
     }
 
     @Override
     public Mono<Optional<CartItem>> findByUserIdAndProductId(String userId, String productId) {
         return Mono.fromCallable(() -> cartItemJpaRepository.findByUserIdAndProductId(userId, productId)
-                .map(cartItemPersistenceMapper::toDomain));
+                .map(cartItemPersistenceMapper::toDomain))
+                .subscribeOn(persistenceScheduler);
     }
 
     @Override
     public Flux<CartItem> findByUserId(String userId) {
-        return Mono.fromCallable(() -> cartItemJpaRepository.findByUserId(userId).stream()
-                .map(cartItemPersistenceMapper::toDomain)
-                .collect(Collectors.toList()))
+        return Mono.fromCallable(() -> readTemplate(userId).execute(status -> cartItemJpaRepository.findByUserId(userId)
+                        .stream()
+                        .map(cartItemPersistenceMapper::toDomain)
+                        .collect(Collectors.toList())))
+                .subscribeOn(persistenceScheduler)
                 .flatMapMany(Flux::fromIterable);
     }
 
+    @Override
+    public Mono<CartSummary> summarize(String userId) {
+        return Mono.fromCallable(() -> readTemplate(userId).execute(
+                        status -> cartItemJpaRepository.summarizeByUserId(userId).toDomain()))
+                .subscribeOn(persistenceScheduler);
+    }
+
     @Override
     public Mono<Void> delete(CartItem cartItem) {
-        return Mono.fromRunnable(() -> {
+        return Mono.<Void>fromRunnable(() -> {
             CartItemEntity entity = cartItemPersistenceMapper.toEntity(cartItem);
             cartItemJpaRepository.delete(entity);
-        });
+            recentWriters.wrote(cartItem.getUserId());
+        }).subscribeOn(persistenceScheduler);
     }
 
     @Override
     public Mono<Void> deleteByUserId(String userId) {
-        return findByUserId(userId)
-                .flatMap(this::delete)
-                .then();
+        return Mono.<Void>fromRunnable(() -> {
+                    transactionTemplate.executeWithoutResult(status -> cartItemJpaRepository.deleteByUserId(userId));
+                    recentWriters.wrote(userId);
+                })
+                .subscribeOn(persistenceScheduler);
+    }
+
+    // Cart views may come from the replica, except right after the user changed the cart
+    private TransactionTemplate readTemplate(String userId) {
+        return recentWriters.wroteRecently(userId) ? transactionTemplate : readOnlyTransactionTemplate;
     }
 }
\ No newline at end of file
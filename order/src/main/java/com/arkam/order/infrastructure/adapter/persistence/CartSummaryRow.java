@@ -0,0 +1,14 @@
+package com.arkam.order.infrastructure.adapter.persistence;
+
+import com.arkam.order.domain.model.CartSummary;
+import com.arkam.order.domain.model.Money;
+
+import java.math.BigDecimal;
+
+// The single row of the cart aggregate; sums come back as 0 rather than null for an empty cart
+public record CartSummaryRow(Long lines, Long quantity, BigDecimal total) {
+
+    public CartSummary toDomain() {
+        return new CartSummary(lines, quantity, Money.of(total));
+    }
+}
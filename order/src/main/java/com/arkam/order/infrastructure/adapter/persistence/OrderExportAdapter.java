@@ -0,0 +1,100 @@
+package com.arkam.order.infrastructure.adapter.persistence;
+
+import com.arkam.order.application.port.out.OrderExportPort;
+import com.arkam.order.domain.model.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Streams the export from a server-side cursor. The query selects a scalar projection, so nothing accumulates in
+ * the persistence context, and the driver holds at most {@code order.export.fetch-size} rows at a time. Rows are
+ * pulled as downstream requests them; cancelling the subscription closes the cursor and its connection.
+ * <p>
+ * The entity manager is not the Spring-managed one: its resource-local transaction is not bound to a thread, so
+ * the cursor can be read and closed from whichever persistence worker serves the request.
+ * <p>
+ * Only {@code orders} is read: months before the partition horizon are archived, so ranges starting there are
+ * refused upstream.
+ */
+@Component
+@Profile("!r2dbc")
+public class OrderExportAdapter implements OrderExportPort {
+
+    static final String EXPORT_QUERY = "SELECT new com.arkam.order.infrastructure.adapter.persistence.OrderExportRow("
+            + "o.id, o.userId, o.totalAmount, o.status, o.createdAt, o.updatedAt, i.id, i.productId, i.quantity, i.price) "
+            + "FROM OrderEntity o LEFT JOIN o.items i "
+            + "WHERE o.createdAt >= :from AND o.createdAt < :to "
+            + "ORDER BY o.createdAt, o.id, i.id";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final Scheduler persistenceScheduler;
+    private final OrderPartitions orderPartitions;
+    private final int fetchSize;
+
+    public OrderExportAdapter(EntityManagerFactory entityManagerFactory,
+                              Scheduler persistenceScheduler,
+                              OrderPartitions orderPartitions,
+                              @Value("${order.export.fetch-size:500}") int fetchSize) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.persistenceScheduler = persistenceScheduler;
+        this.orderPartitions = orderPartitions;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public LocalDateTime exportableFrom() {
+        return orderPartitions.horizon();
+    }
+
+    @Override
+    public Flux<Order> streamByCreatedAt(LocalDateTime from, LocalDateTime to) {
+        return Flux.using(() -> open(from, to), cursor -> Flux.fromStream(cursor.rows()), Cursor::close)
+                .bufferUntilChanged(OrderExportRow::orderId)
+                .map(OrderExportRow::toOrder)
+                .subscribeOn(persistenceScheduler);
+    }
+
+    private Cursor open(LocalDateTime from, LocalDateTime to) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            // Read-only before the first statement, so the export runs on the replica when one is configured
+            entityManager.unwrap(Session.class).doWork(connection -> connection.setReadOnly(true));
+            // Postgres only fetches through a cursor inside a transaction
+            entityManager.getTransaction().begin();
+            Stream<OrderExportRow> rows = entityManager.createQuery(EXPORT_QUERY, OrderExportRow.class)
+                    .setParameter("from", from)
+                    .setParameter("to", to)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .getResultStream();
+            return new Cursor(entityManager, rows);
+        } catch (RuntimeException e) {
+            new Cursor(entityManager, Stream.empty()).close();
+            throw e;
+        }
+    }
+
+    private record Cursor(EntityManager entityManager, Stream<OrderExportRow> rows) {
+
+        void close() {
+            try {
+                rows.close();
+                if (entityManager.getTransaction().isActive()) {
+                    entityManager.getTransaction().rollback();
+                }
+            } finally {
+                entityManager.close();
+            }
+        }
+    }
+}
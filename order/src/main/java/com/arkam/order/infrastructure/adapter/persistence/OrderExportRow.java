@@ -0,0 +1,44 @@
+package com.arkam.order.infrastructure.adapter.persistence;
+
+import com.arkam.order.domain.model.Money;
+import com.arkam.order.domain.model.Order;
+import com.arkam.order.domain.model.OrderItem;
+import com.arkam.order.domain.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// One row of the export join: an order with one of its items (item columns are null for an order without items)
+public record OrderExportRow(Long orderId,
+                             String userId,
+                             BigDecimal totalAmount,
+                             OrderStatus status,
+                             LocalDateTime createdAt,
+                             LocalDateTime updatedAt,
+                             Long itemId,
+                             String productId,
+                             Integer quantity,
+                             BigDecimal price) {
+
+    // Rows of a single order, as grouped by bufferUntilChanged(orderId)
+    public static Order toOrder(List<OrderExportRow> rows) {
+        OrderExportRow first = rows.get(0);
+        Order order = new Order();
+        order.setId(first.orderId());
+        order.setUserId(first.userId());
+        order.setTotalAmount(Money.ofNullable(first.totalAmount()));
+        order.setStatus(first.status());
+        order.setCreatedAt(first.createdAt());
+        order.setUpdatedAt(first.updatedAt());
+        List<OrderItem> items = new ArrayList<>(rows.size());
+        for (OrderExportRow row : rows) {
+            if (row.itemId() != null) {
+                items.add(new OrderItem(row.itemId(), row.productId(), row.quantity(), Money.ofNullable(row.price())));
+            }
+        }
+        order.setItems(items);
+        return order;
+    }
+}
@@ -0,0 +1,168 @@
+package com.arkam.order.infrastructure.adapter.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps the monthly partitions of {@code orders} and {@code order_item_entity} in shape, always a month of both
+ * at a time. Each run creates the next {@code months-ahead} months, so new orders do not land in the default
+ * partitions; rows that did, after a missed run, move into their month when it is created. It also archives every
+ * month that ended before the {@link OrderPartitions} horizon: both partitions are detached and attached to
+ * {@code orders_archive} and {@code order_items_archive} as they are, with the foreign key between them, in one
+ * transaction and without copying rows.
+ * <p>
+ * Every transaction takes the same advisory lock first, so instances running the job at the same time queue up
+ * and each one rechecks what is left to do. DETACH needs an exclusive lock on the parent tables;
+ * {@code lock-timeout} bounds how long checkouts can queue behind it, and a month that times out is retried on
+ * the next run.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order.partitioning.maintenance.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderPartitionMaintenance {
+
+    private static final long ADVISORY_LOCK = 0x6f72_6465_7270_6172L;
+
+    private static final String ATTACHED = "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+            + "WHERE i.inhparent = ?::regclass";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderPartitions partitions;
+    private final int monthsAhead;
+    private final Duration lockTimeout;
+    private final Counter archived;
+
+    public OrderPartitionMaintenance(JdbcTemplate jdbcTemplate,
+                                     TransactionTemplate transactionTemplate,
+                                     OrderPartitions partitions,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${order.partitioning.months-ahead:3}") int monthsAhead,
+                                     @Value("${order.partitioning.maintenance.lock-timeout:5s}") Duration lockTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.partitions = partitions;
+        this.monthsAhead = monthsAhead;
+        this.lockTimeout = lockTimeout;
+        this.archived = Counter.builder("order.partitions.archived")
+                .description("Monthly orders partitions moved to orders_archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${order.partitioning.maintenance.cron:0 15 3 * * *}")
+    public void maintain() {
+        LocalDate today = LocalDate.now();
+        try {
+            createAhead(YearMonth.from(today));
+            archiveExpired(today);
+        } catch (RuntimeException e) {
+            log.warn("No se pudo completar el mantenimiento de las particiones de pedidos: {}", e.getMessage());
+        }
+    }
+
+    void createAhead(YearMonth from) {
+        transactionTemplate.executeWithoutResult(status -> {
+            lock();
+            for (int i = 0; i <= monthsAhead; i++) {
+                create(from.plusMonths(i));
+            }
+        });
+    }
+
+    // Postgres refuses to add a partition while the default holds rows in its range, which happens after a missed
+    // run; those rows are moved into the new partitions with both defaults detached meanwhile. Orders are copied
+    // before their items move and deleted after, so the keys of both item partitions hold throughout
+    private void create(YearMonth month) {
+        String partition = OrderPartitions.partitionName(month);
+        String itemPartition = OrderPartitions.itemPartitionName(month);
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition))) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM orders_default WHERE " + range("created_at", month) + ")", Boolean.class))) {
+            createPair(month);
+            return;
+        }
+        jdbcTemplate.execute("SET LOCAL lock_timeout = '" + lockTimeout.toMillis() + "ms'");
+        jdbcTemplate.execute("ALTER TABLE order_item_entity DETACH PARTITION order_item_entity_default");
+        jdbcTemplate.execute("ALTER TABLE orders DETACH PARTITION orders_default");
+        createPair(month);
+        int moved = jdbcTemplate.update("INSERT INTO " + partition + " SELECT * FROM orders_default WHERE "
+                + range("created_at", month));
+        jdbcTemplate.update("WITH moved AS (DELETE FROM order_item_entity_default WHERE "
+                + range("order_created_at", month) + " RETURNING *) INSERT INTO " + itemPartition + " SELECT * FROM moved");
+        jdbcTemplate.update("DELETE FROM orders_default WHERE " + range("created_at", month));
+        jdbcTemplate.execute("ALTER TABLE orders ATTACH PARTITION orders_default DEFAULT");
+        jdbcTemplate.execute("ALTER TABLE order_item_entity ATTACH PARTITION order_item_entity_default DEFAULT");
+        log.warn("Partición {} creada tarde: {} pedidos movidos desde orders_default", partition, moved);
+    }
+
+    private void createPair(YearMonth month) {
+        String partition = OrderPartitions.partitionName(month);
+        String itemPartition = OrderPartitions.itemPartitionName(month);
+        jdbcTemplate.execute("CREATE TABLE " + partition + " PARTITION OF orders " + bounds(month));
+        jdbcTemplate.execute("CREATE TABLE " + itemPartition + " PARTITION OF order_item_entity " + bounds(month));
+        jdbcTemplate.execute("ALTER TABLE " + itemPartition + " ADD CONSTRAINT fk_" + itemPartition
+                + " FOREIGN KEY (order_id, order_created_at) REFERENCES " + partition + " (id, created_at)");
+    }
+
+    // Oldest first, so a failure leaves the archived months contiguous; returns how many were archived
+    int archiveExpired(LocalDate today) {
+        List<YearMonth> expired = jdbcTemplate.queryForList(ATTACHED, String.class, "orders").stream()
+                .map(OrderPartitions::monthOf)
+                .flatMap(Optional::stream)
+                .filter(month -> partitions.isArchivable(month, today))
+                .sorted()
+                .toList();
+        int count = 0;
+        for (YearMonth month : expired) {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> archive(month)))) {
+                archived.increment();
+                count++;
+                log.info("Partición {} archivada", OrderPartitions.partitionName(month));
+            }
+        }
+        return count;
+    }
+
+    // False when another instance archived the month first
+    private boolean archive(YearMonth month) {
+        String partition = OrderPartitions.partitionName(month);
+        String itemPartition = OrderPartitions.itemPartitionName(month);
+        lock();
+        if (!jdbcTemplate.queryForList(ATTACHED, String.class, "orders").contains(partition)) {
+            return false;
+        }
+        jdbcTemplate.execute("SET LOCAL lock_timeout = '" + lockTimeout.toMillis() + "ms'");
+        jdbcTemplate.execute("ALTER TABLE order_item_entity DETACH PARTITION " + itemPartition);
+        jdbcTemplate.execute("ALTER TABLE orders DETACH PARTITION " + partition);
+        jdbcTemplate.execute("ALTER TABLE orders_archive ATTACH PARTITION " + partition + " " + bounds(month));
+        jdbcTemplate.execute("ALTER TABLE order_items_archive ATTACH PARTITION " + itemPartition + " " + bounds(month));
+        return true;
+    }
+
+    private void lock() {
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + ADVISORY_LOCK + ")");
+    }
+
+    private static String range(String column, YearMonth month) {
+        return column + " >= '" + month.atDay(1) + "' AND " + column + " < '" + month.plusMonths(1).atDay(1) + "'";
+    }
+
+    private static String bounds(YearMonth month) {
+        return "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+    }
+}
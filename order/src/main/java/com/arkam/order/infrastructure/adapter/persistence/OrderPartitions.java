@@ -0,0 +1,66 @@
+package com.arkam.order.infrastructure.adapter.persistence;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/**
+ * Layout of the monthly partitions of {@code orders} (V7): {@code orders_pYYYY_MM} holds
+ * {@code [first day of the month, first day of the next)}, and {@code order_item_entity_pYYYY_MM} the items of
+ * those orders (V9). The hot horizon is the first day of the current month
+ * minus {@code order.partitioning.retention}; history reads stop there, and a month is archived once it ends at or
+ * before it, so an order is hidden no later than it moves to {@code orders_archive}.
+ */
+@Component
+public class OrderPartitions {
+
+    public static final String PREFIX = "orders_p";
+    public static final String ITEMS_PREFIX = "order_item_entity_p";
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final Period retention;
+
+    public OrderPartitions(@Value("${order.partitioning.retention:24m}") Period retention) {
+        this.retention = retention;
+    }
+
+    public LocalDateTime horizon() {
+        return horizon(LocalDate.now()).atStartOfDay();
+    }
+
+    public LocalDate horizon(LocalDate today) {
+        return today.withDayOfMonth(1).minus(retention);
+    }
+
+    public boolean isArchivable(YearMonth month, LocalDate today) {
+        return !month.plusMonths(1).atDay(1).isAfter(horizon(today));
+    }
+
+    public static String partitionName(YearMonth month) {
+        return PREFIX + month.format(SUFFIX);
+    }
+
+    public static String itemPartitionName(YearMonth month) {
+        return ITEMS_PREFIX + month.format(SUFFIX);
+    }
+
+    // Empty for tables that are not monthly partitions, such as orders_default
+    public static Optional<YearMonth> monthOf(String partitionName) {
+        if (!partitionName.startsWith(PREFIX)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(partitionName.substring(PREFIX.length()), SUFFIX));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
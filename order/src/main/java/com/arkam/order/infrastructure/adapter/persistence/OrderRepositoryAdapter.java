@@ -1,20 +1,89 @@
 package com.arkam.order.infrastructure.adapter.persistence;
 
+import com.arkam.order.application.port.out.CartChangedException;
 import com.arkam.order.application.port.out.OrderRepositoryPort;
 import com.arkam.order.domain.model.Order;
+import com.arkam.order.domain.model.OrderCursor;
+import com.arkam.order.domain.model.OrderStatus;
+import com.arkam.order.infrastructure.adapter.persistence.entity.CartItemEntity;
 import com.arkam.order.infrastructure.adapter.persistence.entity.OrderEntity;
+import com.arkam.order.infrastructure.adapter.persistence.mapper.OrderOutboxMapper;
 import com.arkam.order.infrastructure.adapter.persistence.mapper.OrderPersistenceMapper;
+import com.arkam.order.infrastructure.adapter.persistence.repository.CartItemJpaRepository;
 import com.arkam.order.infrastructure.adapter.persistence.repository.OrderJpaRepository;
-import lombok.RequiredArgsConstructor;
+import com.arkam.order.infrastructure.adapter.persistence.repository.OutboxJpaRepository;
+import com.arkam.order.infrastructure.config.StatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Component
-@RequiredArgsConstructor
+@Profile("!r2dbc")
 public class OrderRepositoryAdapter implements OrderRepositoryPort {
 
     private final OrderJpaRepository orderJpaRepository;
+    private final CartItemJpaRepository cartItemJpaRepository;
+    private final OutboxJpaRepository outboxJpaRepository;
     private final OrderPersistenceMapper orderPersistenceMapper;
+    private final OrderOutboxMapper orderOutboxMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final StatementCounter statementCounter;
+    private final Scheduler persistenceScheduler;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderPartitions orderPartitions;
+    private final RecentWriters recentWriters;
+    private final int statusChunkSize;
+    private final DistributionSummary checkoutStatements;
+
+    public OrderRepositoryAdapter(OrderJpaRepository orderJpaRepository,
+                                  CartItemJpaRepository cartItemJpaRepository,
+                                  OutboxJpaRepository outboxJpaRepository,
+                                  OrderPersistenceMapper orderPersistenceMapper,
+                                  OrderOutboxMapper orderOutboxMapper,
+                                  TransactionTemplate transactionTemplate,
+                                  StatementCounter statementCounter,
+                                  Scheduler persistenceScheduler,
+                                  ApplicationEventPublisher eventPublisher,
+                                  OrderPartitions orderPartitions,
+                                  RecentWriters recentWriters,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${order.status.chunk-size:1000}") int statusChunkSize) {
+        this.orderJpaRepository = orderJpaRepository;
+        this.cartItemJpaRepository = cartItemJpaRepository;
+        this.outboxJpaRepository = outboxJpaRepository;
+        this.orderPersistenceMapper = orderPersistenceMapper;
+        this.orderOutboxMapper = orderOutboxMapper;
+        this.transactionTemplate = transactionTemplate;
+        // Read-only transactions are served by the replica when one is configured (ReadReplicaConfig)
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.statementCounter = statementCounter;
+        this.persistenceScheduler = persistenceScheduler;
+        this.eventPublisher = eventPublisher;
+        this.orderPartitions = orderPartitions;
+        this.recentWriters = recentWriters;
+        this.statusChunkSize = statusChunkSize;
+        this.checkoutStatements = DistributionSummary.builder("order.checkout.db.statements")
+                .description("JDBC round trips (statements and batches executed) made by one checkout transaction")
+                .register(meterRegistry);
+    }
 
     @Override
     public Mono<Order> save(Order order) {
@@ -22,6 +91,100 @@ public class OrderRepositoryAdapter implements OrderRepositoryPort {
             OrderEntity entity = orderPersistenceMapper.toEntity(order);
             OrderEntity savedEntity = orderJpaRepository.save(entity);
             return orderPersistenceMapper.toDomain(savedEntity);
-        });
+        }).subscribeOn(persistenceScheduler);
+    }
+
+    @Override
+    public Mono<Order> placeOrder(Order order, Map<Long, Integer> cartQuantities) {
+        return Mono.fromCallable(() -> {
+            StatementCounter.Counted<Order> placed;
+            try {
+                placed = statementCounter.count(() -> transactionTemplate.execute(status -> place(order, cartQuantities)));
+            } catch (CartChangedException e) {
+                // The cart was read from a stale cache or replica; the next read has to see the current lines
+                eventPublisher.publishEvent(new CartClearedEvent(order.getUserId()));
+                throw e;
+            }
+            checkoutStatements.record(placed.statements());
+            eventPublisher.publishEvent(new CartClearedEvent(order.getUserId()));
+            return placed.result();
+        }).subscribeOn(persistenceScheduler);
+    }
+
+    private Order place(Order order, Map<Long, Integer> cartQuantities) {
+        if (!cartQuantities.isEmpty()) {
+            // Locked on the primary, so the lines cannot change between this check and the delete
+            List<CartItemEntity> lines = cartItemJpaRepository.lockByUserIdAndIdIn(order.getUserId(), cartQuantities.keySet());
+            if (lines.size() != cartQuantities.size()
+                    || lines.stream().anyMatch(line -> !line.getQuantity().equals(cartQuantities.get(line.getId())))) {
+                throw new CartChangedException(order.getUserId());
+            }
+        }
+        OrderEntity savedEntity = orderJpaRepository.save(orderPersistenceMapper.toEntity(order));
+        if (!cartQuantities.isEmpty()) {
+            cartItemJpaRepository.deleteByUserIdAndIdIn(order.getUserId(), cartQuantities.keySet());
+        }
+        Order saved = orderPersistenceMapper.toDomain(savedEntity);
+        // Committed with the order; OrderOutboxRelay hands it to the broker afterwards
+        outboxJpaRepository.save(orderOutboxMapper.toOrderCreated(saved));
+        return saved;
+    }
+
+    @Override
+    public Flux<Order> findByUserId(String userId, OrderCursor after, int limit) {
+        // History may come from the replica, except right after the user's own checkout
+        TransactionTemplate template = recentWriters.wroteRecently(userId) ? transactionTemplate : readOnlyTransactionTemplate;
+        return Mono.fromCallable(() -> template.execute(status -> {
+                    LocalDateTime horizon = orderPartitions.horizon();
+                    List<OrderCursor> keys = after == null
+                            ? orderJpaRepository.findFirstPageKeys(userId, horizon, Limit.of(limit))
+                            : orderJpaRepository.findPageKeysAfter(userId, horizon, after.createdAt(), after.id(),
+                                    Limit.of(limit));
+                    if (keys.isEmpty()) {
+                        return List.<Order>of();
+                    }
+                    // Keys come newest first
+                    return orderJpaRepository.findAllWithItemsByIdIn(keys.stream().map(OrderCursor::id).toList(),
+                                    keys.get(keys.size() - 1).createdAt(), keys.get(0).createdAt()).stream()
+                            .map(orderPersistenceMapper::toDomain)
+                            .toList();
+                }))
+                .subscribeOn(persistenceScheduler)
+                .flatMapIterable(orders -> orders);
+    }
+
+    @Override
+    public Mono<Order> findById(Long id) {
+        return Mono.fromCallable(() -> orderJpaRepository.findWithItemsById(id)
+                        .map(orderPersistenceMapper::toDomain)
+                        .orElse(null))
+                .subscribeOn(persistenceScheduler);
+    }
+
+    // Two set-based statements per chunk, each chunk in its own short transaction
+    @Override
+    public Mono<Map<Long, OrderStatus>> updateStatus(Collection<Long> ids, Set<OrderStatus> from, OrderStatus to) {
+        return Mono.fromCallable(() -> {
+            List<Long> sorted = ids.stream().distinct().sorted().toList();
+            Map<Long, OrderStatus> previous = new HashMap<>(sorted.size());
+            for (int start = 0; start < sorted.size(); start += statusChunkSize) {
+                List<Long> chunk = sorted.subList(start, Math.min(start + statusChunkSize, sorted.size()));
+                transactionTemplate.executeWithoutResult(status -> {
+                    List<Long> eligible = new ArrayList<>(chunk.size());
+                    for (Object[] row : orderJpaRepository.lockStatuses(chunk)) {
+                        Long id = ((Number) row[0]).longValue();
+                        OrderStatus current = OrderStatus.valueOf((String) row[1]);
+                        previous.put(id, current);
+                        if (from.contains(current)) {
+                            eligible.add(id);
+                        }
+                    }
+                    if (!eligible.isEmpty()) {
+                        orderJpaRepository.updateStatus(eligible, from, to, LocalDateTime.now());
+                    }
+                });
+            }
+            return previous;
+        }).subscribeOn(persistenceScheduler);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,43 @@
+package com.arkam.order.infrastructure.adapter.persistence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Users whose cart or orders changed through this instance within the last replica lag bound. Their reads stay on
+ * the primary for that long, so nobody reads their own write back from a replica that has not applied it yet.
+ * Like the cart cache, this is per instance.
+ */
+@Component
+public class RecentWriters {
+
+    private final Cache<String, Boolean> users;
+
+    public RecentWriters(@Value("${order.datasource.replica.max-lag:2s}") Duration maxLag,
+                         @Value("${order.datasource.replica.lag-check-interval:1s}") Duration lagCheckInterval,
+                         @Value("${order.datasource.replica.recent-writers.maximum-size:100000}") long maximumSize) {
+        // The guard can trust a replica for up to one check interval after it last measured max-lag
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(maxLag.plus(lagCheckInterval))
+                .build();
+    }
+
+    public void wrote(String userId) {
+        users.put(userId, Boolean.TRUE);
+    }
+
+    public boolean wroteRecently(String userId) {
+        return users.getIfPresent(userId) != null;
+    }
+
+    @EventListener
+    public void onCartCleared(CartClearedEvent event) {
+        wrote(event.userId());
+    }
+}
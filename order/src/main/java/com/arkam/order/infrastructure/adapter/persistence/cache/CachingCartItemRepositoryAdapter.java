@@ -0,0 +1,115 @@
+package com.arkam.order.infrastructure.adapter.persistence.cache;
+
+import com.arkam.order.application.port.out.CartItemRepositoryPort;
+import com.arkam.order.domain.model.CartItem;
+import com.arkam.order.domain.model.CartSummary;
+import com.arkam.order.infrastructure.adapter.persistence.CartClearedEvent;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps each user's cart, and separately its summary, in memory in front of the database adapter. Every write
+ * through this port, and every checkout, drops both of the user's entries. Loads are coalesced per user. If an entry is invalidated while its load is
+ * still running, the loaded result is not cached.
+ */
+@Component
+@Primary
+public class CachingCartItemRepositoryAdapter implements CartItemRepositoryPort {
+
+    public static final String DELEGATE = "cartItemStore";
+    static final String CACHE_NAME = "order.cart";
+    static final String SUMMARY_CACHE_NAME = "order.cart.summary";
+
+    private final CartItemRepositoryPort delegate;
+    private final AsyncCache<String, List<CartItem>> carts;
+    private final AsyncCache<String, CartSummary> summaries;
+
+    public CachingCartItemRepositoryAdapter(@Qualifier(DELEGATE) CartItemRepositoryPort delegate,
+                                            @Value("${order.cart-cache.maximum-size:10000}") long maximumSize,
+                                            @Value("${order.cart-cache.ttl:30s}") Duration ttl,
+                                            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.carts = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .<String, List<CartItem>>buildAsync(), CACHE_NAME);
+        this.summaries = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .<String, CartSummary>buildAsync(), SUMMARY_CACHE_NAME);
+    }
+
+    @Override
+    public Mono<CartItem> save(CartItem cartItem) {
+        return invalidating(delegate.save(cartItem), cartItem.getUserId());
+    }
+
+    @Override
+    public Mono<Void> upsertQuantity(CartItem cartItem) {
+        return invalidating(delegate.upsertQuantity(cartItem), cartItem.getUserId());
+    }
+
+    @Override
+    public Mono<Void> upsertQuantities(String userId, List<CartItem> cartItems) {
+        return invalidating(delegate.upsertQuantities(userId, cartItems), userId);
+    }
+
+    @Override
+    public Mono<Optional<CartItem>> findByUserIdAndProductId(String userId, String productId) {
+        return delegate.findByUserIdAndProductId(userId, productId);
+    }
+
+    @Override
+    public Flux<CartItem> findByUserId(String userId) {
+        // suppressCancel: the future is shared with other readers of the same cart
+        return Mono.fromFuture(() -> carts.get(userId, (key, executor) ->
+                        delegate.findByUserId(key).collectList().map(List::copyOf).toFuture()), true)
+                .flatMapMany(Flux::fromIterable);
+    }
+
+    @Override
+    public Mono<CartSummary> summarize(String userId) {
+        return Mono.fromFuture(() -> summaries.get(userId, (key, executor) -> delegate.summarize(key).toFuture()), true);
+    }
+
+    @Override
+    public Mono<Void> delete(CartItem cartItem) {
+        return invalidating(delegate.delete(cartItem), cartItem.getUserId());
+    }
+
+    @Override
+    public Mono<Void> deleteByUserId(String userId) {
+        return invalidating(delegate.deleteByUserId(userId), userId);
+    }
+
+    @EventListener
+    public void onCartCleared(CartClearedEvent event) {
+        invalidate(event.userId());
+    }
+
+    // Drop the entry before the caller sees the write complete, and also when the write is cancelled mid-flight
+    private <T> Mono<T> invalidating(Mono<T> write, String userId) {
+        return write.doOnTerminate(() -> invalidate(userId))
+                .doOnCancel(() -> invalidate(userId));
+    }
+
+    private void invalidate(String userId) {
+        carts.synchronous().invalidate(userId);
+        summaries.synchronous().invalidate(userId);
+    }
+}
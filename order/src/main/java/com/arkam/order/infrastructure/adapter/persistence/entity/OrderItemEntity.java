@@ -6,14 +6,17 @@ import lombok.NoArgsConstructor;
 
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = @Index(name = "idx_order_item_entity_order_id", columnList = "order_id"))
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
 public class OrderItemEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_entity_seq")
+    @SequenceGenerator(name = "order_item_entity_seq", sequenceName = "order_item_entity_seq", allocationSize = 50)
     private Long id;
     private String productId;
     private Integer quantity;
@@ -22,4 +25,16 @@ public class OrderItemEntity {
     @ManyToOne
     @JoinColumn(name = "order_id", nullable = false)
     private OrderEntity order;
+
+    // The order's created_at, which places the item in the same month's partition as its order
+    @Column(name = "order_created_at", nullable = false, updatable = false)
+    private LocalDateTime orderCreatedAt;
+
+    // Runs after the order's own @PrePersist, which cascades to its items only once it has its createdAt
+    @PrePersist
+    void onCreate() {
+        if (orderCreatedAt == null) {
+            orderCreatedAt = order.getCreatedAt();
+        }
+    }
 }
\ No newline at end of file
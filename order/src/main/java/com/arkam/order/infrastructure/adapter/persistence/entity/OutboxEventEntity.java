@@ -0,0 +1,23 @@
+package com.arkam.order.infrastructure.adapter.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "order_outbox")
+@Data
+@NoArgsConstructor
+public class OutboxEventEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_outbox_seq")
+    @SequenceGenerator(name = "order_outbox_seq", sequenceName = "order_outbox_seq", allocationSize = 50)
+    private Long id;
+    private Long aggregateId;
+    private String eventType;
+    @Column(columnDefinition = "text")
+    private String payload;
+    private LocalDateTime createdAt;
+}
@@ -1,6 +1,7 @@
 package com.arkam.order.infrastructure.adapter.persistence.mapper;
 
 import com.arkam.order.domain.model.CartItem;
+import com.arkam.order.domain.model.Money;
 import com.arkam.order.infrastructure.adapter.persistence.entity.CartItemEntity;
 import org.springframework.stereotype.Component;
 
@@ -13,7 +14,7 @@ public class CartItemPersistenceMapper {
         entity.setUserId(cartItem.getUserId());
         entity.setProductId(cartItem.getProductId());
         entity.setQuantity(cartItem.getQuantity());
-        entity.setPrice(cartItem.getPrice());
+        entity.setPrice(Money.amountOrNull(cartItem.getPrice()));
         entity.setCreatedAt(cartItem.getCreatedAt());
         entity.setUpdatedAt(cartItem.getUpdatedAt());
         return entity;
@@ -25,7 +26,7 @@ public class CartItemPersistenceMapper {
         cartItem.setUserId(entity.getUserId());
         cartItem.setProductId(entity.getProductId());
         cartItem.setQuantity(entity.getQuantity());
-        cartItem.setPrice(entity.getPrice());
+        cartItem.setPrice(Money.ofNullable(entity.getPrice()));
         cartItem.setCreatedAt(entity.getCreatedAt());
         cartItem.setUpdatedAt(entity.getUpdatedAt());
         return cartItem;
@@ -0,0 +1,49 @@
+package com.arkam.order.infrastructure.adapter.persistence.mapper;
+
+import com.arkam.order.application.dto.OrderCreatedEvent;
+import com.arkam.order.domain.model.Money;
+import com.arkam.order.domain.model.Order;
+import com.arkam.order.infrastructure.adapter.persistence.entity.OutboxEventEntity;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class OrderOutboxMapper {
+
+    public static final String ORDER_CREATED = "OrderCreated";
+
+    private final ObjectMapper objectMapper;
+
+    public OutboxEventEntity toOrderCreated(Order order) {
+        OutboxEventEntity entity = new OutboxEventEntity();
+        entity.setAggregateId(order.getId());
+        entity.setEventType(ORDER_CREATED);
+        entity.setPayload(orderCreatedPayload(order));
+        entity.setCreatedAt(LocalDateTime.now());
+        return entity;
+    }
+
+    public String orderCreatedPayload(Order order) {
+        OrderCreatedEvent event = new OrderCreatedEvent(
+                order.getId(),
+                order.getUserId(),
+                order.getStatus(),
+                order.getItems().stream()
+                        .map(item -> new OrderCreatedEvent.Item(item.getId(), item.getProductId(), item.getQuantity(),
+                                Money.amountOrNull(item.getPrice()), item.getTotalPrice().toBigDecimal()))
+                        .collect(Collectors.toList()),
+                Money.amountOrNull(order.getTotalAmount()),
+                order.getCreatedAt());
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize OrderCreatedEvent for order " + order.getId(), e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.arkam.order.infrastructure.adapter.persistence.mapper;
 
+import com.arkam.order.domain.model.Money;
 import com.arkam.order.domain.model.Order;
 import com.arkam.order.domain.model.OrderItem;
 import com.arkam.order.infrastructure.adapter.persistence.entity.OrderEntity;
@@ -15,7 +16,7 @@ public class OrderPersistenceMapper {
         OrderEntity entity = new OrderEntity();
         entity.setId(order.getId());
         entity.setUserId(order.getUserId());
-        entity.setTotalAmount(order.getTotalAmount());
+        entity.setTotalAmount(Money.amountOrNull(order.getTotalAmount()));
         entity.setStatus(order.getStatus());
         entity.setItems(order.getItems().stream()
                 .map(item -> {
@@ -23,7 +24,7 @@ public class OrderPersistenceMapper {
                     itemEntity.setId(item.getId());
                     itemEntity.setProductId(item.getProductId());
                     itemEntity.setQuantity(item.getQuantity());
-                    itemEntity.setPrice(item.getPrice());
+                    itemEntity.setPrice(Money.amountOrNull(item.getPrice()));
                     itemEntity.setOrder(entity);
                     return itemEntity;
                 })
@@ -37,7 +38,7 @@ public class OrderPersistenceMapper {
         Order order = new Order();
         order.setId(entity.getId());
         order.setUserId(entity.getUserId());
-        order.setTotalAmount(entity.getTotalAmount());
+        order.setTotalAmount(Money.ofNullable(entity.getTotalAmount()));
         order.setStatus(entity.getStatus());
         order.setItems(entity.getItems().stream()
                 .map(itemEntity -> {
@@ -45,7 +46,7 @@ public class OrderPersistenceMapper {
                     item.setId(itemEntity.getId());
                     item.setProductId(itemEntity.getProductId());
                     item.setQuantity(itemEntity.getQuantity());
-                    item.setPrice(itemEntity.getPrice());
+                    item.setPrice(Money.ofNullable(itemEntity.getPrice()));
                     return item;
                 })
                 .collect(Collectors.toList()));
@@ -0,0 +1,156 @@
+package com.arkam.order.infrastructure.adapter.persistence.r2dbc;
+
+import com.arkam.order.application.port.out.CartItemRepositoryPort;
+import com.arkam.order.domain.model.CartItem;
+import com.arkam.order.domain.model.CartSummary;
+import com.arkam.order.domain.model.Money;
+import com.arkam.order.infrastructure.adapter.persistence.cache.CachingCartItemRepositoryAdapter;
+import com.arkam.order.infrastructure.adapter.persistence.repository.CartItemJpaRepository;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@Qualifier(CachingCartItemRepositoryAdapter.DELEGATE)
+@Profile("r2dbc")
+@RequiredArgsConstructor
+public class R2dbcCartItemRepositoryAdapter implements CartItemRepositoryPort {
+
+    private static final String COLUMNS = "id, user_id, product_id, quantity, price, created_at, updated_at";
+    // CartItemJpaRepository.UPSERT_QUANTITY with positional parameters, for multi-binding statements
+    private static final String UPSERT_QUANTITY_POSITIONAL = "INSERT INTO cart_items (id, user_id, product_id, quantity, price, created_at, updated_at) "
+            + "VALUES (nextval('cart_items_seq'), $1, $2, $3, $4, $5, $5) "
+            + "ON CONFLICT (user_id, product_id) DO UPDATE "
+            + "SET quantity = cart_items.quantity + EXCLUDED.quantity, price = EXCLUDED.price, updated_at = EXCLUDED.updated_at";
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<CartItem> save(CartItem cartItem) {
+        LocalDateTime now = LocalDateTime.now();
+        if (cartItem.getId() == null) {
+            return databaseClient.sql("INSERT INTO cart_items (id, user_id, product_id, quantity, price, created_at, updated_at) "
+                            + "VALUES (nextval('cart_items_seq'), :userId, :productId, :quantity, :price, :createdAt, :updatedAt) "
+                            + "RETURNING " + COLUMNS)
+                    .bind("userId", cartItem.getUserId())
+                    .bind("productId", cartItem.getProductId())
+                    .bind("quantity", cartItem.getQuantity())
+                    .bind("price", cartItem.getPrice().toBigDecimal())
+                    .bind("createdAt", cartItem.getCreatedAt() != null ? cartItem.getCreatedAt() : now)
+                    .bind("updatedAt", now)
+                    .map(R2dbcCartItemRepositoryAdapter::toDomain)
+                    .one();
+        }
+        return databaseClient.sql("UPDATE cart_items SET quantity = :quantity, price = :price, updated_at = :updatedAt "
+                        + "WHERE id = :id RETURNING " + COLUMNS)
+                .bind("id", cartItem.getId())
+                .bind("quantity", cartItem.getQuantity())
+                .bind("price", cartItem.getPrice().toBigDecimal())
+                .bind("updatedAt", now)
+                .map(R2dbcCartItemRepositoryAdapter::toDomain)
+                .one();
+    }
+
+    @Override
+    public Mono<Void> upsertQuantity(CartItem cartItem) {
+        return databaseClient.sql(CartItemJpaRepository.UPSERT_QUANTITY)
+                .bind("userId", cartItem.getUserId())
+                .bind("productId", cartItem.getProductId())
+                .bind("quantity", cartItem.getQuantity())
+                .bind("price", cartItem.getPrice().toBigDecimal())
+                .bind("now", LocalDateTime.now())
+                .then();
+    }
+
+    // One statement with one binding per line, pipelined by the driver like the order item insert
+    @Override
+    public Mono<Void> upsertQuantities(String userId, List<CartItem> cartItems) {
+        if (cartItems.isEmpty()) {
+            return Mono.empty();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return databaseClient.inConnectionMany(connection -> {
+                    Statement statement = connection.createStatement(UPSERT_QUANTITY_POSITIONAL);
+                    for (int i = 0; i < cartItems.size(); i++) {
+                        if (i > 0) {
+                            statement.add();
+                        }
+                        CartItem cartItem = cartItems.get(i);
+                        statement.bind(0, userId)
+                                .bind(1, cartItem.getProductId())
+                                .bind(2, cartItem.getQuantity())
+                                .bind(3, cartItem.getPrice().toBigDecimal())
+                                .bind(4, now);
+                    }
+                    return Flux.from(statement.execute()).flatMap(Result::getRowsUpdated);
+                })
+                .then();
+    }
+
+    @Override
+    public Mono<Optional<CartItem>> findByUserIdAndProductId(String userId, String productId) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM cart_items WHERE user_id = :userId AND product_id = :productId")
+                .bind("userId", userId)
+                .bind("productId", productId)
+                .map(R2dbcCartItemRepositoryAdapter::toDomain)
+                .one()
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    @Override
+    public Flux<CartItem> findByUserId(String userId) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM cart_items WHERE user_id = :userId")
+                .bind("userId", userId)
+                .map(R2dbcCartItemRepositoryAdapter::toDomain)
+                .all();
+    }
+
+    @Override
+    public Mono<CartSummary> summarize(String userId) {
+        return databaseClient.sql("SELECT COUNT(*) AS lines, COALESCE(SUM(quantity), 0) AS quantity, "
+                        + "COALESCE(SUM(quantity * price), 0) AS total FROM cart_items WHERE user_id = :userId")
+                .bind("userId", userId)
+                .map(row -> new CartSummary(row.get("lines", Long.class), row.get("quantity", Long.class),
+                        Money.of(row.get("total", BigDecimal.class))))
+                .one();
+    }
+
+    @Override
+    public Mono<Void> delete(CartItem cartItem) {
+        return databaseClient.sql("DELETE FROM cart_items WHERE id = :id")
+                .bind("id", cartItem.getId())
+                .then();
+    }
+
+    @Override
+    public Mono<Void> deleteByUserId(String userId) {
+        return databaseClient.sql("DELETE FROM cart_items WHERE user_id = :userId")
+                .bind("userId", userId)
+                .then();
+    }
+
+    static CartItem toDomain(Readable row) {
+        CartItem cartItem = new CartItem();
+        cartItem.setId(row.get("id", Long.class));
+        cartItem.setUserId(row.get("user_id", String.class));
+        cartItem.setProductId(row.get("product_id", String.class));
+        cartItem.setQuantity(row.get("quantity", Integer.class));
+        cartItem.setPrice(Money.ofNullable(row.get("price", BigDecimal.class)));
+        cartItem.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        cartItem.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        return cartItem;
+    }
+}
@@ -0,0 +1,71 @@
+package com.arkam.order.infrastructure.adapter.persistence.r2dbc;
+
+import com.arkam.order.application.port.out.OrderExportPort;
+import com.arkam.order.domain.model.Order;
+import com.arkam.order.domain.model.OrderStatus;
+import com.arkam.order.infrastructure.adapter.persistence.OrderExportRow;
+import com.arkam.order.infrastructure.adapter.persistence.OrderPartitions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Component
+@Profile("r2dbc")
+public class R2dbcOrderExportAdapter implements OrderExportPort {
+
+    private static final String EXPORT_SQL = "SELECT o.id, o.user_id, o.total_amount, o.status, o.created_at, o.updated_at, "
+            + "i.id AS item_id, i.product_id, i.quantity, i.price "
+            + "FROM orders o LEFT JOIN order_item_entity i ON i.order_id = o.id "
+            + "WHERE o.created_at >= :from AND o.created_at < :to "
+            + "ORDER BY o.created_at, o.id, i.id";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator r2dbcTransactionalOperator;
+    private final OrderPartitions orderPartitions;
+    private final int fetchSize;
+
+    public R2dbcOrderExportAdapter(DatabaseClient databaseClient,
+                                   TransactionalOperator r2dbcTransactionalOperator,
+                                   OrderPartitions orderPartitions,
+                                   @Value("${order.export.fetch-size:500}") int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.r2dbcTransactionalOperator = r2dbcTransactionalOperator;
+        this.orderPartitions = orderPartitions;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public LocalDateTime exportableFrom() {
+        return orderPartitions.horizon();
+    }
+
+    // fetchSize makes the driver read the portal in chunks as demand arrives, inside a transaction like the JPA cursor
+    @Override
+    public Flux<Order> streamByCreatedAt(LocalDateTime from, LocalDateTime to) {
+        return databaseClient.sql(EXPORT_SQL)
+                .bind("from", from)
+                .bind("to", to)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(row -> new OrderExportRow(
+                        row.get("id", Long.class),
+                        row.get("user_id", String.class),
+                        row.get("total_amount", BigDecimal.class),
+                        OrderStatus.valueOf(row.get("status", String.class)),
+                        row.get("created_at", LocalDateTime.class),
+                        row.get("updated_at", LocalDateTime.class),
+                        row.get("item_id", Long.class),
+                        row.get("product_id", String.class),
+                        row.get("quantity", Integer.class),
+                        row.get("price", BigDecimal.class)))
+                .all()
+                .as(r2dbcTransactionalOperator::transactional)
+                .bufferUntilChanged(OrderExportRow::orderId)
+                .map(OrderExportRow::toOrder);
+    }
+}
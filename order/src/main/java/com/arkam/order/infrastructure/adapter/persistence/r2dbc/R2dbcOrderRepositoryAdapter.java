@@ -0,0 +1,257 @@
+package com.arkam.order.infrastructure.adapter.persistence.r2dbc;
+
+import com.arkam.order.application.port.out.CartChangedException;
+import com.arkam.order.application.port.out.OrderRepositoryPort;
+import com.arkam.order.domain.model.Money;
+import com.arkam.order.domain.model.Order;
+import com.arkam.order.domain.model.OrderCursor;
+import com.arkam.order.domain.model.OrderItem;
+import com.arkam.order.domain.model.OrderStatus;
+import com.arkam.order.infrastructure.adapter.persistence.CartClearedEvent;
+import com.arkam.order.infrastructure.adapter.persistence.OrderPartitions;
+import com.arkam.order.infrastructure.adapter.persistence.mapper.OrderOutboxMapper;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Statement;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+@Profile("r2dbc")
+public class R2dbcOrderRepositoryAdapter implements OrderRepositoryPort {
+
+    private static final String ORDER_COLUMNS = "SELECT id, user_id, total_amount, status, created_at, updated_at FROM orders ";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator r2dbcTransactionalOperator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderOutboxMapper orderOutboxMapper;
+    private final OrderPartitions orderPartitions;
+    private final int statusChunkSize;
+
+    public R2dbcOrderRepositoryAdapter(DatabaseClient databaseClient,
+                                       TransactionalOperator r2dbcTransactionalOperator,
+                                       ApplicationEventPublisher eventPublisher,
+                                       OrderOutboxMapper orderOutboxMapper,
+                                       OrderPartitions orderPartitions,
+                                       @Value("${order.status.chunk-size:1000}") int statusChunkSize) {
+        this.databaseClient = databaseClient;
+        this.r2dbcTransactionalOperator = r2dbcTransactionalOperator;
+        this.eventPublisher = eventPublisher;
+        this.orderOutboxMapper = orderOutboxMapper;
+        this.orderPartitions = orderPartitions;
+        this.statusChunkSize = statusChunkSize;
+    }
+
+    @Override
+    public Mono<Order> save(Order order) {
+        return insertOrder(order)
+                .as(r2dbcTransactionalOperator::transactional);
+    }
+
+    @Override
+    public Mono<Order> placeOrder(Order order, Map<Long, Integer> cartQuantities) {
+        return lockCartLines(order.getUserId(), cartQuantities)
+                .then(insertOrder(order))
+                .flatMap(saved -> cartQuantities.isEmpty() ? Mono.just(saved) : databaseClient
+                        .sql("DELETE FROM cart_items WHERE user_id = :userId AND id IN (:ids)")
+                        .bind("userId", order.getUserId())
+                        .bind("ids", cartQuantities.keySet())
+                        .then()
+                        .thenReturn(saved))
+                .flatMap(saved -> databaseClient.sql("INSERT INTO order_outbox (id, aggregate_id, event_type, payload, created_at) "
+                                + "VALUES (nextval('order_outbox_seq'), :aggregateId, :eventType, :payload, :createdAt)")
+                        .bind("aggregateId", saved.getId())
+                        .bind("eventType", OrderOutboxMapper.ORDER_CREATED)
+                        .bind("payload", orderOutboxMapper.orderCreatedPayload(saved))
+                        .bind("createdAt", LocalDateTime.now())
+                        .then()
+                        .thenReturn(saved))
+                .as(r2dbcTransactionalOperator::transactional)
+                // On a changed cart too: it was read from a stale cache, and the next read has to see the current lines
+                .doOnSuccess(saved -> eventPublisher.publishEvent(new CartClearedEvent(order.getUserId())))
+                .doOnError(CartChangedException.class,
+                        e -> eventPublisher.publishEvent(new CartClearedEvent(order.getUserId())));
+    }
+
+    // Locks the lines the order was built from and checks that none is gone or holds another quantity
+    private Mono<Void> lockCartLines(String userId, Map<Long, Integer> cartQuantities) {
+        if (cartQuantities.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql("SELECT id, quantity FROM cart_items WHERE user_id = :userId AND id IN (:ids) FOR UPDATE")
+                .bind("userId", userId)
+                .bind("ids", cartQuantities.keySet())
+                .map(row -> Map.entry(row.get("id", Long.class), row.get("quantity", Integer.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .flatMap(locked -> locked.equals(cartQuantities) ? Mono.empty()
+                        : Mono.error(new CartChangedException(userId)));
+    }
+
+    @Override
+    public Flux<Order> findByUserId(String userId, OrderCursor after, int limit) {
+        DatabaseClient.GenericExecuteSpec page = after == null
+                ? databaseClient.sql(ORDER_COLUMNS + "WHERE user_id = :userId AND created_at >= :horizon "
+                        + "ORDER BY created_at DESC, id DESC LIMIT :limit")
+                : databaseClient.sql(ORDER_COLUMNS + "WHERE user_id = :userId AND created_at >= :horizon "
+                        + "AND (created_at, id) < (:createdAt, :id) "
+                        + "ORDER BY created_at DESC, id DESC LIMIT :limit")
+                        .bind("createdAt", after.createdAt())
+                        .bind("id", after.id());
+        return page.bind("userId", userId)
+                .bind("horizon", orderPartitions.horizon())
+                .bind("limit", limit)
+                .map(this::toOrder)
+                .all()
+                .collectList()
+                .flatMapMany(this::withItems);
+    }
+
+    @Override
+    public Mono<Order> findById(Long id) {
+        return databaseClient.sql(ORDER_COLUMNS + "WHERE id = :id")
+                .bind("id", id)
+                .map(this::toOrder)
+                .all()
+                .collectList()
+                .flatMapMany(this::withItems)
+                .next();
+    }
+
+    @Override
+    public Mono<Map<Long, OrderStatus>> updateStatus(Collection<Long> ids, Set<OrderStatus> from, OrderStatus to) {
+        List<String> fromNames = from.stream().map(OrderStatus::name).toList();
+        return Flux.fromIterable(ids.stream().distinct().sorted().toList())
+                .buffer(statusChunkSize)
+                .concatMap(chunk -> databaseClient.sql("SELECT id, status FROM orders WHERE id IN (:ids) ORDER BY id FOR UPDATE")
+                        .bind("ids", chunk)
+                        .map(row -> Map.entry(row.get("id", Long.class), OrderStatus.valueOf(row.get("status", String.class))))
+                        .all()
+                        .collectList()
+                        .flatMapMany(locked -> {
+                            List<Long> eligible = locked.stream()
+                                    .filter(entry -> from.contains(entry.getValue()))
+                                    .map(Map.Entry::getKey)
+                                    .toList();
+                            Mono<Void> update = eligible.isEmpty() ? Mono.empty()
+                                    : databaseClient.sql("UPDATE orders SET status = :to, updated_at = :now "
+                                                    + "WHERE id IN (:ids) AND status IN (:from)")
+                                            .bind("to", to.name())
+                                            .bind("now", LocalDateTime.now())
+                                            .bind("ids", eligible)
+                                            .bind("from", fromNames)
+                                            .then();
+                            return update.thenMany(Flux.fromIterable(locked));
+                        })
+                        .as(r2dbcTransactionalOperator::transactional))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    // Items of all orders on the page in one query
+    private Flux<Order> withItems(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return Flux.empty();
+        }
+        List<Long> ids = orders.stream().map(Order::getId).toList();
+        return databaseClient.sql("SELECT id, order_id, product_id, quantity, price FROM order_item_entity "
+                        + "WHERE order_id IN (:ids) ORDER BY id")
+                .bind("ids", ids)
+                .map(row -> Map.entry(row.get("order_id", Long.class), new OrderItem(row.get("id", Long.class),
+                        row.get("product_id", String.class), row.get("quantity", Integer.class),
+                        Money.ofNullable(row.get("price", BigDecimal.class)))))
+                .all()
+                .collect(Collectors.groupingBy(Map.Entry::getKey,
+                        Collectors.mapping(Map.Entry::getValue, Collectors.toList())))
+                .flatMapIterable(items -> {
+                    orders.forEach(order -> order.setItems(items.getOrDefault(order.getId(), new ArrayList<>())));
+                    return orders;
+                });
+    }
+
+    private Order toOrder(Readable row) {
+        Order order = new Order();
+        order.setId(row.get("id", Long.class));
+        order.setUserId(row.get("user_id", String.class));
+        order.setTotalAmount(Money.ofNullable(row.get("total_amount", BigDecimal.class)));
+        order.setStatus(OrderStatus.valueOf(row.get("status", String.class)));
+        order.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        order.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        return order;
+    }
+
+    private Mono<Order> insertOrder(Order order) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime createdAt = order.getCreatedAt() != null ? order.getCreatedAt() : now;
+
+        return databaseClient.sql("INSERT INTO orders (id, user_id, total_amount, status, created_at, updated_at) "
+                        + "VALUES (nextval('orders_seq'), :userId, :totalAmount, :status, :createdAt, :updatedAt) RETURNING id")
+                .bind("userId", order.getUserId())
+                .bind("totalAmount", order.getTotalAmount().toBigDecimal())
+                .bind("status", order.getStatus().name())
+                .bind("createdAt", createdAt)
+                .bind("updatedAt", now)
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .flatMap(orderId -> insertItems(orderId, createdAt, order.getItems())
+                        .collectList()
+                        .map(itemIds -> toSavedOrder(order, orderId, itemIds, createdAt, now)));
+    }
+
+    // One statement with one binding per line: the driver pipelines them instead of waiting for each insert
+    private Flux<Long> insertItems(Long orderId, LocalDateTime orderCreatedAt, List<OrderItem> items) {
+        if (items.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement(
+                            "INSERT INTO order_item_entity (id, product_id, quantity, price, order_id, order_created_at) "
+                                    + "VALUES (nextval('order_item_entity_seq'), $1, $2, $3, $4, $5)")
+                    .returnGeneratedValues("id");
+            for (int i = 0; i < items.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                OrderItem item = items.get(i);
+                statement.bind(0, item.getProductId())
+                        .bind(1, item.getQuantity())
+                        .bind(2, item.getPrice().toBigDecimal())
+                        .bind(3, orderId)
+                        .bind(4, orderCreatedAt);
+            }
+            return Flux.from(statement.execute())
+                    .concatMap(result -> result.map(row -> row.get("id", Long.class)));
+        });
+    }
+
+    private Order toSavedOrder(Order order, Long orderId, List<Long> itemIds, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        Order saved = new Order();
+        saved.setId(orderId);
+        saved.setUserId(order.getUserId());
+        saved.setTotalAmount(order.getTotalAmount());
+        saved.setStatus(order.getStatus());
+        List<OrderItem> items = new ArrayList<>(order.getItems().size());
+        for (int i = 0; i < order.getItems().size(); i++) {
+            OrderItem item = order.getItems().get(i);
+            items.add(new OrderItem(itemIds.get(i), item.getProductId(), item.getQuantity(), item.getPrice()));
+        }
+        saved.setItems(items);
+        saved.setCreatedAt(createdAt);
+        saved.setUpdatedAt(updatedAt);
+        return saved;
+    }
+}
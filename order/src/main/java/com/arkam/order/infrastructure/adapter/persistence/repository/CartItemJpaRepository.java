@@ -1,20 +1,48 @@
 package com.arkam.order.infrastructure.adapter.persistence.repository;
 
+import com.arkam.order.infrastructure.adapter.persistence.CartSummaryRow;
 import com.arkam.order.infrastructure.adapter.persistence.entity.CartItemEntity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CartItemJpaRepository extends JpaRepository<CartItemEntity, Long> {
+    String UPSERT_QUANTITY = "INSERT INTO cart_items (id, user_id, product_id, quantity, price, created_at, updated_at) "
+            + "VALUES (nextval('cart_items_seq'), :userId, :productId, :quantity, :price, :now, :now) "
+            + "ON CONFLICT (user_id, product_id) DO UPDATE "
+            + "SET quantity = cart_items.quantity + EXCLUDED.quantity, price = EXCLUDED.price, updated_at = EXCLUDED.updated_at";
+
     Optional<CartItemEntity> findByUserIdAndProductId(String userId, String productId);
     List<CartItemEntity> findByUserId(String userId);
 
+    @Query("SELECT new com.arkam.order.infrastructure.adapter.persistence.CartSummaryRow("
+            + "COUNT(c), COALESCE(SUM(c.quantity), 0L), COALESCE(SUM(c.quantity * c.price), 0)) "
+            + "FROM CartItemEntity c WHERE c.userId = :userId")
+    CartSummaryRow summarizeByUserId(String userId);
+
     @Modifying
     @Query("DELETE FROM CartItemEntity c WHERE c.userId = :userId")
     void deleteByUserId(String userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CartItemEntity c WHERE c.userId = :userId AND c.id IN :ids")
+    List<CartItemEntity> lockByUserIdAndIdIn(String userId, Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM CartItemEntity c WHERE c.userId = :userId AND c.id IN :ids")
+    int deleteByUserIdAndIdIn(String userId, Collection<Long> ids);
+
+    @Modifying
+    @Query(value = UPSERT_QUANTITY, nativeQuery = true)
+    int upsertQuantity(String userId, String productId, Integer quantity, BigDecimal price, LocalDateTime now);
 }
\ No newline at end of file
@@ -1,9 +1,47 @@
 package com.arkam.order.infrastructure.adapter.persistence.repository;
 
+import com.arkam.order.domain.model.OrderCursor;
+import com.arkam.order.domain.model.OrderStatus;
 import com.arkam.order.infrastructure.adapter.persistence.entity.OrderEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface OrderJpaRepository extends JpaRepository<OrderEntity, Long> {
-}
\ No newline at end of file
+
+    // Keyset pages read (createdAt, id) only, walking idx_orders_user_created; the horizon keeps the scan in hot
+    // partitions and the page's createdAt range lets the item fetch prune down to the months it spans
+    @Query("SELECT new com.arkam.order.domain.model.OrderCursor(o.createdAt, o.id) FROM OrderEntity o"
+            + " WHERE o.userId = :userId AND o.createdAt >= :horizon ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderCursor> findFirstPageKeys(String userId, LocalDateTime horizon, Limit limit);
+
+    @Query("SELECT new com.arkam.order.domain.model.OrderCursor(o.createdAt, o.id) FROM OrderEntity o"
+            + " WHERE o.userId = :userId AND o.createdAt >= :horizon"
+            + " AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id))"
+            + " ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderCursor> findPageKeysAfter(String userId, LocalDateTime horizon, LocalDateTime createdAt, Long id,
+                                        Limit limit);
+
+    @Query("SELECT o FROM OrderEntity o LEFT JOIN FETCH o.items i WHERE o.id IN :ids"
+            + " AND o.createdAt BETWEEN :oldest AND :newest ORDER BY o.createdAt DESC, o.id DESC, i.id")
+    List<OrderEntity> findAllWithItemsByIdIn(Collection<Long> ids, LocalDateTime oldest, LocalDateTime newest);
+
+    @Query("SELECT o FROM OrderEntity o LEFT JOIN FETCH o.items i WHERE o.id = :id ORDER BY i.id")
+    Optional<OrderEntity> findWithItemsById(Long id);
+
+    // Locks the chunk in id order, so two overlapping waves cannot deadlock
+    @Query(value = "SELECT id, status FROM orders WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Object[]> lockStatuses(Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE OrderEntity o SET o.status = :to, o.updatedAt = :now WHERE o.id IN :ids AND o.status IN :from")
+    int updateStatus(Collection<Long> ids, Collection<OrderStatus> from, OrderStatus to, LocalDateTime now);
+}
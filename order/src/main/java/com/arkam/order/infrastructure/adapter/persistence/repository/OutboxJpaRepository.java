@@ -0,0 +1,22 @@
+package com.arkam.order.infrastructure.adapter.persistence.repository;
+
+import com.arkam.order.infrastructure.adapter.persistence.entity.OutboxEventEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxJpaRepository extends JpaRepository<OutboxEventEntity, Long> {
+
+    // SKIP LOCKED lets several order-service instances relay side by side without sending a row twice
+    @Query(value = "SELECT * FROM order_outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEventEntity> lockNextBatch(int limit);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEventEntity o WHERE o.id IN :ids")
+    int deleteByIds(Collection<Long> ids);
+}
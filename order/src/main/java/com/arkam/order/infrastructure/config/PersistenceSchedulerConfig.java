@@ -0,0 +1,167 @@
+package com.arkam.order.infrastructure.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Scheduler that blocking JPA calls are offloaded to, so that they never run on a Reactor Netty event loop.
+ * The pool is bounded by the Hikari pool size unless {@code order.persistence.scheduler.threads} is set:
+ * more threads than connections would only park on the pool.
+ * <p>
+ * In {@code virtual} mode every task gets a virtual thread of its own, and a semaphore of the same size caps
+ * how many of them run at once. Tasks beyond {@code queue-capacity} waiting for a permit are rejected, as in
+ * the platform pool.
+ */
+@Configuration
+public class PersistenceSchedulerConfig {
+
+    static final String EXECUTOR_NAME = "order.persistence";
+
+    @Value("${order.persistence.scheduler.mode:bounded-elastic}")
+    private String mode;
+
+    @Value("${order.persistence.scheduler.threads:0}")
+    private int threads;
+
+    @Value("${order.persistence.scheduler.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int hikariMaximumPoolSize;
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler persistenceScheduler(MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : hikariMaximumPoolSize;
+
+        // executor.queued, executor.idle (queue wait) and executor (run time) come from ExecutorServiceMetrics
+        Counter rejected = Counter.builder("executor.rejected")
+                .tag("name", EXECUTOR_NAME)
+                .description("Persistence tasks rejected because the offload queue was full")
+                .register(meterRegistry);
+
+        ExecutorService executor = "virtual".equalsIgnoreCase(mode)
+                ? virtualExecutor(poolSize, rejected, meterRegistry)
+                : platformExecutor(poolSize, rejected);
+
+        ExecutorService monitored = ExecutorServiceMetrics.monitor(meterRegistry, executor, EXECUTOR_NAME);
+        return Schedulers.fromExecutorService(monitored, EXECUTOR_NAME);
+    }
+
+    private ExecutorService platformExecutor(int poolSize, Counter rejected) {
+        ThreadFactory threadFactory = Thread.ofPlatform().name("order-jdbc-", 0).daemon(true).factory();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), threadFactory,
+                (task, pool) -> {
+                    rejected.increment();
+                    throw queueFull();
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private ExecutorService virtualExecutor(int poolSize, Counter rejected, MeterRegistry meterRegistry) {
+        BoundedVirtualExecutor executor = new BoundedVirtualExecutor(poolSize, queueCapacity, () -> {
+            rejected.increment();
+            return queueFull();
+        });
+        // ExecutorServiceMetrics only reads the queue of a ThreadPoolExecutor
+        Gauge.builder("executor.queued", executor, BoundedVirtualExecutor::waiting)
+                .tag("name", EXECUTOR_NAME)
+                .description("Persistence tasks waiting for a connection permit")
+                .register(meterRegistry);
+        return executor;
+    }
+
+    private RejectedExecutionException queueFull() {
+        return new RejectedExecutionException("Persistence queue is full (" + queueCapacity + " tasks)");
+    }
+
+    private static final class BoundedVirtualExecutor extends AbstractExecutorService {
+
+        private final ExecutorService delegate = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("order-jdbc-v-", 0).factory());
+        private final Semaphore running;
+        private final Semaphore admitted;
+        private final Supplier<RejectedExecutionException> rejection;
+
+        BoundedVirtualExecutor(int maxRunning, int maxWaiting, Supplier<RejectedExecutionException> rejection) {
+            this.running = new Semaphore(maxRunning);
+            this.admitted = new Semaphore(maxRunning + maxWaiting);
+            this.rejection = rejection;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            if (!admitted.tryAcquire()) {
+                throw rejection.get();
+            }
+            try {
+                delegate.execute(() -> {
+                    try {
+                        running.acquire();
+                        try {
+                            task.run();
+                        } finally {
+                            running.release();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        admitted.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                admitted.release();
+                throw e;
+            }
+        }
+
+        int waiting() {
+            return running.getQueueLength();
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
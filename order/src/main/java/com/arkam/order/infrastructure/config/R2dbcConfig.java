@@ -0,0 +1,57 @@
+package com.arkam.order.infrastructure.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Non-blocking persistence for the r2dbc profile. The transaction manager is deliberately not exposed as a bean
+ * so that it does not compete with the JPA transaction manager, which stays configured in every profile.
+ */
+@Configuration
+@Profile("r2dbc")
+public class R2dbcConfig {
+
+    @Value("${order.r2dbc.url}")
+    private String url;
+
+    @Value("${order.r2dbc.username:${spring.datasource.username:}}")
+    private String username;
+
+    @Value("${order.r2dbc.password:${spring.datasource.password:}}")
+    private String password;
+
+    @Value("${order.r2dbc.pool.max-size:${spring.datasource.hikari.maximum-pool-size:10}}")
+    private int maxPoolSize;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory() {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("order-r2dbc")
+                .maxSize(maxPoolSize)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Bean
+    public TransactionalOperator r2dbcTransactionalOperator(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+}
@@ -0,0 +1,73 @@
+package com.arkam.order.infrastructure.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Decides whether read-only transactions may use the replica. Every {@code lag-check-interval} it asks the replica
+ * how far its replay is behind; the replica is trusted while that is at most {@code max-lag} and not otherwise,
+ * including when the check fails or the replica has not replayed anything yet. Until the first check succeeds,
+ * reads stay on the primary.
+ * <p>
+ * The default query reports 0 on a caught-up standby, since the last replay timestamp of an idle primary ages
+ * without any lag, and on a server that is not in recovery at all.
+ */
+@Slf4j
+public class ReplicaLagGuard {
+
+    public static final String DEFAULT_LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE CAST(EXTRACT(EPOCH FROM clock_timestamp() - pg_last_xact_replay_timestamp()) * 1000 AS BIGINT) END";
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private volatile boolean usable;
+    private volatile double lagMillis = Double.NaN;
+
+    public ReplicaLagGuard(DataSource replica, String lagQuery, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replica);
+        this.replica.setQueryTimeout(1);
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLag.toMillis();
+        Gauge.builder("order.datasource.replica.lag", this, guard -> guard.lagMillis)
+                .description("Replication lag of the read replica at the last check, in milliseconds")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("order.datasource.replica.usable", this, guard -> guard.usable ? 1 : 0)
+                .description("1 while read-only transactions are sent to the replica, 0 while they fall back to the primary")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${order.datasource.replica.lag-check-interval:1s}")
+    public void check() {
+        boolean wasUsable = usable;
+        try {
+            Long lag = replica.queryForObject(lagQuery, Long.class);
+            lagMillis = lag == null ? Double.NaN : lag;
+            usable = lag != null && lag <= maxLagMillis;
+        } catch (DataAccessException e) {
+            lagMillis = Double.NaN;
+            usable = false;
+        }
+        if (usable != wasUsable) {
+            if (usable) {
+                log.info("Réplica de lectura disponible (retraso {} ms)", (long) lagMillis);
+            } else {
+                log.warn("Réplica de lectura fuera de servicio o con retraso mayor a {} ms; las lecturas van al primario",
+                        maxLagMillis);
+            }
+        }
+    }
+
+    public boolean replicaUsable() {
+        return usable;
+    }
+}
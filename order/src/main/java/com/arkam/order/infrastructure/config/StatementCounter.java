@@ -0,0 +1,66 @@
+package com.arkam.order.infrastructure.config;
+
+import org.hibernate.SessionEventListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Counts the JDBC round trips Hibernate makes on the current thread while a unit of work runs: every statement it
+ * executes, and every batch it executes, once per batch. A checkout whose item inserts span two batches therefore
+ * counts two, not one.
+ */
+@Component
+public class StatementCounter implements HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<int[]> COUNTER = new ThreadLocal<>();
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, RoundTripListener.class.getName());
+    }
+
+    public <T> Counted<T> count(Supplier<T> work) {
+        int[] previous = COUNTER.get();
+        int[] counter = new int[1];
+        COUNTER.set(counter);
+        try {
+            T result = work.get();
+            return new Counted<>(result, counter[0]);
+        } finally {
+            if (previous != null) {
+                previous[0] += counter[0];
+                COUNTER.set(previous);
+            } else {
+                COUNTER.remove();
+            }
+        }
+    }
+
+    private static void increment() {
+        int[] counter = COUNTER.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+    }
+
+    public record Counted<T>(T result, int statements) {
+    }
+
+    // Hibernate creates one per session from the class name
+    public static class RoundTripListener implements SessionEventListener {
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            increment();
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            increment();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+-- Schema as previously created by hibernate ddl-auto; a no-op on databases that already have it
+CREATE TABLE IF NOT EXISTS orders (
+    id           BIGINT NOT NULL,
+    user_id      VARCHAR(255),
+    total_amount NUMERIC(38, 2),
+    status       VARCHAR(255) CHECK (status IN ('PENDING', 'CONFIRMED', 'SHIPPED', 'DELIVERED', 'CANCELLED')),
+    created_at   TIMESTAMP(6),
+    updated_at   TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS order_item_entity (
+    id         BIGINT NOT NULL,
+    order_id   BIGINT NOT NULL REFERENCES orders (id),
+    product_id VARCHAR(255),
+    quantity   INTEGER,
+    price      NUMERIC(38, 2),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS cart_items (
+    id         BIGINT NOT NULL,
+    user_id    VARCHAR(255),
+    product_id VARCHAR(255),
+    quantity   INTEGER,
+    price      NUMERIC(38, 2),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,13 @@
+-- IDENTITY ids disable JDBC batching in Hibernate; ids now come from pooled sequences (allocationSize = 50)
+ALTER TABLE orders ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE order_item_entity ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE cart_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_item_entity_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS cart_items_seq START WITH 1 INCREMENT BY 50;
+
+-- The pooled optimizer hands out (value - 49 .. value]; start past the highest existing id plus one block
+SELECT setval('orders_seq', COALESCE((SELECT MAX(id) FROM orders), 0) + 51, false);
+SELECT setval('order_item_entity_seq', COALESCE((SELECT MAX(id) FROM order_item_entity), 0) + 51, false);
+SELECT setval('cart_items_seq', COALESCE((SELECT MAX(id) FROM cart_items), 0) + 51, false);
@@ -0,0 +1,17 @@
+-- One row per (user_id, product_id): fold duplicates created by the old read-modify-write into the oldest row
+UPDATE cart_items c
+SET quantity = d.quantity
+FROM (SELECT MIN(id) AS id, SUM(quantity) AS quantity
+      FROM cart_items
+      GROUP BY user_id, product_id
+      HAVING COUNT(*) > 1) d
+WHERE c.id = d.id;
+
+DELETE FROM cart_items c
+USING cart_items k
+WHERE c.user_id = k.user_id
+  AND c.product_id = k.product_id
+  AND c.id > k.id;
+
+-- Conflict target for the cart upsert
+CREATE UNIQUE INDEX IF NOT EXISTS uk_cart_items_user_product ON cart_items (user_id, product_id);
@@ -0,0 +1,10 @@
+-- Events written in the checkout transaction and relayed to the broker afterwards; rows are deleted once sent
+CREATE TABLE order_outbox (
+    id           bigint       NOT NULL PRIMARY KEY,
+    aggregate_id bigint       NOT NULL,
+    event_type   varchar(100) NOT NULL,
+    payload      text         NOT NULL,
+    created_at   timestamp(6) NOT NULL
+);
+
+CREATE SEQUENCE IF NOT EXISTS order_outbox_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,5 @@
+-- Serves the keyset-paginated order history: WHERE user_id = ? AND (created_at, id) < (?, ?) ORDER BY created_at DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_orders_user_created ON orders (user_id, created_at DESC, id DESC);
+
+-- Items are loaded per page with order_id IN (...)
+CREATE INDEX IF NOT EXISTS idx_order_item_entity_order_id ON order_item_entity (order_id);
@@ -0,0 +1,2 @@
+-- Lets the date-range export walk orders in (created_at, id) order without sorting the range
+CREATE INDEX IF NOT EXISTS idx_orders_created_at ON orders (created_at, id);
@@ -0,0 +1,84 @@
+-- orders becomes range-partitioned by month on created_at (partitions orders_pYYYY_MM, see OrderPartitions).
+-- A partitioned table's primary key must contain the partition key, so it is now (id, created_at); ids still come
+-- from orders_seq.
+--
+-- Trade-offs of that key:
+-- * The foreign key from order_item_entity to orders is dropped, since it would have to include created_at. The
+--   database no longer stops an item from pointing at a missing order. Orders and their items are written in one
+--   transaction (OrderRepositoryAdapter) and archived in one (OrderPartitionMaintenance).
+-- * Lookups by id alone, such as findWithItemsById and lockStatuses, cannot prune partitions. They probe the
+--   primary key index of every attached partition: one probe per month inside the retention window, plus the
+--   months created ahead and orders_default.
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    FOR fk IN SELECT conname FROM pg_constraint
+              WHERE conrelid = 'order_item_entity'::regclass AND confrelid = 'orders'::regclass AND contype = 'f'
+    LOOP
+        EXECUTE format('ALTER TABLE order_item_entity DROP CONSTRAINT %I', fk.conname);
+    END LOOP;
+END $$;
+
+DROP INDEX IF EXISTS idx_orders_user_created;
+DROP INDEX IF EXISTS idx_orders_created_at;
+ALTER TABLE orders RENAME TO orders_unpartitioned;
+
+CREATE TABLE orders (
+    id           BIGINT       NOT NULL,
+    user_id      VARCHAR(255),
+    total_amount NUMERIC(38, 2),
+    status       VARCHAR(255) CHECK (status IN ('PENDING', 'CONFIRMED', 'SHIPPED', 'DELIVERED', 'CANCELLED')),
+    created_at   TIMESTAMP(6) NOT NULL,
+    updated_at   TIMESTAMP(6),
+    CONSTRAINT pk_orders PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Created on every partition; the history and export plans stay as in V5 and V6
+CREATE INDEX idx_orders_user_created ON orders (user_id, created_at DESC, id DESC);
+CREATE INDEX idx_orders_created_at ON orders (created_at, id);
+
+-- Safety net for rows outside every month; OrderPartitionMaintenance creates months ahead so it stays empty
+CREATE TABLE orders_default PARTITION OF orders DEFAULT;
+
+DO $$
+DECLARE
+    first_day DATE;
+BEGIN
+    FOR first_day IN SELECT generate_series(
+                                date_trunc('month', COALESCE((SELECT MIN(created_at) FROM orders_unpartitioned), LOCALTIMESTAMP)),
+                                date_trunc('month', LOCALTIMESTAMP) + INTERVAL '3 months',
+                                INTERVAL '1 month')::date
+    LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF orders FOR VALUES FROM (%L) TO (%L)',
+                       'orders_p' || to_char(first_day, 'YYYY_MM'), first_day, (first_day + INTERVAL '1 month')::date);
+    END LOOP;
+END $$;
+
+INSERT INTO orders (id, user_id, total_amount, status, created_at, updated_at)
+SELECT id, user_id, total_amount, status, COALESCE(created_at, updated_at, LOCALTIMESTAMP), updated_at
+FROM orders_unpartitioned;
+
+DROP TABLE orders_unpartitioned;
+
+-- Same shape as orders, so a month detached from orders is attached here as is, without copying its rows
+CREATE TABLE orders_archive (
+    id           BIGINT       NOT NULL,
+    user_id      VARCHAR(255),
+    total_amount NUMERIC(38, 2),
+    status       VARCHAR(255),
+    created_at   TIMESTAMP(6) NOT NULL,
+    updated_at   TIMESTAMP(6),
+    CONSTRAINT pk_orders_archive PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Items of archived months, moved out of order_item_entity in the same transaction as their orders
+CREATE TABLE order_items_archive (
+    id         BIGINT NOT NULL PRIMARY KEY,
+    order_id   BIGINT NOT NULL,
+    product_id VARCHAR(255),
+    quantity   INTEGER,
+    price      NUMERIC(38, 2)
+);
+
+CREATE INDEX idx_order_items_archive_order_id ON order_items_archive (order_id);
@@ -0,0 +1,2 @@
+-- Lets the abandoned-cart purge walk stale lines in (updated_at, id) order without reading fresh carts
+CREATE INDEX IF NOT EXISTS idx_cart_items_updated_at ON cart_items (updated_at, id);
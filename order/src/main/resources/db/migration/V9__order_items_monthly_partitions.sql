@@ -0,0 +1,99 @@
+-- order_item_entity is partitioned by month like orders (V7), on its order's created_at, copied onto the item as
+-- order_created_at. Every orders partition has an item partition with the same bounds, named after it
+-- (orders_pYYYY_MM -> order_item_entity_pYYYY_MM, orders_default -> order_item_entity_default), and a foreign key
+-- from the item partition to the orders partition. OrderPartitionMaintenance creates, detaches and attaches the two
+-- together, so archiving a month moves no rows and the key travels with it into orders_archive and
+-- order_items_archive.
+--
+-- The key is declared on each pair of partitions rather than on order_item_entity itself: a key referencing the
+-- partitioned orders would stop a month from being detached while its items point at it. order_created_at is
+-- therefore fixed when the order is written and never changes; an order cannot move to another month.
+--
+-- Items are still looked up by order_id alone (findWithItemsById, the history and export joins); those probe the
+-- order_id index of every item partition, as lookups by id probe every orders partition.
+
+ALTER TABLE order_item_entity RENAME TO order_item_entity_unpartitioned;
+ALTER INDEX IF EXISTS order_item_entity_pkey RENAME TO order_item_entity_unpartitioned_pkey;
+DROP INDEX IF EXISTS idx_order_item_entity_order_id;
+
+CREATE TABLE order_item_entity (
+    id               BIGINT       NOT NULL,
+    order_id         BIGINT       NOT NULL,
+    order_created_at TIMESTAMP(6) NOT NULL,
+    product_id       VARCHAR(255),
+    quantity         INTEGER,
+    price            NUMERIC(38, 2),
+    CONSTRAINT pk_order_item_entity PRIMARY KEY (id, order_created_at)
+) PARTITION BY RANGE (order_created_at);
+
+CREATE INDEX idx_order_item_entity_order_id ON order_item_entity (order_id);
+
+-- Same shape, so that a month detached from order_item_entity is attached here as is
+ALTER TABLE order_items_archive RENAME TO order_items_archive_unpartitioned;
+ALTER INDEX IF EXISTS order_items_archive_pkey RENAME TO order_items_archive_unpartitioned_pkey;
+DROP INDEX IF EXISTS idx_order_items_archive_order_id;
+
+CREATE TABLE order_items_archive (
+    id               BIGINT       NOT NULL,
+    order_id         BIGINT       NOT NULL,
+    order_created_at TIMESTAMP(6) NOT NULL,
+    product_id       VARCHAR(255),
+    quantity         INTEGER,
+    price            NUMERIC(38, 2),
+    CONSTRAINT pk_order_items_archive PRIMARY KEY (id, order_created_at)
+) PARTITION BY RANGE (order_created_at);
+
+CREATE INDEX idx_order_items_archive_order_id ON order_items_archive (order_id);
+
+-- One item partition per orders partition, live and archived, with the same bounds
+DO $$
+DECLARE
+    part record;
+BEGIN
+    FOR part IN SELECT c.relname AS orders_partition,
+                       'order_item_entity' || substr(c.relname, length('orders') + 1) AS items_partition,
+                       CASE p.relname WHEN 'orders' THEN 'order_item_entity' ELSE 'order_items_archive' END AS items_parent,
+                       pg_get_expr(c.relpartbound, c.oid) AS bounds
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                WHERE p.relname IN ('orders', 'orders_archive')
+    LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF %I %s', part.items_partition, part.items_parent, part.bounds);
+    END LOOP;
+END $$;
+
+INSERT INTO order_item_entity (id, order_id, order_created_at, product_id, quantity, price)
+SELECT i.id, i.order_id, o.created_at, i.product_id, i.quantity, i.price
+FROM order_item_entity_unpartitioned i JOIN orders o ON o.id = i.order_id;
+
+INSERT INTO order_items_archive (id, order_id, order_created_at, product_id, quantity, price)
+SELECT i.id, i.order_id, o.created_at, i.product_id, i.quantity, i.price
+FROM order_items_archive_unpartitioned i JOIN orders_archive o ON o.id = i.order_id;
+
+-- Items whose order no longer exists (possible since V7 dropped the key) cannot be placed in a month; they are
+-- kept aside rather than lost
+CREATE TABLE order_items_orphaned AS
+SELECT i.* FROM order_item_entity_unpartitioned i WHERE NOT EXISTS (SELECT 1 FROM orders o WHERE o.id = i.order_id)
+UNION ALL
+SELECT a.* FROM order_items_archive_unpartitioned a WHERE NOT EXISTS (SELECT 1 FROM orders_archive o WHERE o.id = a.order_id);
+
+DROP TABLE order_item_entity_unpartitioned;
+DROP TABLE order_items_archive_unpartitioned;
+
+-- Keys are added once the rows are in, so each is validated in one pass
+DO $$
+DECLARE
+    part record;
+BEGIN
+    FOR part IN SELECT c.relname AS orders_partition,
+                       'order_item_entity' || substr(c.relname, length('orders') + 1) AS items_partition
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                WHERE p.relname IN ('orders', 'orders_archive')
+    LOOP
+        EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I FOREIGN KEY (order_id, order_created_at) REFERENCES %I (id, created_at)',
+                       part.items_partition, 'fk_' || part.items_partition, part.orders_partition);
+    END LOOP;
+END $$;
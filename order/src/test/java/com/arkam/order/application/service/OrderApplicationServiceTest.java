@@ -2,28 +2,62 @@ package com.arkam.order.application.service;
 
 import com.arkam.order.application.dto.CartItemRequest;
 import com.arkam.order.application.dto.CartItemResponse;
+import com.arkam.order.application.dto.CartItemResult;
+import com.arkam.order.application.dto.CartItemStatus;
+import com.arkam.order.application.dto.OrderStatusResult;
 import com.arkam.order.application.dto.ProductResponse;
-import com.arkam.order.application.dto.UserResponse;
+import com.arkam.order.application.dto.StatusUpdateOutcome;
+import com.arkam.order.application.port.out.CartChangedException;
 import com.arkam.order.application.port.out.CartItemRepositoryPort;
+import com.arkam.order.application.port.out.OrderExportPort;
 import com.arkam.order.application.port.out.OrderRepositoryPort;
 import com.arkam.order.application.port.out.ProductServicePort;
 import com.arkam.order.application.port.out.UserServicePort;
+import com.arkam.order.clients.ProductServiceClient;
 import com.arkam.order.domain.model.CartItem;
+import com.arkam.order.domain.model.CartSummary;
+import com.arkam.order.domain.model.Money;
 import com.arkam.order.domain.model.Order;
+import com.arkam.order.domain.model.OrderCursor;
+import com.arkam.order.domain.model.OrderStatus;
+import com.arkam.order.infrastructure.adapter.out.HedgingPolicy;
+import com.arkam.order.infrastructure.adapter.out.ProductServiceAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
-import java.util.Optional;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class OrderApplicationServiceTest {
@@ -34,18 +68,27 @@ class OrderApplicationServiceTest {
     @Mock
     private OrderRepositoryPort orderRepository;
 
+    @Mock
+    private OrderExportPort orderExport;
+
     @Mock
     private ProductServicePort productService;
 
     @Mock
     private UserServicePort userService;
 
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nextCartItemId = new AtomicLong();
+
     @InjectMocks
     private OrderApplicationService orderApplicationService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(productService.confirmStock(anyString())).thenReturn(Mono.empty());
+        ReflectionTestUtils.setField(orderApplicationService, "lookupDeadline", Duration.ofSeconds(1));
     }
 
     @Test
@@ -54,25 +97,169 @@ class OrderApplicationServiceTest {
         request.setProductId("prod1");
         request.setQuantity(1);
 
-        UserResponse user = new UserResponse();
-        user.setId("user1");
-
         ProductResponse product = new ProductResponse();
         product.setPrice(BigDecimal.valueOf(100.0));
+        product.setStockQuantity(10);
 
-        CartItem cartItem = new CartItem();
-        cartItem.setId(1L);
-
-        when(userService.getUserDetails("user1")).thenReturn(Mono.just(user));
+        when(userService.exists("user1")).thenReturn(Mono.just(true));
         when(productService.getProductDetails("prod1")).thenReturn(Mono.just(product));
-        when(cartItemRepository.findByUserIdAndProductId("user1", "prod1")).thenReturn(Mono.just(Optional.empty()));
-        when(cartItemRepository.save(any(CartItem.class))).thenReturn(Mono.just(cartItem));
+        when(cartItemRepository.upsertQuantity(any(CartItem.class))).thenReturn(Mono.empty());
 
         Mono<Boolean> result = orderApplicationService.addToCart("user1", request);
 
         StepVerifier.create(result)
                 .expectNext(true)
                 .verifyComplete();
+
+        ArgumentCaptor<CartItem> captor = ArgumentCaptor.forClass(CartItem.class);
+        verify(cartItemRepository).upsertQuantity(captor.capture());
+        assertEquals("user1", captor.getValue().getUserId());
+        assertEquals("prod1", captor.getValue().getProductId());
+        assertEquals(1, captor.getValue().getQuantity());
+        assertEquals(Money.of(BigDecimal.valueOf(100.0)), captor.getValue().getPrice());
+        verify(cartItemRepository, never()).findByUserIdAndProductId(anyString(), anyString());
+
+        assertEquals(1, useCaseCount("add-to-cart", "success"));
+        assertEquals(1, downstreamCount("user-service", "exists", "success"));
+        assertEquals(1, downstreamCount("product-service", "get-product", "success"));
+        assertEquals(1, downstreamCount("database", "upsert-quantity", "success"));
+    }
+
+    @Test
+    void testAddToCartInsufficientStock() {
+        CartItemRequest request = new CartItemRequest();
+        request.setProductId("prod1");
+        request.setQuantity(5);
+
+        ProductResponse product = new ProductResponse();
+        product.setPrice(BigDecimal.valueOf(100.0));
+        product.setStockQuantity(2);
+
+        when(userService.exists("user1")).thenReturn(Mono.just(true));
+        when(productService.getProductDetails("prod1")).thenReturn(Mono.just(product));
+
+        StepVerifier.create(orderApplicationService.addToCart("user1", request))
+                .expectNext(false)
+                .verifyComplete();
+
+        verify(cartItemRepository, never()).upsertQuantity(any(CartItem.class));
+        assertEquals(1, useCaseCount("add-to-cart", "out-of-stock"));
+    }
+
+    @Test
+    void testAddToCartRejectsInactiveProductAndProductWithoutStock() {
+        CartItemRequest request = new CartItemRequest();
+        request.setProductId("prod1");
+        request.setQuantity(1);
+
+        ProductResponse inactive = new ProductResponse();
+        inactive.setPrice(BigDecimal.valueOf(100.0));
+        inactive.setStockQuantity(10);
+        inactive.setActive(false);
+        ProductResponse withoutStock = new ProductResponse();
+        withoutStock.setPrice(BigDecimal.valueOf(100.0));
+
+        when(userService.exists("user1")).thenReturn(Mono.just(true));
+        when(productService.getProductDetails("prod1")).thenReturn(Mono.just(inactive), Mono.just(withoutStock));
+
+        StepVerifier.create(orderApplicationService.addToCart("user1", request)).expectNext(false).verifyComplete();
+        StepVerifier.create(orderApplicationService.addToCart("user1", request)).expectNext(false).verifyComplete();
+
+        verify(cartItemRepository, never()).upsertQuantity(any(CartItem.class));
+        assertEquals(2, useCaseCount("add-to-cart", "product-unavailable"));
+    }
+
+    @Test
+    void testAddToCartFailureReasonsAreTaggedSeparately() {
+        CartItemRequest request = new CartItemRequest();
+        request.setProductId("prod1");
+        request.setQuantity(1);
+        when(userService.exists("user1")).thenReturn(Mono.just(true));
+        when(userService.exists("user2")).thenReturn(Mono.error(new IllegalStateException("user-service down")));
+        when(productService.getProductDetails("prod1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(orderApplicationService.addToCart("user1", request)).expectNext(false).verifyComplete();
+        StepVerifier.create(orderApplicationService.addToCart("user2", request)).expectNext(false).verifyComplete();
+
+        assertEquals(1, useCaseCount("add-to-cart", "product-not-found"));
+        assertEquals(1, useCaseCount("add-to-cart", "error"));
+        assertEquals(1, downstreamCount("user-service", "exists", "error"));
+    }
+
+    @Test
+    void testAddToCartTagsProductServiceNotFoundAsProductNotFound() {
+        CartItemRequest request = new CartItemRequest();
+        request.setProductId("prod1");
+        request.setQuantity(1);
+        ProductServiceClient productServiceClient = mock(ProductServiceClient.class);
+        when(productServiceClient.getProductDetails("prod1")).thenReturn(Mono.error(
+                WebClientResponseException.create(404, "Not Found", HttpHeaders.EMPTY, new byte[0], null)));
+        ReflectionTestUtils.setField(orderApplicationService, "productService", new ProductServiceAdapter(
+                productServiceClient, new HedgingPolicy(meterRegistry, false, 0.95, Duration.ofMillis(20), Duration.ofMillis(100))));
+        when(userService.exists("user1")).thenReturn(Mono.just(true));
+
+        StepVerifier.create(orderApplicationService.addToCart("user1", request)).expectNext(false).verifyComplete();
+
+        verify(cartItemRepository, never()).upsertQuantity(any(CartItem.class));
+        assertEquals(1, useCaseCount("add-to-cart", "product-not-found"));
+        assertNull(meterRegistry.find(OrderApplicationService.USE_CASE_TIMER).tag("outcome", "error").timer());
+    }
+
+    @Test
+    void testAddToCartUnknownUser() {
+        CartItemRequest request = new CartItemRequest();
+        request.setProductId("prod1");
+        request.setQuantity(1);
+
+        when(userService.exists("ghost")).thenReturn(Mono.just(false));
+        when(productService.getProductDetails("prod1")).thenReturn(Mono.just(new ProductResponse()));
+
+        StepVerifier.create(orderApplicationService.addToCart("ghost", request))
+                .expectNext(false)
+                .verifyComplete();
+
+        verify(cartItemRepository, never()).upsertQuantity(any(CartItem.class));
+        assertEquals(1, useCaseCount("add-to-cart", "user-not-found"));
+    }
+
+    @Test
+    void testAddToCartLooksUpUserAndProductConcurrently() {
+        CartItemRequest request = new CartItemRequest();
+        request.setProductId("prod1");
+        request.setQuantity(1);
+
+        ProductResponse product = new ProductResponse();
+        product.setPrice(BigDecimal.valueOf(100.0));
+        product.setStockQuantity(10);
+
+        when(userService.exists("user1")).thenReturn(Mono.delay(Duration.ofMillis(300)).thenReturn(true));
+        when(productService.getProductDetails("prod1")).thenReturn(Mono.delay(Duration.ofMillis(300)).thenReturn(product));
+        when(cartItemRepository.upsertQuantity(any(CartItem.class))).thenReturn(Mono.empty());
+
+        Duration elapsed = StepVerifier.create(orderApplicationService.addToCart("user1", request))
+                .expectNext(true)
+                .verifyComplete();
+
+        assertTrue(elapsed.compareTo(Duration.ofMillis(550)) < 0, "took " + elapsed);
+    }
+
+    @Test
+    void testAddToCartGivesUpAtDeadline() {
+        CartItemRequest request = new CartItemRequest();
+        request.setProductId("prod1");
+        request.setQuantity(1);
+
+        when(userService.exists("user1")).thenReturn(Mono.just(true));
+        when(productService.getProductDetails("prod1")).thenReturn(Mono.never());
+
+        StepVerifier.withVirtualTime(() -> orderApplicationService.addToCart("user1", request))
+                .thenAwait(Duration.ofSeconds(1))
+                .expectNext(false)
+                .verifyComplete();
+
+        verify(cartItemRepository, never()).upsertQuantity(any(CartItem.class));
+        assertEquals(1, useCaseCount("add-to-cart", "timeout"));
+        assertEquals(1, downstreamCount("product-service", "get-product", "cancelled"));
     }
 
     @Test
@@ -89,19 +276,33 @@ class OrderApplicationServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    void testGetCartSummary() {
+        when(cartItemRepository.summarize("user1"))
+                .thenReturn(Mono.just(new CartSummary(2, 3, Money.of(new BigDecimal("210.00")))));
+
+        StepVerifier.create(orderApplicationService.getCartSummary("user1"))
+                .expectNextMatches(summary -> summary.getLines() == 2 && summary.getQuantity() == 3
+                        && summary.getTotal().compareTo(new BigDecimal("210.00")) == 0)
+                .verifyComplete();
+        verify(cartItemRepository, never()).findByUserId(anyString());
+        assertEquals(1, downstreamCount("database", "summarize-cart", "success"));
+    }
+
     @Test
     void testCreateOrder() {
         CartItem cartItem = new CartItem();
-        cartItem.setProductId("prod1");
+        cartItem.setProductId("1");
         cartItem.setQuantity(1);
-        cartItem.setPrice(BigDecimal.valueOf(100.0));
+        cartItem.setPrice(Money.of(BigDecimal.valueOf(100.0)));
 
         Order order = new Order();
         order.setId(1L);
 
         when(cartItemRepository.findByUserId("user1")).thenReturn(Flux.just(cartItem));
-        when(orderRepository.save(any(Order.class))).thenReturn(Mono.just(order));
-        when(cartItemRepository.deleteByUserId("user1")).thenReturn(Mono.empty());
+        when(productService.getProducts(Set.of("1"))).thenReturn(Flux.just(product(1L, 100.0, 5)));
+        when(productService.reserveStock(anyString(), eq(Map.of("1", 1)))).thenReturn(Mono.just(true));
+        when(orderRepository.placeOrder(any(Order.class), anyMap())).thenReturn(Mono.just(order));
 
         Mono<com.arkam.order.application.dto.OrderResponse> result = orderApplicationService.createOrder("user1");
 
@@ -109,4 +310,288 @@ class OrderApplicationServiceTest {
                 .expectNextMatches(response -> response.getId().equals(1L))
                 .verifyComplete();
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCreateOrderRemovesOnlyTheCartLinesItRead() {
+        CartItem first = cartItem("1", 2, 100.0);
+        first.setId(11L);
+        CartItem second = cartItem("2", 1, 10.0);
+        second.setId(12L);
+        when(cartItemRepository.findByUserId("user1")).thenReturn(Flux.just(first, second));
+        when(productService.getProducts(Set.of("1", "2")))
+                .thenReturn(Flux.just(product(1L, 100.0, 5), product(2L, 10.0, 5)));
+        when(productService.reserveStock(anyString(), eq(Map.of("1", 2, "2", 1)))).thenReturn(Mono.just(true));
+        when(orderRepository.placeOrder(any(Order.class), anyMap()))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(orderApplicationService.createOrder("user1")).expectNextCount(1).verifyComplete();
+
+        verify(orderRepository).placeOrder(any(Order.class), eq(Map.of(11L, 2, 12L, 1)));
+    }
+
+    @Test
+    void testCreateOrderOnChangedCartReleasesStockAndRejects() {
+        when(cartItemRepository.findByUserId("user1")).thenReturn(Flux.just(cartItem("1", 2, 100.0)));
+        when(productService.getProducts(Set.of("1"))).thenReturn(Flux.just(product(1L, 100.0, 5)));
+        when(productService.reserveStock(anyString(), eq(Map.of("1", 2)))).thenReturn(Mono.just(true));
+        when(productService.releaseStock(anyString(), eq(Map.of("1", 2)))).thenReturn(Mono.empty());
+        when(orderRepository.placeOrder(any(Order.class), anyMap()))
+                .thenReturn(Mono.error(new CartChangedException("user1")));
+
+        StepVerifier.create(orderApplicationService.createOrder("user1")).verifyComplete();
+
+        verify(productService).releaseStock(anyString(), eq(Map.of("1", 2)));
+        assertEquals(1, useCaseCount("create-order", "cart-changed"));
+        assertTrue(meterRegistry.find(OrderApplicationService.ORDER_VALUE).summaries().isEmpty());
+    }
+
+    @Test
+    void testCreateOrderUsesCurrentPrices() {
+        when(cartItemRepository.findByUserId("user1")).thenReturn(Flux.just(cartItem("1", 2, 100.0), cartItem("2", 1, 10.0)));
+        when(productService.getProducts(Set.of("1", "2")))
+                .thenReturn(Flux.just(product(1L, 90.0, 5), product(2L, 10.0, 5)));
+        when(productService.reserveStock(anyString(), eq(Map.of("1", 2, "2", 1)))).thenReturn(Mono.just(true));
+        when(orderRepository.placeOrder(any(Order.class), anyMap())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(orderApplicationService.createOrder("user1"))
+                .expectNextMatches(response -> response.getTotalAmount().compareTo(BigDecimal.valueOf(190.0)) == 0)
+                .verifyComplete();
+        verify(productService, never()).getProductDetails(anyString());
+
+        assertEquals(1, useCaseCount("create-order", "success"));
+        assertEquals(2.0, meterRegistry.get(OrderApplicationService.CART_SIZE).summary().totalAmount());
+        assertEquals(190.0, meterRegistry.get(OrderApplicationService.ORDER_VALUE).tag("currency", "USD")
+                .summary().totalAmount());
+    }
+
+    @Test
+    void testCreateOrderFailureReasonsAreTaggedSeparately() {
+        when(cartItemRepository.findByUserId("empty")).thenReturn(Flux.empty());
+        when(cartItemRepository.findByUserId("short")).thenReturn(Flux.just(cartItem("1", 9, 100.0)));
+        when(cartItemRepository.findByUserId("raced")).thenReturn(Flux.just(cartItem("1", 2, 100.0)));
+        when(productService.getProducts(Set.of("1"))).thenReturn(Flux.just(product(1L, 100.0, 5)));
+        when(productService.reserveStock(anyString(), eq(Map.of("1", 2)))).thenReturn(Mono.just(false));
+
+        for (String userId : List.of("empty", "short", "raced")) {
+            StepVerifier.create(orderApplicationService.createOrder(userId)).verifyComplete();
+        }
+
+        assertEquals(1, useCaseCount("create-order", "empty-cart"));
+        assertEquals(1, useCaseCount("create-order", "product-unavailable"));
+        assertEquals(1, useCaseCount("create-order", "stock-rejected"));
+        assertEquals(2, meterRegistry.get(OrderApplicationService.CART_SIZE).summary().count());
+        assertTrue(meterRegistry.find(OrderApplicationService.ORDER_VALUE).summaries().isEmpty());
+    }
+
+    @Test
+    void testCreateOrderRejectsInsufficientStock() {
+        when(cartItemRepository.findByUserId("user1")).thenReturn(Flux.just(cartItem("1", 2, 100.0), cartItem("2", 3, 10.0)));
+        when(productService.getProducts(Set.of("1", "2")))
+                .thenReturn(Flux.just(product(1L, 100.0, 5), product(2L, 10.0, 2)));
+
+        StepVerifier.create(orderApplicationService.createOrder("user1"))
+                .verifyComplete();
+        verify(orderRepository, never()).placeOrder(any(Order.class), anyMap());
+    }
+
+    @Test
+    void testCreateOrderRejectsMissingProduct() {
+        when(cartItemRepository.findByUserId("user1")).thenReturn(Flux.just(cartItem("1", 1, 100.0), cartItem("9", 1, 10.0)));
+        when(productService.getProducts(Set.of("1", "9"))).thenReturn(Flux.just(product(1L, 100.0, 5)));
+
+        StepVerifier.create(orderApplicationService.createOrder("user1"))
+                .verifyComplete();
+        verify(orderRepository, never()).placeOrder(any(Order.class), anyMap());
+    }
+
+    @Test
+    void testCreateOrderRejectedWhenReservationFails() {
+        when(cartItemRepository.findByUserId("user1")).thenReturn(Flux.just(cartItem("1", 2, 100.0)));
+        when(productService.getProducts(Set.of("1"))).thenReturn(Flux.just(product(1L, 100.0, 5)));
+        when(productService.reserveStock(anyString(), eq(Map.of("1", 2)))).thenReturn(Mono.just(false));
+
+        StepVerifier.create(orderApplicationService.createOrder("user1"))
+                .verifyComplete();
+        verify(orderRepository, never()).placeOrder(any(Order.class), anyMap());
+    }
+
+    @Test
+    void testCreateOrderReleasesStockWhenOrderFails() {
+        when(cartItemRepository.findByUserId("user1")).thenReturn(Flux.just(cartItem("1", 2, 100.0)));
+        when(productService.getProducts(Set.of("1"))).thenReturn(Flux.just(product(1L, 100.0, 5)));
+        when(productService.reserveStock(anyString(), eq(Map.of("1", 2)))).thenReturn(Mono.just(true));
+        when(productService.releaseStock(anyString(), eq(Map.of("1", 2)))).thenReturn(Mono.empty());
+        when(orderRepository.placeOrder(any(Order.class), anyMap())).thenReturn(Mono.error(new IllegalStateException("db down")));
+
+        StepVerifier.create(orderApplicationService.createOrder("user1"))
+                .expectError(IllegalStateException.class)
+                .verify();
+        ArgumentCaptor<String> reserved = ArgumentCaptor.forClass(String.class);
+        verify(productService).reserveStock(reserved.capture(), eq(Map.of("1", 2)));
+        verify(productService).releaseStock(reserved.getValue(), Map.of("1", 2));
+        verify(productService, never()).confirmStock(anyString());
+        assertEquals(1, useCaseCount("create-order", "error"));
+        assertEquals(1, downstreamCount("database", "place-order", "error"));
+        assertEquals(1, downstreamCount("product-service", "release-stock", "success"));
+    }
+
+    @Test
+    void testCreateOrderConfirmsAndReleasesTheReservationItMade() {
+        when(cartItemRepository.findByUserId("user1")).thenReturn(Flux.just(cartItem("1", 2, 100.0)));
+        when(productService.getProducts(Set.of("1"))).thenReturn(Flux.just(product(1L, 100.0, 5)));
+        when(productService.reserveStock(anyString(), eq(Map.of("1", 2)))).thenReturn(Mono.just(true));
+        when(orderRepository.placeOrder(any(Order.class), anyMap())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(orderApplicationService.createOrder("user1")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(orderApplicationService.createOrder("user1")).expectNextCount(1).verifyComplete();
+
+        ArgumentCaptor<String> reserved = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> confirmed = ArgumentCaptor.forClass(String.class);
+        verify(productService, times(2)).reserveStock(reserved.capture(), eq(Map.of("1", 2)));
+        verify(productService, times(2)).confirmStock(confirmed.capture());
+        assertEquals(reserved.getAllValues(), confirmed.getAllValues());
+        assertNotEquals(reserved.getAllValues().get(0), reserved.getAllValues().get(1));
+    }
+
+    @Test
+    void testCreateOrderSucceedsWhenConfirmationFails() {
+        when(cartItemRepository.findByUserId("user1")).thenReturn(Flux.just(cartItem("1", 2, 100.0)));
+        when(productService.getProducts(Set.of("1"))).thenReturn(Flux.just(product(1L, 100.0, 5)));
+        when(productService.reserveStock(anyString(), eq(Map.of("1", 2)))).thenReturn(Mono.just(true));
+        when(productService.confirmStock(anyString())).thenReturn(Mono.error(new IllegalStateException("product-service down")));
+        when(orderRepository.placeOrder(any(Order.class), anyMap())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(orderApplicationService.createOrder("user1")).expectNextCount(1).verifyComplete();
+
+        verify(productService, never()).releaseStock(anyString(), anyMap());
+        assertEquals(1, useCaseCount("create-order", "success"));
+        assertEquals(1, downstreamCount("product-service", "confirm-stock", "error"));
+    }
+
+    @Test
+    void testAddAllToCartLooksUpOnceAndUpsertsInOneBatch() {
+        when(userService.exists("user1")).thenReturn(Mono.just(true));
+        when(productService.getProducts(Set.of("1", "2", "3"))).thenReturn(Flux.just(product(1L, 10.0, 5), product(2L, 20.0, 1)));
+        when(cartItemRepository.upsertQuantities(anyString(), any())).thenReturn(Mono.empty());
+
+        List<CartItemResult> results = orderApplicationService.addAllToCart("user1", List.of(
+                cartItemRequest("1", 2), cartItemRequest("2", 3), cartItemRequest("3", 1),
+                cartItemRequest("1", 1), cartItemRequest("4", 0))).block();
+
+        assertEquals(List.of(
+                new CartItemResult("4", 0, CartItemStatus.INVALID_REQUEST),
+                new CartItemResult("1", 3, CartItemStatus.ADDED),
+                new CartItemResult("2", 3, CartItemStatus.OUT_OF_STOCK),
+                new CartItemResult("3", 1, CartItemStatus.PRODUCT_NOT_FOUND)), results);
+        ArgumentCaptor<List<CartItem>> captor = ArgumentCaptor.forClass(List.class);
+        verify(cartItemRepository).upsertQuantities(eq("user1"), captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals(3, captor.getValue().get(0).getQuantity());
+        assertEquals(Money.of(BigDecimal.valueOf(10.0)), captor.getValue().get(0).getPrice());
+    }
+
+    @Test
+    void testAddAllToCartUnknownUser() {
+        when(userService.exists("ghost")).thenReturn(Mono.just(false));
+        when(productService.getProducts(Set.of("1"))).thenReturn(Flux.just(product(1L, 10.0, 5)));
+
+        StepVerifier.create(orderApplicationService.addAllToCart("ghost", List.of(cartItemRequest("1", 1))))
+                .verifyComplete();
+        verify(cartItemRepository, never()).upsertQuantities(anyString(), any());
+    }
+
+    @Test
+    void testGetOrdersReturnsCursorThatResumesAfterLastOrder() {
+        LocalDateTime now = LocalDateTime.now();
+        Order newest = order(3L, now);
+        Order middle = order(2L, now.minusMinutes(1));
+        Order oldest = order(1L, now.minusMinutes(2));
+        when(orderRepository.findByUserId(eq("user1"), isNull(), eq(3))).thenReturn(Flux.just(newest, middle, oldest));
+        when(orderRepository.findByUserId("user1", OrderCursor.of(middle), 3)).thenReturn(Flux.just(oldest));
+
+        String cursor = orderApplicationService.getOrders("user1", null, 2).block().getNextCursor();
+
+        StepVerifier.create(orderApplicationService.getOrders("user1", cursor, 2))
+                .assertNext(page -> {
+                    assertEquals(1, page.getItems().size());
+                    assertEquals(1L, page.getItems().get(0).getId());
+                    assertNull(page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetOrdersRejectsMalformedCursor() {
+        StepVerifier.create(orderApplicationService.getOrders("user1", "not-a-cursor", 20))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        assertEquals(1, useCaseCount("get-orders", "invalid-request"));
+    }
+
+    @Test
+    void testGetOrderOfAnotherUserIsEmpty() {
+        when(orderRepository.findById(1L)).thenReturn(Mono.just(order(1L, LocalDateTime.now())));
+
+        StepVerifier.create(orderApplicationService.getOrder("user2", 1L))
+                .verifyComplete();
+    }
+
+    @Test
+    void testUpdateStatusReportsOutcomePerId() {
+        List<Long> ids = List.of(1L, 2L, 3L, 4L);
+        when(orderRepository.updateStatus(ids, Set.of(OrderStatus.CONFIRMED), OrderStatus.SHIPPED))
+                .thenReturn(Mono.just(Map.of(1L, OrderStatus.CONFIRMED, 2L, OrderStatus.SHIPPED, 3L, OrderStatus.PENDING)));
+
+        StepVerifier.create(orderApplicationService.updateStatus(ids, OrderStatus.SHIPPED))
+                .expectNext(List.of(
+                        new OrderStatusResult(1L, OrderStatus.CONFIRMED, StatusUpdateOutcome.UPDATED),
+                        new OrderStatusResult(2L, OrderStatus.SHIPPED, StatusUpdateOutcome.UNCHANGED),
+                        new OrderStatusResult(3L, OrderStatus.PENDING, StatusUpdateOutcome.INVALID_TRANSITION),
+                        new OrderStatusResult(4L, null, StatusUpdateOutcome.NOT_FOUND)))
+                .verifyComplete();
+    }
+
+    private CartItemRequest cartItemRequest(String productId, int quantity) {
+        CartItemRequest request = new CartItemRequest();
+        request.setProductId(productId);
+        request.setQuantity(quantity);
+        return request;
+    }
+
+    private Order order(Long id, LocalDateTime createdAt) {
+        Order order = new Order();
+        order.setId(id);
+        order.setUserId("user1");
+        order.setCreatedAt(createdAt);
+        return order;
+    }
+
+    private CartItem cartItem(String productId, int quantity, double price) {
+        CartItem cartItem = new CartItem();
+        cartItem.setId(nextCartItemId.incrementAndGet());
+        cartItem.setUserId("user1");
+        cartItem.setProductId(productId);
+        cartItem.setQuantity(quantity);
+        cartItem.setPrice(Money.of(BigDecimal.valueOf(price)));
+        return cartItem;
+    }
+
+    private ProductResponse product(Long id, double price, int stock) {
+        ProductResponse product = new ProductResponse();
+        product.setId(id);
+        product.setPrice(BigDecimal.valueOf(price));
+        product.setStockQuantity(stock);
+        product.setActive(true);
+        return product;
+    }
+
+    private double useCaseCount(String useCase, String outcome) {
+        return meterRegistry.get(OrderApplicationService.USE_CASE_TIMER)
+                .tag("usecase", useCase).tag("outcome", outcome).timer().count();
+    }
+
+    private double downstreamCount(String dependency, String call, String outcome) {
+        return meterRegistry.get(OrderApplicationService.DOWNSTREAM_TIMER)
+                .tag("dependency", dependency).tag("call", call).tag("outcome", outcome).timer().count();
+    }
+}
@@ -0,0 +1,88 @@
+package com.arkam.order.application.service;
+
+import com.arkam.order.application.dto.OrderResponse;
+import com.arkam.order.domain.model.CartItem;
+import com.arkam.order.domain.model.Money;
+import com.arkam.order.domain.model.Order;
+import com.arkam.order.domain.model.OrderItem;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The response side of the order API: OrderApplicationService's DTO mappers (package-private, hence this package)
+ * and Jackson serialization of the result with Spring's default ObjectMapper settings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderResponseBenchmark {
+
+    @Param({"3", "10", "40"})
+    private int lines;
+
+    // The mappers touch no collaborators
+    private final OrderApplicationService service = new OrderApplicationService(null, null, null, null, null, null);
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Order order;
+    private List<CartItem> cart;
+    private OrderResponse response;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderItem> items = new ArrayList<>(lines);
+        cart = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            Money price = Money.of(BigDecimal.valueOf(1999 + i * 37L, 2));
+            items.add(new OrderItem((long) i, "prod-" + i, 1 + i % 4, price));
+            CartItem cartItem = new CartItem();
+            cartItem.setId((long) i);
+            cartItem.setProductId("prod-" + i);
+            cartItem.setQuantity(1 + i % 4);
+            cartItem.setPrice(price);
+            cart.add(cartItem);
+        }
+        order = new Order();
+        order.setId(1L);
+        order.setUserId("user-1");
+        order.setItems(items);
+        order.calculateTotalAmount();
+        order.setCreatedAt(now);
+        response = service.mapToOrderResponse(order);
+    }
+
+    @Benchmark
+    public OrderResponse mapOrderResponse() {
+        return service.mapToOrderResponse(order);
+    }
+
+    @Benchmark
+    public void mapCartResponse(Blackhole blackhole) {
+        for (CartItem cartItem : cart) {
+            blackhole.consume(service.mapToCartItemResponse(cartItem));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeOrderResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeOrderResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(service.mapToOrderResponse(order));
+    }
+}
@@ -0,0 +1,71 @@
+package com.arkam.order.benchmark;
+
+import com.arkam.order.domain.model.Money;
+import com.arkam.order.domain.model.Order;
+import com.arkam.order.domain.model.OrderItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order total over a cart-sized list of lines: the previous BigDecimal stream (reproduced here) against
+ * {@link Order#calculateTotalAmount()} on {@link Money}, plus the conversion paid at the edges.
+ * Run with {@code mvn -Pbenchmark test -Djmh.args="MoneyBenchmark -prof gc"}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    @Param({"5", "40"})
+    private int lines;
+
+    private List<LegacyLine> legacyLines;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        legacyLines = new ArrayList<>(lines);
+        List<OrderItem> items = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            BigDecimal price = BigDecimal.valueOf(1999 + i * 37L, 2);
+            legacyLines.add(new LegacyLine(price, 1 + i % 4));
+            items.add(new OrderItem((long) i, "prod-" + i, 1 + i % 4, Money.of(price)));
+        }
+        order = new Order();
+        order.setItems(items);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalStreamTotal() {
+        return legacyLines.stream()
+                .map(LegacyLine::getTotalPrice)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public Money moneyTotal() {
+        order.calculateTotalAmount();
+        return order.getTotalAmount();
+    }
+
+    @Benchmark
+    public BigDecimal moneyTotalToBigDecimal() {
+        order.calculateTotalAmount();
+        return order.getTotalAmount().toBigDecimal();
+    }
+
+    // OrderItem as it was before Money
+    private record LegacyLine(BigDecimal price, Integer quantity) {
+
+        BigDecimal getTotalPrice() {
+            return price != null && quantity != null ? price.multiply(BigDecimal.valueOf(quantity)) : BigDecimal.ZERO;
+        }
+    }
+}
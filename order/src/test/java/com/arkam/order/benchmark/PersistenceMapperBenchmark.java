@@ -0,0 +1,94 @@
+package com.arkam.order.benchmark;
+
+import com.arkam.order.domain.model.CartItem;
+import com.arkam.order.domain.model.Money;
+import com.arkam.order.domain.model.Order;
+import com.arkam.order.domain.model.OrderItem;
+import com.arkam.order.infrastructure.adapter.persistence.entity.CartItemEntity;
+import com.arkam.order.infrastructure.adapter.persistence.entity.OrderEntity;
+import com.arkam.order.infrastructure.adapter.persistence.mapper.CartItemPersistenceMapper;
+import com.arkam.order.infrastructure.adapter.persistence.mapper.OrderPersistenceMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Domain/entity mapping on every checkout, order read and cart read, at small, typical and large cart sizes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersistenceMapperBenchmark {
+
+    @Param({"3", "10", "40"})
+    private int lines;
+
+    private final OrderPersistenceMapper orderMapper = new OrderPersistenceMapper();
+    private final CartItemPersistenceMapper cartItemMapper = new CartItemPersistenceMapper();
+
+    private Order order;
+    private OrderEntity orderEntity;
+    private List<CartItem> cart;
+    private List<CartItemEntity> cartEntities;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderItem> items = new ArrayList<>(lines);
+        cart = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            Money price = Money.of(BigDecimal.valueOf(1999 + i * 37L, 2));
+            items.add(new OrderItem((long) i, "prod-" + i, 1 + i % 4, price));
+            CartItem cartItem = new CartItem();
+            cartItem.setId((long) i);
+            cartItem.setUserId("user-1");
+            cartItem.setProductId("prod-" + i);
+            cartItem.setQuantity(1 + i % 4);
+            cartItem.setPrice(price);
+            cartItem.setCreatedAt(now);
+            cartItem.setUpdatedAt(now);
+            cart.add(cartItem);
+        }
+        order = new Order();
+        order.setId(1L);
+        order.setUserId("user-1");
+        order.setItems(items);
+        order.calculateTotalAmount();
+        order.setCreatedAt(now);
+        order.setUpdatedAt(now);
+        orderEntity = orderMapper.toEntity(order);
+        cartEntities = cart.stream().map(cartItemMapper::toEntity).toList();
+    }
+
+    @Benchmark
+    public OrderEntity orderToEntity() {
+        return orderMapper.toEntity(order);
+    }
+
+    @Benchmark
+    public Order orderToDomain() {
+        return orderMapper.toDomain(orderEntity);
+    }
+
+    @Benchmark
+    public void cartToEntities(Blackhole blackhole) {
+        for (CartItem cartItem : cart) {
+            blackhole.consume(cartItemMapper.toEntity(cartItem));
+        }
+    }
+
+    @Benchmark
+    public void cartToDomain(Blackhole blackhole) {
+        for (CartItemEntity entity : cartEntities) {
+            blackhole.consume(cartItemMapper.toDomain(entity));
+        }
+    }
+}
@@ -11,10 +11,10 @@ class CartItemTest {
     @Test
     void testGetTotalPrice() {
         CartItem cartItem = new CartItem();
-        cartItem.setPrice(BigDecimal.valueOf(100.0));
+        cartItem.setPrice(Money.of(BigDecimal.valueOf(100.0)));
         cartItem.setQuantity(2);
 
-        assertEquals(BigDecimal.valueOf(200.0), cartItem.getTotalPrice());
+        assertEquals(Money.of(BigDecimal.valueOf(200.0)), cartItem.getTotalPrice());
     }
 
     @Test
@@ -23,7 +23,7 @@ class CartItemTest {
         cartItem.setUserId("user1");
         cartItem.setProductId("prod1");
         cartItem.setQuantity(1);
-        cartItem.setPrice(BigDecimal.valueOf(50.0));
+        cartItem.setPrice(Money.of(BigDecimal.valueOf(50.0)));
 
         assertTrue(cartItem.isValid());
     }
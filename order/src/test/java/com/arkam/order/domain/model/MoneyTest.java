@@ -0,0 +1,54 @@
+package com.arkam.order.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void testRoundTripThroughBigDecimal() {
+        Money money = Money.of(new BigDecimal("19.99"));
+
+        assertEquals(1999, money.minorUnits());
+        assertEquals(new BigDecimal("19.99"), money.toBigDecimal());
+    }
+
+    @Test
+    void testArithmeticIsExact() {
+        Money price = Money.of(new BigDecimal("0.10"));
+
+        assertEquals(new BigDecimal("0.30"), price.times(3).toBigDecimal());
+        assertEquals(new BigDecimal("0.20"), price.plus(price).toBigDecimal());
+    }
+
+    @Test
+    void testSubMinorUnitAmountsRoundHalfEven() {
+        assertEquals(1002, Money.of(new BigDecimal("10.025")).minorUnits());
+        assertEquals(1004, Money.of(new BigDecimal("10.035")).minorUnits());
+    }
+
+    @Test
+    void testOverflowFails() {
+        Money large = new Money(Long.MAX_VALUE / 2 + 1, Money.DEFAULT_CURRENCY);
+
+        assertThrows(ArithmeticException.class, () -> large.times(2));
+        assertThrows(ArithmeticException.class, () -> large.plus(large));
+    }
+
+    @Test
+    void testCurrenciesDoNotMix() {
+        Money euros = Money.of(BigDecimal.ONE, Currency.getInstance("EUR"));
+
+        assertThrows(IllegalArgumentException.class, () -> Money.ZERO.plus(euros));
+    }
+
+    @Test
+    void testNullEdges() {
+        assertNull(Money.ofNullable(null));
+        assertNull(Money.amountOrNull(null));
+    }
+}
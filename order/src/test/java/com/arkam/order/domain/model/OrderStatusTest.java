@@ -0,0 +1,41 @@
+package com.arkam.order.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderStatusTest {
+
+    @Test
+    void testForwardTransitions() {
+        assertTrue(OrderStatus.PENDING.canTransitionTo(OrderStatus.CONFIRMED));
+        assertTrue(OrderStatus.CONFIRMED.canTransitionTo(OrderStatus.SHIPPED));
+        assertTrue(OrderStatus.SHIPPED.canTransitionTo(OrderStatus.DELIVERED));
+    }
+
+    @Test
+    void testSkippingOrGoingBackIsRejected() {
+        assertFalse(OrderStatus.PENDING.canTransitionTo(OrderStatus.SHIPPED));
+        assertFalse(OrderStatus.SHIPPED.canTransitionTo(OrderStatus.CONFIRMED));
+        assertFalse(OrderStatus.CONFIRMED.canTransitionTo(OrderStatus.CONFIRMED));
+    }
+
+    @Test
+    void testTerminalStatesCannotMove() {
+        for (OrderStatus target : OrderStatus.values()) {
+            assertFalse(OrderStatus.DELIVERED.canTransitionTo(target));
+            assertFalse(OrderStatus.CANCELLED.canTransitionTo(target));
+        }
+    }
+
+    @Test
+    void testSourcesOf() {
+        assertEquals(Set.of(OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.SHIPPED),
+                OrderStatus.sourcesOf(OrderStatus.CANCELLED));
+        assertEquals(Set.of(OrderStatus.CONFIRMED), OrderStatus.sourcesOf(OrderStatus.SHIPPED));
+        assertEquals(EnumSet.noneOf(OrderStatus.class), OrderStatus.sourcesOf(OrderStatus.PENDING));
+    }
+}
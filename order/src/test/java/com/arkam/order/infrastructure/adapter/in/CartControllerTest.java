@@ -2,7 +2,11 @@ package com.arkam.order.infrastructure.adapter.in;
 
 import com.arkam.order.application.dto.CartItemRequest;
 import com.arkam.order.application.dto.CartItemResponse;
+import com.arkam.order.application.dto.CartItemResult;
+import com.arkam.order.application.dto.CartItemStatus;
+import com.arkam.order.application.dto.CartSummaryResponse;
 import com.arkam.order.application.port.in.AddToCartUseCase;
+import com.arkam.order.application.port.in.GetCartSummaryUseCase;
 import com.arkam.order.application.port.in.GetCartUseCase;
 import com.arkam.order.application.port.in.RemoveFromCartUseCase;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,11 +14,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.CacheControl;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
@@ -33,6 +43,9 @@ class CartControllerTest {
     @MockBean
     private GetCartUseCase getCartUseCase;
 
+    @MockBean
+    private GetCartSummaryUseCase getCartSummaryUseCase;
+
     private CartItemRequest cartItemRequest;
     private CartItemResponse cartItemResponse;
 
@@ -60,6 +73,38 @@ class CartControllerTest {
                 .expectBody(String.class).isEqualTo("Producto agregado al carrito exitosamente");
     }
 
+    @Test
+    void testGetCartSummaryCarriesETag() {
+        when(getCartSummaryUseCase.getCartSummary("user1"))
+                .thenReturn(Mono.just(new CartSummaryResponse(2, 3, new BigDecimal("210.00"))));
+
+        webTestClient.get()
+                .uri("/api/cart/summary")
+                .header("X-User-ID", "user1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"2-3-210.00\"")
+                .expectHeader().cacheControl(CacheControl.noCache().cachePrivate())
+                .expectBody()
+                .jsonPath("$.lines").isEqualTo(2)
+                .jsonPath("$.quantity").isEqualTo(3)
+                .jsonPath("$.total").isEqualTo(210.00);
+    }
+
+    @Test
+    void testGetCartSummaryUnchangedIsNotModified() {
+        when(getCartSummaryUseCase.getCartSummary("user1"))
+                .thenReturn(Mono.just(new CartSummaryResponse(2, 3, new BigDecimal("210.00"))));
+
+        webTestClient.get()
+                .uri("/api/cart/summary")
+                .header("X-User-ID", "user1")
+                .header("If-None-Match", "\"2-3-210.00\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
     @Test
     void testGetCart() {
         when(getCartUseCase.getCart("user1")).thenReturn(Flux.just(cartItemResponse));
@@ -83,4 +128,29 @@ class CartControllerTest {
                 .exchange()
                 .expectStatus().isNoContent();
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAddAllToCart() {
+        when(addToCartUseCase.addAllToCart(anyString(), anyList()))
+                .thenReturn(Mono.just(List.of(new CartItemResult("prod1", 1, CartItemStatus.ADDED))));
+
+        webTestClient.post()
+                .uri("/api/cart/batch")
+                .header("X-User-ID", "user1")
+                .bodyValue(List.of(cartItemRequest))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].status").isEqualTo("ADDED");
+    }
+
+    @Test
+    void testAddAllToCartRejectsOversizedBatch() {
+        webTestClient.post()
+                .uri("/api/cart/batch")
+                .header("X-User-ID", "user1")
+                .bodyValue(Collections.nCopies(CartController.MAX_BATCH_SIZE + 1, cartItemRequest))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}
@@ -0,0 +1,153 @@
+package com.arkam.order.infrastructure.adapter.in;
+
+import com.arkam.order.application.dto.OrderPageResponse;
+import com.arkam.order.application.dto.OrderResponse;
+import com.arkam.order.application.dto.OrderStatusResult;
+import com.arkam.order.application.dto.StatusUpdateOutcome;
+import com.arkam.order.application.port.in.CreateOrderUseCase;
+import com.arkam.order.application.port.in.ExportOrdersUseCase;
+import com.arkam.order.application.port.in.GetOrderUseCase;
+import com.arkam.order.application.port.in.GetOrdersUseCase;
+import com.arkam.order.application.port.in.UpdateOrderStatusUseCase;
+import com.arkam.order.domain.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(OrderController.class)
+class OrderControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private CreateOrderUseCase createOrderUseCase;
+
+    @MockBean
+    private GetOrdersUseCase getOrdersUseCase;
+
+    @MockBean
+    private GetOrderUseCase getOrderUseCase;
+
+    @MockBean
+    private ExportOrdersUseCase exportOrdersUseCase;
+
+    @MockBean
+    private UpdateOrderStatusUseCase updateOrderStatusUseCase;
+
+    @Test
+    void testGetOrders() {
+        OrderResponse order = new OrderResponse();
+        order.setId(1L);
+        when(getOrdersUseCase.getOrders("user1", null, 20))
+                .thenReturn(Mono.just(new OrderPageResponse(List.of(order), "next")));
+
+        webTestClient.get()
+                .uri("/api/orders")
+                .header("X-User-ID", "user1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[0].id").isEqualTo(1)
+                .jsonPath("$.nextCursor").isEqualTo("next");
+    }
+
+    @Test
+    void testGetOrdersWithInvalidCursor() {
+        when(getOrdersUseCase.getOrders("user1", "bad", 20))
+                .thenReturn(Mono.error(new IllegalArgumentException("Invalid order cursor: bad")));
+
+        webTestClient.get()
+                .uri("/api/orders?cursor=bad")
+                .header("X-User-ID", "user1")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testGetOrderNotFound() {
+        when(getOrderUseCase.getOrder("user1", 99L)).thenReturn(Mono.empty());
+
+        webTestClient.get()
+                .uri("/api/orders/99")
+                .header("X-User-ID", "user1")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testExportOrdersStreamsNdjson() {
+        OrderResponse first = new OrderResponse();
+        first.setId(1L);
+        OrderResponse second = new OrderResponse();
+        second.setId(2L);
+        when(exportOrdersUseCase.exportableFrom()).thenReturn(LocalDateTime.of(2023, 1, 1, 0, 0));
+        when(exportOrdersUseCase.exportOrders(LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 2, 1, 0, 0)))
+                .thenReturn(Flux.just(first, second));
+
+        webTestClient.get()
+                .uri("/api/orders/export?from=2024-01-01T00:00:00&to=2024-02-01T00:00:00")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(OrderResponse.class).hasSize(2);
+    }
+
+    @Test
+    void testExportOrdersRejectsEmptyRange() {
+        webTestClient.get()
+                .uri("/api/orders/export?from=2024-02-01T00:00:00&to=2024-01-01T00:00:00")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testExportOrdersRejectsRangeAcrossArchiveHorizon() {
+        when(exportOrdersUseCase.exportableFrom()).thenReturn(LocalDateTime.of(2024, 1, 15, 0, 0));
+
+        webTestClient.get()
+                .uri("/api/orders/export?from=2024-01-01T00:00:00&to=2024-02-01T00:00:00")
+                .exchange()
+                .expectStatus().isBadRequest();
+        verify(exportOrdersUseCase, never()).exportOrders(any(), any());
+    }
+
+    @Test
+    void testUpdateStatus() {
+        when(updateOrderStatusUseCase.updateStatus(List.of(1L, 2L), OrderStatus.CONFIRMED)).thenReturn(Mono.just(List.of(
+                new OrderStatusResult(1L, OrderStatus.PENDING, StatusUpdateOutcome.UPDATED),
+                new OrderStatusResult(2L, null, StatusUpdateOutcome.NOT_FOUND))));
+
+        webTestClient.patch()
+                .uri("/api/orders/status")
+                .bodyValue(Map.of("orderIds", List.of(1, 2), "status", "CONFIRMED"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].outcome").isEqualTo("UPDATED")
+                .jsonPath("$[1].outcome").isEqualTo("NOT_FOUND");
+    }
+
+    @Test
+    void testUpdateStatusWithoutTarget() {
+        webTestClient.patch()
+                .uri("/api/orders/status")
+                .bodyValue(Map.of("orderIds", List.of(1, 2)))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}
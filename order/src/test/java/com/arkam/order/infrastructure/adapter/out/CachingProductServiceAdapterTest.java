@@ -0,0 +1,156 @@
+package com.arkam.order.infrastructure.adapter.out;
+
+import com.arkam.order.application.dto.ProductResponse;
+import com.arkam.order.application.port.out.ProductServicePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingProductServiceAdapterTest {
+
+    @Mock
+    private ProductServicePort delegate;
+
+    private final AtomicLong ticker = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testRepeatedLookupsHitCache() {
+        when(delegate.getProductDetails("prod1")).thenReturn(Mono.just(product(10)));
+        CachingProductServiceAdapter adapter = adapter(Duration.ofSeconds(5));
+
+        StepVerifier.create(adapter.getProductDetails("prod1")).expectNextMatches(p -> p.getStockQuantity() == 10).verifyComplete();
+        StepVerifier.create(adapter.getProductDetails("prod1")).expectNextMatches(p -> p.getStockQuantity() == 10).verifyComplete();
+
+        verify(delegate, times(1)).getProductDetails("prod1");
+        assertEquals(0.5, meterRegistry.get("order.product.cache.hit.ratio").gauge().value());
+    }
+
+    @Test
+    void testConcurrentLookupsShareOneCall() {
+        Sinks.One<ProductResponse> response = Sinks.one();
+        when(delegate.getProductDetails("prod1")).thenReturn(response.asMono());
+        CachingProductServiceAdapter adapter = adapter(Duration.ofSeconds(5));
+
+        Mono<ProductResponse> first = adapter.getProductDetails("prod1").cache();
+        Mono<ProductResponse> second = adapter.getProductDetails("prod1").cache();
+        first.subscribe();
+        second.subscribe();
+        response.tryEmitValue(product(10));
+
+        assertEquals(10, first.block().getStockQuantity());
+        assertEquals(10, second.block().getStockQuantity());
+        verify(delegate, times(1)).getProductDetails("prod1");
+        assertEquals(1.0, meterRegistry.get("order.product.cache.coalesced").counter().count());
+    }
+
+    @Test
+    void testStaleStockIsServedWhileRevalidating() throws InterruptedException {
+        when(delegate.getProductDetails("prod1"))
+                .thenReturn(Mono.just(product(10)))
+                .thenReturn(Mono.just(product(7)).delayElement(Duration.ofMillis(100)));
+        CachingProductServiceAdapter adapter = adapter(Duration.ofSeconds(5));
+
+        assertEquals(10, adapter.getProductDetails("prod1").block().getStockQuantity());
+        advance(Duration.ofSeconds(3));
+
+        // past refresh-after but within stock-ttl: the cached figure is returned right away and a reload starts
+        assertEquals(10, adapter.getProductDetails("prod1").block().getStockQuantity());
+        verify(delegate, timeout(1000).times(2)).getProductDetails("prod1");
+        assertTrue(waitForStock(adapter, 7));
+    }
+
+    @Test
+    void testStockOlderThanStockTtlIsNeverServed() {
+        when(delegate.getProductDetails("prod1"))
+                .thenReturn(Mono.just(product(10)))
+                .thenReturn(Mono.just(product(7)));
+        CachingProductServiceAdapter adapter = adapter(Duration.ofSeconds(5));
+
+        assertEquals(10, adapter.getProductDetails("prod1").block().getStockQuantity());
+        // no read in between, so no background reload ever started
+        advance(Duration.ofSeconds(6));
+
+        assertEquals(7, adapter.getProductDetails("prod1").block().getStockQuantity());
+        verify(delegate, times(2)).getProductDetails("prod1");
+    }
+
+    @Test
+    void testStockOlderThanStockTtlIsNotServedWhenReloadFails() {
+        when(delegate.getProductDetails("prod1"))
+                .thenReturn(Mono.just(product(10)))
+                .thenReturn(Mono.error(new IllegalStateException("product-service down")));
+        CachingProductServiceAdapter adapter = adapter(Duration.ofSeconds(5));
+
+        assertEquals(10, adapter.getProductDetails("prod1").block().getStockQuantity());
+        advance(Duration.ofSeconds(6));
+
+        StepVerifier.create(adapter.getProductDetails("prod1")).expectError(IllegalStateException.class).verify();
+    }
+
+    @Test
+    void testBatchLookupBypassesAndWarmsCache() {
+        when(delegate.getProducts(List.of("1"))).thenReturn(Flux.just(product(3)));
+        CachingProductServiceAdapter adapter = adapter(Duration.ofSeconds(5));
+
+        StepVerifier.create(adapter.getProducts(List.of("1"))).expectNextCount(1).verifyComplete();
+        StepVerifier.create(adapter.getProducts(List.of("1"))).expectNextCount(1).verifyComplete();
+        assertEquals(3, adapter.getProductDetails("1").block().getStockQuantity());
+
+        verify(delegate, times(2)).getProducts(List.of("1"));
+        verify(delegate, never()).getProductDetails("1");
+    }
+
+    @Test
+    void testRefreshAfterMustBeShorterThanStockTtl() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingProductServiceAdapter(
+                delegate, 100, Duration.ofSeconds(1), Duration.ofSeconds(1), meterRegistry));
+    }
+
+    private boolean waitForStock(CachingProductServiceAdapter adapter, int expected) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            if (adapter.getProductDetails("prod1").block().getStockQuantity() == expected) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return false;
+    }
+
+    private void advance(Duration duration) {
+        ticker.addAndGet(duration.toNanos());
+    }
+
+    private CachingProductServiceAdapter adapter(Duration stockTtl) {
+        return new CachingProductServiceAdapter(delegate, 100, stockTtl.dividedBy(2), stockTtl, meterRegistry,
+                ticker::get);
+    }
+
+    private ProductResponse product(int stock) {
+        ProductResponse product = new ProductResponse();
+        product.setId(1L);
+        product.setPrice(BigDecimal.TEN);
+        product.setStockQuantity(stock);
+        return product;
+    }
+}
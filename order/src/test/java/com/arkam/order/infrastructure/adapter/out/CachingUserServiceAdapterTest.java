@@ -0,0 +1,72 @@
+package com.arkam.order.infrastructure.adapter.out;
+
+import com.arkam.order.application.port.out.UserServicePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class CachingUserServiceAdapterTest {
+
+    @Mock
+    private UserServicePort delegate;
+
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private CachingUserServiceAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        adapter = new CachingUserServiceAdapter(delegate, new UserExistenceCache(1000, clock::get),
+                Duration.ofMinutes(10), Duration.ofSeconds(30), meterRegistry);
+    }
+
+    @Test
+    void testKnownUserIsServedFromCache() {
+        when(delegate.exists("user1")).thenReturn(Mono.just(true));
+
+        StepVerifier.create(adapter.exists("user1")).expectNext(true).verifyComplete();
+        StepVerifier.create(adapter.exists("user1")).expectNext(true).verifyComplete();
+
+        verify(delegate, times(1)).exists("user1");
+        assertEquals(1.0, meterRegistry.get("order.user.exists.cache").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("order.user.exists.cache").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void testUnknownUserIsCachedBriefly() {
+        when(delegate.exists("ghost")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(adapter.exists("ghost")).expectNext(false).verifyComplete();
+        StepVerifier.create(adapter.exists("ghost")).expectNext(false).verifyComplete();
+        verify(delegate, times(1)).exists("ghost");
+
+        clock.addAndGet(Duration.ofMinutes(1).toMillis());
+        StepVerifier.create(adapter.exists("ghost")).expectNext(false).verifyComplete();
+        verify(delegate, times(2)).exists("ghost");
+        assertEquals(1.0, meterRegistry.get("order.user.exists.cache").tag("result", "negative-hit").counter().count());
+    }
+
+    @Test
+    void testErrorsAreNotCached() {
+        when(delegate.exists("user1"))
+                .thenReturn(Mono.error(new IllegalStateException("user-service down")))
+                .thenReturn(Mono.just(true));
+
+        StepVerifier.create(adapter.exists("user1")).expectError(IllegalStateException.class).verify();
+        StepVerifier.create(adapter.exists("user1")).expectNext(true).verifyComplete();
+
+        verify(delegate, times(2)).exists("user1");
+    }
+}
@@ -0,0 +1,157 @@
+package com.arkam.order.infrastructure.adapter.out;
+
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgingPolicyTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private HedgingPolicy hedgingPolicy;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        hedgingPolicy = new HedgingPolicy(meterRegistry, true, 0.95, Duration.ofMillis(20), Duration.ofMillis(100));
+    }
+
+    @Test
+    void testFastPrimaryIsNotHedged() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        StepVerifier.withVirtualTime(() -> hedgingPolicy.call("product-service", () -> {
+                    attempts.incrementAndGet();
+                    return Mono.just("ok");
+                }))
+                .expectNext("ok")
+                .verifyComplete();
+
+        assertEquals(1, attempts.get());
+        assertEquals(0.0, meterRegistry.get("order.downstream.hedges").counter().count());
+    }
+
+    @Test
+    void testSlowPrimaryIsHedgedAndHedgeWins() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        StepVerifier.withVirtualTime(() -> hedgingPolicy.call("product-service", () ->
+                        attempts.incrementAndGet() == 1 ? Mono.never() : Mono.just("hedge")))
+                .thenAwait(Duration.ofMillis(100))
+                .expectNext("hedge")
+                .verifyComplete();
+
+        assertEquals(2, attempts.get());
+        assertEquals(1.0, meterRegistry.get("order.downstream.hedges.won").counter().count());
+        assertEquals(2, meterRegistry.get("order.downstream.latency").timers().size());
+    }
+
+    @Test
+    void testPrimaryCancelledByWinningHedgeIsTimed() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        StepVerifier.withVirtualTime(() -> hedgingPolicy.call("product-service", () ->
+                        attempts.incrementAndGet() == 1 ? Mono.never() : Mono.just("hedge")))
+                .thenAwait(Duration.ofMillis(100))
+                .expectNext("hedge")
+                .verifyComplete();
+
+        assertEquals(1, meterRegistry.get("order.downstream.latency").tag("attempt", "primary").timer().count());
+        assertEquals(1, meterRegistry.get("order.downstream.latency").tag("attempt", "hedge").timer().count());
+    }
+
+    @Test
+    void testHedgeDelayHoldsWhileHedgesKeepWinning() {
+        MockClock clock = new MockClock();
+        HedgingPolicy policy = new HedgingPolicy(new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock), true, 0.95,
+                Duration.ofMillis(20), Duration.ofMillis(100));
+
+        for (int round = 0; round < 5; round++) {
+            // 1 call in 10 hits a slow instance and loses to a hedge that answers 10ms after it is sent
+            for (int call = 0; call < 40; call++) {
+                Duration delay = policy.hedgeDelay("product-service");
+                AtomicInteger attempts = new AtomicInteger();
+                if (call % 10 == 0) {
+                    StepVerifier.withVirtualTime(() -> policy.call("product-service", () -> attempts.incrementAndGet() == 1
+                                    ? Mono.never()
+                                    : Mono.fromCallable(() -> {
+                                        clock.add(delay.plusMillis(10));
+                                        return "hedge";
+                                    })))
+                            .thenAwait(delay)
+                            .expectNext("hedge")
+                            .verifyComplete();
+                } else {
+                    StepVerifier.withVirtualTime(() -> policy.call("product-service", () -> Mono.fromCallable(() -> {
+                                clock.add(Duration.ofMillis(30));
+                                return "primary";
+                            })))
+                            .expectNext("primary")
+                            .verifyComplete();
+                }
+            }
+            clock.add(Duration.ofSeconds(2));
+
+            Duration delay = policy.hedgeDelay("product-service");
+            assertTrue(delay.compareTo(Duration.ofMillis(100)) >= 0, "round " + round + " delay " + delay);
+        }
+    }
+
+    @Test
+    void testPrimaryErrorIsNotHedged() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        StepVerifier.withVirtualTime(() -> hedgingPolicy.call("user-service", () -> {
+                    attempts.incrementAndGet();
+                    return Mono.error(new IllegalStateException("404"));
+                }))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertEquals(1, attempts.get());
+        assertEquals(1, meterRegistry.get("order.downstream.latency").tag("attempt", "primary").timer().count());
+    }
+
+    @Test
+    void testHedgeErrorLeavesPrimaryRunning() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        StepVerifier.withVirtualTime(() -> hedgingPolicy.call("user-service", () -> attempts.incrementAndGet() == 1
+                        ? Mono.delay(Duration.ofMillis(300)).thenReturn("primary")
+                        : Mono.error(new IllegalStateException("instance down"))))
+                .thenAwait(Duration.ofMillis(300))
+                .expectNext("primary")
+                .verifyComplete();
+
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void testDisabledPolicyNeverHedges() {
+        HedgingPolicy disabled = new HedgingPolicy(meterRegistry, false, 0.95, Duration.ofMillis(20), Duration.ofMillis(100));
+        AtomicInteger attempts = new AtomicInteger();
+
+        StepVerifier.withVirtualTime(() -> disabled.call("product-service", () -> {
+                    attempts.incrementAndGet();
+                    return Mono.delay(Duration.ofSeconds(1)).thenReturn("ok");
+                }))
+                .thenAwait(Duration.ofSeconds(1))
+                .expectNext("ok")
+                .verifyComplete();
+
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void testInitialDelayBeforeAnyLatencyIsRecorded() {
+        assertEquals(Duration.ofMillis(100), hedgingPolicy.hedgeDelay("product-service"));
+    }
+}
@@ -0,0 +1,82 @@
+package com.arkam.order.infrastructure.adapter.out;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserExistenceCacheTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+    @Test
+    void testPositiveAndNegativeEntries() {
+        UserExistenceCache cache = new UserExistenceCache(1000, clock::get);
+
+        cache.put("user1", true, 60_000);
+        cache.put("ghost", false, 60_000);
+
+        assertEquals(Boolean.TRUE, cache.get("user1"));
+        assertEquals(Boolean.FALSE, cache.get("ghost"));
+        assertNull(cache.get("user2"));
+    }
+
+    @Test
+    void testEntriesExpire() {
+        UserExistenceCache cache = new UserExistenceCache(1000, clock::get);
+
+        cache.put("user1", true, 10_000);
+        cache.put("ghost", false, 2_000);
+
+        clock.addAndGet(5_000);
+        assertEquals(Boolean.TRUE, cache.get("user1"));
+        assertNull(cache.get("ghost"));
+
+        clock.addAndGet(10_000);
+        assertNull(cache.get("user1"));
+    }
+
+    @Test
+    void testOverwriteAndInvalidate() {
+        UserExistenceCache cache = new UserExistenceCache(1000, clock::get);
+
+        cache.put("user1", false, 60_000);
+        cache.put("user1", true, 60_000);
+        assertEquals(Boolean.TRUE, cache.get("user1"));
+
+        cache.invalidate("user1");
+        assertNull(cache.get("user1"));
+    }
+
+    @Test
+    void testSizeStaysBoundedWhenOverfilled() {
+        UserExistenceCache cache = new UserExistenceCache(1024, clock::get);
+        int capacity = cache.capacity();
+
+        for (int i = 0; i < capacity * 4; i++) {
+            cache.put("user-" + i, true, 60_000);
+        }
+
+        assertEquals(capacity, cache.capacity());
+        // most recent inserts survive eviction
+        assertEquals(Boolean.TRUE, cache.get("user-" + (capacity * 4 - 1)));
+    }
+
+    @Test
+    void testHoldsMillionsOfIds() {
+        UserExistenceCache cache = new UserExistenceCache(2_000_000, clock::get);
+
+        for (int i = 0; i < 1_000_000; i++) {
+            cache.put("user-" + i, true, 60_000);
+        }
+
+        int found = 0;
+        for (int i = 0; i < 1_000_000; i++) {
+            if (Boolean.TRUE.equals(cache.get("user-" + i))) {
+                found++;
+            }
+        }
+        assertTrue(found > 990_000, "found " + found);
+    }
+}
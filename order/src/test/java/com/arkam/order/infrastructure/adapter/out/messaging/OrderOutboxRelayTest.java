@@ -0,0 +1,148 @@
+package com.arkam.order.infrastructure.adapter.out.messaging;
+
+import com.arkam.order.infrastructure.adapter.persistence.entity.OutboxEventEntity;
+import com.arkam.order.infrastructure.adapter.persistence.repository.OutboxJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.mockito.ArgumentCaptor;
+import org.springframework.integration.kafka.support.KafkaIntegrationHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderOutboxRelayTest {
+
+    private static final int BATCH_SIZE = 10;
+
+    @Autowired
+    private OutboxJpaRepository outboxJpaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private StreamBridge streamBridge;
+    private KafkaSendFutures sendFutures;
+    private SimpleMeterRegistry meterRegistry;
+    private OrderOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        outboxJpaRepository.deleteAll();
+        streamBridge = mock(StreamBridge.class);
+        sendFutures = new KafkaSendFutures();
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new OrderOutboxRelay(outboxJpaRepository, streamBridge, sendFutures,
+                new TransactionTemplate(transactionManager), meterRegistry, BATCH_SIZE, 50, Duration.ofMillis(300));
+    }
+
+    @Test
+    void testRelayDrainsOutboxInBatches() {
+        brokerAcks(message -> CompletableFuture.completedFuture(null));
+        for (long i = 1; i <= 25; i++) {
+            outboxJpaRepository.save(event(i));
+        }
+
+        relay.relay();
+
+        ArgumentCaptor<Message<?>> sent = ArgumentCaptor.forClass(Message.class);
+        verify(streamBridge, times(25)).send(eq(OrderOutboxRelay.BINDING), sent.capture());
+        // the last record of each batch flushes the producer
+        assertEquals(3, sent.getAllValues().stream()
+                .filter(message -> Boolean.TRUE.equals(message.getHeaders().get(KafkaIntegrationHeaders.FLUSH)))
+                .count());
+        assertEquals(0, outboxJpaRepository.count());
+        assertEquals(25.0, meterRegistry.get("order.outbox.published").counter().count());
+        assertEquals(25, meterRegistry.get("order.outbox.lag").timer().count());
+    }
+
+    @Test
+    void testRejectedSendKeepsBatchForNextRun() {
+        when(streamBridge.send(eq(OrderOutboxRelay.BINDING), any(Message.class))).thenReturn(true, false);
+        outboxJpaRepository.save(event(1));
+        outboxJpaRepository.save(event(2));
+
+        relay.relay();
+
+        assertEquals(2, outboxJpaRepository.count());
+        assertEquals(0.0, meterRegistry.get("order.outbox.published").counter().count());
+
+        brokerAcks(message -> CompletableFuture.completedFuture(null));
+        relay.relay();
+
+        assertEquals(0, outboxJpaRepository.count());
+    }
+
+    @Test
+    void testOnlyAcknowledgedRecordsLeaveOutbox() {
+        OutboxEventEntity acked = outboxJpaRepository.save(event(1));
+        OutboxEventEntity failed = outboxJpaRepository.save(event(2));
+        brokerAcks(message -> failed.getId().equals(message.getHeaders().get(KafkaIntegrationHeaders.FUTURE_TOKEN))
+                ? CompletableFuture.failedFuture(new TimeoutException("Expiring 1 record(s)"))
+                : CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        assertEquals(List.of(failed.getId()), outboxJpaRepository.findAll().stream().map(OutboxEventEntity::getId).toList());
+        assertFalse(outboxJpaRepository.existsById(acked.getId()));
+        assertEquals(1.0, meterRegistry.get("order.outbox.published").counter().count());
+    }
+
+    @Test
+    void testAckWaitIsBoundedByAckTimeout() {
+        brokerAcks(message -> new CompletableFuture<>());
+        outboxJpaRepository.save(event(1));
+        outboxJpaRepository.save(event(2));
+
+        long started = System.nanoTime();
+        relay.relay();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        assertEquals(2, outboxJpaRepository.count());
+        assertEquals(0.0, meterRegistry.get("order.outbox.published").counter().count());
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(5)) < 0, "relay took " + elapsed);
+    }
+
+    // Plays the Kafka producer handler: each send publishes its future on the futures channel, then returns
+    private void brokerAcks(Function<Message<?>, CompletableFuture<?>> ack) {
+        when(streamBridge.send(eq(OrderOutboxRelay.BINDING), any(Message.class))).thenAnswer(invocation -> {
+            Message<?> message = invocation.getArgument(1);
+            sendFutures.channel().send(MessageBuilder.withPayload(ack.apply(message))
+                    .setHeader(KafkaIntegrationHeaders.FUTURE_TOKEN,
+                            message.getHeaders().get(KafkaIntegrationHeaders.FUTURE_TOKEN))
+                    .build());
+            return true;
+        });
+    }
+
+    private OutboxEventEntity event(long orderId) {
+        OutboxEventEntity event = new OutboxEventEntity();
+        event.setAggregateId(orderId);
+        event.setEventType("OrderCreated");
+        event.setPayload("{\"orderId\":" + orderId + "}");
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+}
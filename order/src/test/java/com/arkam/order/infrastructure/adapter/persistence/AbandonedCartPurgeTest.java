@@ -0,0 +1,155 @@
+package com.arkam.order.infrastructure.adapter.persistence;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * H2 has no advisory locks, so the test registers stand-ins for them; {@link AdvisoryLocks#heldElsewhere} plays
+ * another instance in the middle of a purge.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AbandonedCartPurgeTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate jdbcTemplate;
+    private MeterRegistry meterRegistry;
+    private final List<Object> events = new ArrayList<>();
+    private final AtomicLong nextId = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS pg_try_advisory_lock FOR '"
+                + AdvisoryLocks.class.getName() + ".tryLock'");
+        jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS pg_advisory_unlock FOR '"
+                + AdvisoryLocks.class.getName() + ".unlock'");
+        AdvisoryLocks.heldElsewhere = false;
+        AdvisoryLocks.taken.clear();
+        jdbcTemplate.update("DELETE FROM cart_items");
+        meterRegistry = new SimpleMeterRegistry();
+        events.clear();
+    }
+
+    @Test
+    void testDeletesOnlyCartsWithEveryLineIdle() throws InterruptedException {
+        line("abandoned-1", "p1", CUTOFF.minusDays(40));
+        line("abandoned-1", "p2", CUTOFF.minusDays(10));
+        line("abandoned-2", "p1", CUTOFF.minusDays(3));
+        line("mixed", "p1", CUTOFF.minusDays(50));
+        line("mixed", "p2", CUTOFF.minusDays(45));
+        line("mixed", "p3", CUTOFF.plusDays(1));
+        line("active", "p1", CUTOFF.plusHours(2));
+
+        long deleted = purge(2, 0).purge(CUTOFF);
+
+        assertEquals(3, deleted);
+        assertEquals(Set.of("mixed", "active"), remainingUsers());
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cart_items", Long.class));
+        assertEquals(3, meterRegistry.get("order.cart.purged").counter().count());
+        assertEquals(1, meterRegistry.get("order.cart.purge.duration").timer().count());
+        assertTrue(events.containsAll(List.of(new CartClearedEvent("abandoned-1"), new CartClearedEvent("abandoned-2"))));
+        assertEquals(List.of(), AdvisoryLocks.taken);
+    }
+
+    @Test
+    void testSkipsRunWhileAnotherInstanceIsPurging() {
+        line("abandoned-1", "p1", CUTOFF.minusDays(40));
+        AdvisoryLocks.heldElsewhere = true;
+
+        assertEquals(0, purge(2, 0).purge(CUTOFF));
+        assertEquals(Set.of("abandoned-1"), remainingUsers());
+        assertEquals(List.of(), events);
+        assertEquals(0, meterRegistry.get("order.cart.purge.duration").timer().count());
+    }
+
+    @Test
+    void testChunksArePacedToRowsPerSecond() throws InterruptedException {
+        for (int i = 0; i < 6; i++) {
+            line("abandoned-" + i, "p1", CUTOFF.minusDays(i + 1));
+        }
+
+        long started = System.nanoTime();
+        long deleted = purge(2, 20).purge(CUTOFF);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        assertEquals(6, deleted);
+        // 6 rows at 20 per second
+        assertTrue(elapsed.toMillis() >= 250, "purge took " + elapsed);
+    }
+
+    @Test
+    void testNothingIdleDeletesNothing() throws InterruptedException {
+        line("active", "p1", CUTOFF.plusDays(1));
+
+        assertEquals(0, purge(2, 0).purge(CUTOFF));
+        assertEquals(Set.of("active"), remainingUsers());
+        assertEquals(List.of(), events);
+    }
+
+    private AbandonedCartPurge purge(int chunkSize, int rowsPerSecond) {
+        return new AbandonedCartPurge(new NamedParameterJdbcTemplate(dataSource),
+                new TransactionTemplate(transactionManager), events::add, meterRegistry, Duration.ofDays(30),
+                chunkSize, rowsPerSecond);
+    }
+
+    private void line(String userId, String productId, LocalDateTime updatedAt) {
+        jdbcTemplate.update("INSERT INTO cart_items (id, user_id, product_id, quantity, price, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, 1, 9.99, ?, ?)", nextId.incrementAndGet(), userId, productId,
+                Timestamp.valueOf(updatedAt), Timestamp.valueOf(updatedAt));
+    }
+
+    private Set<String> remainingUsers() {
+        return jdbcTemplate.queryForList("SELECT user_id FROM cart_items", String.class).stream()
+                .collect(Collectors.toSet());
+    }
+
+    public static final class AdvisoryLocks {
+
+        static volatile boolean heldElsewhere;
+        static final List<Long> taken = new CopyOnWriteArrayList<>();
+
+        public static boolean tryLock(long key) {
+            if (heldElsewhere) {
+                return false;
+            }
+            taken.add(key);
+            return true;
+        }
+
+        public static boolean unlock(long key) {
+            return taken.remove(key);
+        }
+    }
+}
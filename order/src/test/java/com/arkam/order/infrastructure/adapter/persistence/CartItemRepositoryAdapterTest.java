@@ -0,0 +1,82 @@
+package com.arkam.order.infrastructure.adapter.persistence;
+
+import com.arkam.order.domain.model.CartItem;
+import com.arkam.order.domain.model.CartSummary;
+import com.arkam.order.domain.model.Money;
+import com.arkam.order.infrastructure.adapter.persistence.mapper.CartItemPersistenceMapper;
+import com.arkam.order.infrastructure.adapter.persistence.repository.CartItemJpaRepository;
+import com.arkam.order.infrastructure.config.StatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.scheduler.Schedulers;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Import(StatementCounter.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CartItemRepositoryAdapterTest {
+
+    @Autowired
+    private CartItemJpaRepository cartItemJpaRepository;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private CartItemRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new CartItemRepositoryAdapter(cartItemJpaRepository, new CartItemPersistenceMapper(),
+                new NamedParameterJdbcTemplate(dataSource), new TransactionTemplate(transactionManager),
+                Schedulers.immediate(), new RecentWriters(Duration.ofSeconds(2), Duration.ofSeconds(1), 1000));
+    }
+
+    @Test
+    void testSummaryIsOneAggregateQuery() {
+        for (int i = 0; i < 30; i++) {
+            adapter.save(cartItem("summary-user", "prod-" + i, 1 + i % 3, 9.99)).block();
+        }
+        adapter.save(cartItem("other-user", "prod-1", 5, 100.0)).block();
+
+        StatementCounter.Counted<CartSummary> summary = statementCounter.count(() ->
+                adapter.summarize("summary-user").block());
+
+        assertEquals(1, summary.statements());
+        assertEquals(30, summary.result().lines());
+        assertEquals(60, summary.result().quantity());
+        assertEquals(Money.of(new BigDecimal("599.40")), summary.result().total());
+    }
+
+    @Test
+    void testEmptyCartSummarizesToZero() {
+        assertEquals(CartSummary.EMPTY, adapter.summarize("nobody").block());
+    }
+
+    private CartItem cartItem(String userId, String productId, int quantity, double price) {
+        CartItem cartItem = new CartItem();
+        cartItem.setUserId(userId);
+        cartItem.setProductId(productId);
+        cartItem.setQuantity(quantity);
+        cartItem.setPrice(Money.of(BigDecimal.valueOf(price)));
+        return cartItem;
+    }
+}
@@ -0,0 +1,149 @@
+package com.arkam.order.infrastructure.adapter.persistence;
+
+import com.arkam.order.application.port.out.CartItemRepositoryPort;
+import com.arkam.order.domain.model.CartItem;
+import com.arkam.order.domain.model.Money;
+import com.arkam.order.infrastructure.adapter.persistence.cache.CachingCartItemRepositoryAdapter;
+import com.arkam.order.infrastructure.adapter.persistence.r2dbc.R2dbcCartItemRepositoryAdapter;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Adds the same product to one cart from many threads at once and checks that no increment is lost and no
+ * duplicate line appears. Runs the Flyway migrations against Postgres; needs Docker, skipped otherwise.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+class CartItemUpsertConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int ADDS_PER_THREAD = 50;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14");
+
+    @Autowired
+    @Qualifier(CachingCartItemRepositoryAdapter.DELEGATE)
+    private CartItemRepositoryPort jpaCartItemRepository;
+
+    @Test
+    void testConcurrentJpaUpsertsOnOneLine() throws Exception {
+        hammer(jpaCartItemRepository, "jpa-user");
+    }
+
+    @Test
+    void testConcurrentR2dbcUpsertsOnOneLine() throws Exception {
+        ConnectionPool connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(
+                        ConnectionFactoryOptions.parse(postgres.getJdbcUrl().replace("jdbc:", "r2dbc:")).mutate()
+                                .option(ConnectionFactoryOptions.USER, postgres.getUsername())
+                                .option(ConnectionFactoryOptions.PASSWORD, postgres.getPassword())
+                                .build()))
+                .maxSize(10)
+                .build());
+        try {
+            hammer(new R2dbcCartItemRepositoryAdapter(DatabaseClient.create(connectionPool)), "r2dbc-user");
+        } finally {
+            connectionPool.dispose();
+        }
+    }
+
+    @Test
+    void testJpaBatchUpsertMergesIntoExistingLines() {
+        batchTwice(jpaCartItemRepository, "jpa-batch-user");
+    }
+
+    @Test
+    void testR2dbcBatchUpsertMergesIntoExistingLines() {
+        ConnectionPool connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(
+                        ConnectionFactoryOptions.parse(postgres.getJdbcUrl().replace("jdbc:", "r2dbc:")).mutate()
+                                .option(ConnectionFactoryOptions.USER, postgres.getUsername())
+                                .option(ConnectionFactoryOptions.PASSWORD, postgres.getPassword())
+                                .build()))
+                .maxSize(2)
+                .build());
+        try {
+            batchTwice(new R2dbcCartItemRepositoryAdapter(DatabaseClient.create(connectionPool)), "r2dbc-batch-user");
+        } finally {
+            connectionPool.dispose();
+        }
+    }
+
+    private void batchTwice(CartItemRepositoryPort cartItems, String userId) {
+        List<CartItem> batch = IntStream.range(0, 25)
+                .mapToObj(i -> {
+                    CartItem cartItem = cartItem(userId);
+                    cartItem.setProductId("prod-" + i);
+                    return cartItem;
+                })
+                .toList();
+        cartItems.upsertQuantities(userId, batch).block(Duration.ofSeconds(30));
+        cartItems.upsertQuantities(userId, batch).block(Duration.ofSeconds(30));
+
+        List<CartItem> lines = cartItems.findByUserId(userId).collectList().block();
+        assertEquals(25, lines.size());
+        lines.forEach(line -> assertEquals(2, line.getQuantity()));
+    }
+
+    private void hammer(CartItemRepositoryPort cartItems, String userId) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = IntStream.range(0, THREADS)
+                    .<Future<?>>mapToObj(t -> executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < ADDS_PER_THREAD; i++) {
+                            cartItems.upsertQuantity(cartItem(userId)).block(Duration.ofSeconds(30));
+                        }
+                        return null;
+                    }))
+                    .toList();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<CartItem> lines = cartItems.findByUserId(userId).collectList().block();
+        assertEquals(1, lines.size());
+        assertEquals(THREADS * ADDS_PER_THREAD, lines.get(0).getQuantity());
+    }
+
+    private CartItem cartItem(String userId) {
+        CartItem cartItem = new CartItem();
+        cartItem.setUserId(userId);
+        cartItem.setProductId("prod-1");
+        cartItem.setQuantity(1);
+        cartItem.setPrice(Money.of(BigDecimal.valueOf(19.99)));
+        return cartItem;
+    }
+}
@@ -0,0 +1,113 @@
+package com.arkam.order.infrastructure.adapter.persistence;
+
+import com.arkam.order.domain.model.Money;
+import com.arkam.order.domain.model.Order;
+import com.arkam.order.domain.model.OrderItem;
+import com.arkam.order.infrastructure.adapter.persistence.mapper.OrderPersistenceMapper;
+import com.arkam.order.infrastructure.adapter.persistence.repository.OrderJpaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@Import(OrderPersistenceMapper.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderExportAdapterTest {
+
+    @Autowired
+    private OrderJpaRepository orderJpaRepository;
+
+    @Autowired
+    private OrderPersistenceMapper orderPersistenceMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<EntityManager> opened = new ArrayList<>();
+    private final List<LocalDateTime> createdAt = new ArrayList<>();
+    private OrderExportAdapter adapter;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        orderJpaRepository.deleteAll();
+        EntityManagerFactory tracking = mock(EntityManagerFactory.class);
+        when(tracking.createEntityManager()).thenAnswer(invocation -> {
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            opened.add(entityManager);
+            return entityManager;
+        });
+        // small fetch size so the range spans several round trips
+        adapter = new OrderExportAdapter(tracking, Schedulers.immediate(), new OrderPartitions(Period.ofMonths(24)), 2);
+        // created_at is stamped on insert; space the orders out so each has its own timestamp
+        for (int i = 0; i < 5; i++) {
+            createdAt.add(orderJpaRepository.save(orderPersistenceMapper.toEntity(order("user-" + i, i))).getCreatedAt());
+            Thread.sleep(2);
+        }
+    }
+
+    @Test
+    void testExportGroupsItemsPerOrderWithinRange() {
+        List<Order> exported = adapter.streamByCreatedAt(createdAt.get(1), createdAt.get(4)).collectList().block();
+
+        assertEquals(List.of("user-1", "user-2", "user-3"), exported.stream().map(Order::getUserId).toList());
+        for (int i = 0; i < exported.size(); i++) {
+            assertEquals(i + 1, exported.get(i).getItems().size());
+        }
+        assertFalse(opened.get(0).isOpen());
+    }
+
+    @Test
+    void testOrderWithoutItemsIsExported() {
+        List<Order> exported = adapter.streamByCreatedAt(createdAt.get(0), createdAt.get(1)).collectList().block();
+
+        assertEquals(1, exported.size());
+        assertTrue(exported.get(0).getItems().isEmpty());
+    }
+
+    @Test
+    void testCancellingClosesCursor() {
+        StepVerifier.create(adapter.streamByCreatedAt(createdAt.get(0), createdAt.get(4).plusSeconds(1)), 1)
+                .expectNextCount(1)
+                .thenCancel()
+                .verify();
+
+        assertEquals(1, opened.size());
+        assertFalse(opened.get(0).isOpen());
+    }
+
+    @Test
+    void testExportStartsAtArchiveHorizon() {
+        assertEquals(LocalDate.now().withDayOfMonth(1).minusMonths(24).atStartOfDay(), adapter.exportableFrom());
+    }
+
+    private Order order(String userId, int lines) {
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            items.add(new OrderItem(null, "prod-" + i, 1, Money.of(BigDecimal.valueOf(9.99))));
+        }
+        Order order = new Order();
+        order.setUserId(userId);
+        order.setItems(items);
+        order.calculateTotalAmount();
+        return order;
+    }
+}
@@ -0,0 +1,150 @@
+package com.arkam.order.infrastructure.adapter.persistence;
+
+import com.arkam.order.application.port.out.OrderRepositoryPort;
+import com.arkam.order.domain.model.Money;
+import com.arkam.order.domain.model.Order;
+import com.arkam.order.domain.model.OrderItem;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Moves an expired month of orders and their items to the archive on a migrated Postgres and checks that nothing
+ * else moves.
+ * Needs Docker; skipped otherwise.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "order.partitioning.maintenance.enabled=true"
+})
+class OrderPartitionMaintenanceTest {
+
+    private static final YearMonth EXPIRED = YearMonth.of(2020, 1);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14");
+
+    @Autowired
+    private OrderPartitionMaintenance maintenance;
+
+    @Autowired
+    private OrderRepositoryPort orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testExpiredMonthMovesToArchiveWithItsItems() {
+        maintenance.createAhead(EXPIRED);
+        Order old = orderRepository.placeOrder(order("archive-user", 3, EXPIRED.atDay(15).atStartOfDay()), Map.of()).block();
+        Order recent = orderRepository.placeOrder(order("archive-user", 2, LocalDateTime.now()), Map.of()).block();
+        assertEquals(3, count("SELECT COUNT(*) FROM " + OrderPartitions.itemPartitionName(EXPIRED) + " WHERE order_id = ?",
+                old.getId()));
+
+        assertTrue(maintenance.archiveExpired(LocalDate.now()) >= 1);
+
+        assertEquals(0, count("SELECT COUNT(*) FROM orders WHERE id = ?", old.getId()));
+        assertEquals(1, count("SELECT COUNT(*) FROM orders_archive WHERE id = ?", old.getId()));
+        assertEquals(0, count("SELECT COUNT(*) FROM order_item_entity WHERE order_id = ?", old.getId()));
+        assertEquals(3, count("SELECT COUNT(*) FROM order_items_archive WHERE order_id = ?", old.getId()));
+        assertEquals(1, count("SELECT COUNT(*) FROM orders WHERE id = ?", recent.getId()));
+        assertEquals(2, count("SELECT COUNT(*) FROM order_item_entity WHERE order_id = ?", recent.getId()));
+        assertEquals(1, count("SELECT COUNT(*) FROM pg_inherits WHERE inhrelid = ?::regclass "
+                + "AND inhparent = 'orders_archive'::regclass", OrderPartitions.partitionName(EXPIRED)));
+        assertEquals(1, count("SELECT COUNT(*) FROM pg_inherits WHERE inhrelid = ?::regclass "
+                + "AND inhparent = 'order_items_archive'::regclass", OrderPartitions.itemPartitionName(EXPIRED)));
+        assertEquals(1, count("SELECT COUNT(*) FROM pg_constraint WHERE conrelid = ?::regclass AND contype = 'f'",
+                OrderPartitions.itemPartitionName(EXPIRED)));
+        assertEquals(List.of(recent.getId()), orderRepository.findByUserId("archive-user", null, 10)
+                .map(Order::getId).collectList().block());
+        assertEquals(0, maintenance.archiveExpired(LocalDate.now()));
+    }
+
+    @Test
+    void testItemWithoutItsOrderIsRejected() {
+        LocalDateTime createdAt = LocalDateTime.now();
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO order_item_entity (id, order_id, order_created_at, product_id, quantity, price) "
+                        + "VALUES (nextval('order_item_entity_seq'), -1, ?, 'prod-0', 1, 9.99)", createdAt));
+    }
+
+    @Test
+    void testCreateAheadIsIdempotent() {
+        YearMonth current = YearMonth.now();
+        maintenance.createAhead(current);
+        maintenance.createAhead(current);
+
+        assertEquals(1, count("SELECT COUNT(*) FROM pg_inherits WHERE inhrelid = ?::regclass "
+                + "AND inhparent = 'orders'::regclass", OrderPartitions.partitionName(current.plusMonths(3))));
+    }
+
+    // As after a missed run: the order and its item land in the default partitions because their month has none yet
+    @Test
+    void testLateMonthTakesOverRowsFromDefaultPartition() {
+        YearMonth late = YearMonth.now().plusMonths(12);
+        LocalDateTime createdAt = late.atDay(10).atStartOfDay();
+        Long id = jdbcTemplate.queryForObject("INSERT INTO orders (id, user_id, total_amount, status, created_at, updated_at) "
+                + "VALUES (nextval('orders_seq'), 'late-user', 9.99, 'PENDING', ?, ?) RETURNING id", Long.class,
+                createdAt, createdAt);
+        jdbcTemplate.update("INSERT INTO order_item_entity (id, order_id, order_created_at, product_id, quantity, price) "
+                + "VALUES (nextval('order_item_entity_seq'), ?, ?, 'prod-0', 1, 9.99)", id, createdAt);
+        assertEquals(1, count("SELECT COUNT(*) FROM orders_default WHERE id = ?", id));
+        assertEquals(1, count("SELECT COUNT(*) FROM order_item_entity_default WHERE order_id = ?", id));
+
+        maintenance.createAhead(late);
+
+        String partition = OrderPartitions.partitionName(late);
+        assertEquals(1, count("SELECT COUNT(*) FROM " + partition + " WHERE id = ?", id));
+        assertEquals(0, count("SELECT COUNT(*) FROM orders_default WHERE id = ?", id));
+        assertEquals(1, count("SELECT COUNT(*) FROM orders WHERE id = ?", id));
+        assertEquals(1, count("SELECT COUNT(*) FROM " + OrderPartitions.itemPartitionName(late) + " WHERE order_id = ?", id));
+        assertEquals(0, count("SELECT COUNT(*) FROM order_item_entity_default WHERE order_id = ?", id));
+        assertEquals(1, count("SELECT COUNT(*) FROM pg_inherits WHERE inhrelid = ?::regclass "
+                + "AND inhparent = 'orders'::regclass", "orders_default"));
+        assertEquals(1, count("SELECT COUNT(*) FROM pg_inherits WHERE inhrelid = ?::regclass "
+                + "AND inhparent = 'order_item_entity'::regclass", "order_item_entity_default"));
+        assertEquals(1, count("SELECT COUNT(*) FROM pg_inherits WHERE inhrelid = ?::regclass "
+                + "AND inhparent = 'orders'::regclass", OrderPartitions.partitionName(late.plusMonths(3))));
+    }
+
+    private long count(String sql, Object argument) {
+        return jdbcTemplate.queryForObject(sql, Long.class, argument);
+    }
+
+    private Order order(String userId, int lines, LocalDateTime createdAt) {
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            items.add(new OrderItem(null, "prod-" + i, 1, Money.of(BigDecimal.valueOf(9.99))));
+        }
+        Order order = new Order();
+        order.setUserId(userId);
+        order.setItems(items);
+        order.calculateTotalAmount();
+        order.setCreatedAt(createdAt);
+        order.setUpdatedAt(createdAt);
+        return order;
+    }
+}
@@ -0,0 +1,48 @@
+package com.arkam.order.infrastructure.adapter.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.YearMonth;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderPartitionsTest {
+
+    private final OrderPartitions partitions = new OrderPartitions(Period.ofMonths(24));
+
+    @Test
+    void testHorizonIsRetentionBeforeStartOfCurrentMonth() {
+        assertEquals(LocalDate.of(2024, 3, 1), partitions.horizon(LocalDate.of(2026, 3, 17)));
+    }
+
+    @Test
+    void testMonthIsArchivableOnceItEndsAtTheHorizon() {
+        LocalDate today = LocalDate.of(2026, 3, 17);
+
+        assertTrue(partitions.isArchivable(YearMonth.of(2024, 2), today));
+        assertFalse(partitions.isArchivable(YearMonth.of(2024, 3), today));
+    }
+
+    @Test
+    void testDayBasedRetentionKeepsTheMonthHoldingTheHorizon() {
+        OrderPartitions ninetyDays = new OrderPartitions(Period.ofDays(90));
+        LocalDate today = LocalDate.of(2026, 3, 17);
+
+        assertEquals(LocalDate.of(2025, 12, 1), ninetyDays.horizon(today));
+        assertTrue(ninetyDays.isArchivable(YearMonth.of(2025, 11), today));
+        assertFalse(ninetyDays.isArchivable(YearMonth.of(2025, 12), today));
+    }
+
+    @Test
+    void testPartitionNameRoundTrips() {
+        assertEquals("orders_p2026_03", OrderPartitions.partitionName(YearMonth.of(2026, 3)));
+        assertEquals(Optional.of(YearMonth.of(2026, 3)), OrderPartitions.monthOf("orders_p2026_03"));
+        assertEquals(Optional.empty(), OrderPartitions.monthOf("orders_default"));
+        assertEquals(Optional.empty(), OrderPartitions.monthOf("orders_pending"));
+    }
+}
@@ -0,0 +1,274 @@
+package com.arkam.order.infrastructure.adapter.persistence;
+
+import com.arkam.order.application.port.out.CartChangedException;
+import com.arkam.order.domain.model.Money;
+import com.arkam.order.domain.model.Order;
+import com.arkam.order.domain.model.OrderCursor;
+import com.arkam.order.domain.model.OrderStatus;
+import com.arkam.order.domain.model.OrderItem;
+import com.arkam.order.infrastructure.adapter.persistence.entity.CartItemEntity;
+import com.arkam.order.infrastructure.adapter.persistence.mapper.OrderOutboxMapper;
+import com.arkam.order.infrastructure.adapter.persistence.mapper.OrderPersistenceMapper;
+import com.arkam.order.infrastructure.adapter.persistence.repository.CartItemJpaRepository;
+import com.arkam.order.infrastructure.adapter.persistence.repository.OrderJpaRepository;
+import com.arkam.order.infrastructure.adapter.persistence.repository.OutboxJpaRepository;
+import com.arkam.order.infrastructure.config.StatementCounter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({StatementCounter.class, OrderPersistenceMapper.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderRepositoryAdapterTest {
+
+    private static final int MAX_STATEMENTS_PER_CHECKOUT = 8;
+    private static final int STATUS_CHUNK_SIZE = 10;
+    private static final Period RETENTION = Period.ofMonths(24);
+
+    @Autowired
+    private OrderJpaRepository orderJpaRepository;
+
+    @Autowired
+    private CartItemJpaRepository cartItemJpaRepository;
+
+    @Autowired
+    private OutboxJpaRepository outboxJpaRepository;
+
+    @Autowired
+    private OrderPersistenceMapper orderPersistenceMapper;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderRepositoryAdapter adapter;
+    private double previousTotal;
+    private final List<Object> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        adapter = new OrderRepositoryAdapter(orderJpaRepository, cartItemJpaRepository, outboxJpaRepository,
+                orderPersistenceMapper, new OrderOutboxMapper(new ObjectMapper().findAndRegisterModules()),
+                new TransactionTemplate(transactionManager), statementCounter, Schedulers.immediate(), events::add,
+                new OrderPartitions(RETENTION), new RecentWriters(Duration.ofSeconds(2), Duration.ofSeconds(1), 1000),
+                meterRegistry, STATUS_CHUNK_SIZE);
+        // first checkout pulls the initial sequence blocks
+        adapter.placeOrder(order("warmup", 1), cart("warmup", 1)).block();
+        lastCheckoutStatements();
+        events.clear();
+    }
+
+    @Test
+    void testLargeCheckoutIsBatched() {
+        Order placed = adapter.placeOrder(order("user-1", 40), cart("user-1", 40)).block();
+
+        assertNotNull(placed);
+        assertNotNull(placed.getId());
+        assertEquals(40, placed.getItems().size());
+        placed.getItems().forEach(item -> assertNotNull(item.getId()));
+
+        // cart lock + order insert + one item batch + cart delete + outbox insert, plus at most one block fetch per sequence
+        double statements = lastCheckoutStatements();
+        assertTrue(statements >= 5 && statements <= MAX_STATEMENTS_PER_CHECKOUT, "statements: " + statements);
+    }
+
+    // batch_size is 50 in tests: 120 items go out in three batches, each its own round trip
+    @Test
+    void testEveryItemBatchCountsAsARoundTrip() {
+        adapter.placeOrder(order("user-1", 40), cart("user-1", 40)).block();
+        double oneBatch = lastCheckoutStatements();
+        adapter.placeOrder(order("user-2", 120), cart("user-2", 120)).block();
+        double threeBatches = lastCheckoutStatements();
+
+        assertTrue(threeBatches >= oneBatch + 2, "one batch: " + oneBatch + ", three batches: " + threeBatches);
+    }
+
+    @Test
+    void testCheckoutKeepsCartLinesAddedAfterTheCartWasRead() {
+        Map<Long, Integer> ordered = cart("late-user", 2);
+        Long added = cart("late-user", 1).keySet().iterator().next();
+
+        adapter.placeOrder(order("late-user", 2), ordered).block();
+
+        assertEquals(List.of(added), cartItemJpaRepository.findByUserId("late-user").stream()
+                .map(CartItemEntity::getId).toList());
+    }
+
+    @Test
+    void testCheckoutFailsWhenALineWasIncrementedAfterTheCartWasRead() {
+        Map<Long, Integer> read = cart("bump-user", 2);
+        Long bumped = read.keySet().iterator().next();
+        // what UPSERT_QUANTITY does to a line that is already in the cart: same id, higher quantity
+        jdbcTemplate.update("UPDATE cart_items SET quantity = quantity + 1 WHERE id = ?", bumped);
+
+        assertThrows(CartChangedException.class, () -> adapter.placeOrder(order("bump-user", 2), read).block());
+
+        assertEquals(Map.of(bumped, 2), cartItemJpaRepository.findByUserId("bump-user").stream()
+                .filter(line -> line.getId().equals(bumped))
+                .collect(Collectors.toMap(CartItemEntity::getId, CartItemEntity::getQuantity)));
+        assertEquals(2, cartItemJpaRepository.findByUserId("bump-user").size());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE user_id = 'bump-user'", Long.class));
+        // the stale cart is evicted so that the retry reads the current lines
+        assertEquals(List.of(new CartClearedEvent("bump-user")), events);
+    }
+
+    @Test
+    void testCheckoutFailsWhenALineWasRemovedAfterTheCartWasRead() {
+        Map<Long, Integer> read = cart("removed-user", 2);
+        jdbcTemplate.update("DELETE FROM cart_items WHERE id = ?", read.keySet().iterator().next());
+
+        assertThrows(CartChangedException.class, () -> adapter.placeOrder(order("removed-user", 2), read).block());
+
+        assertEquals(1, cartItemJpaRepository.findByUserId("removed-user").size());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE user_id = 'removed-user'", Long.class));
+    }
+
+    @Test
+    void testStatementCountDoesNotGrowWithLineCount() {
+        adapter.placeOrder(order("user-1", 1), Map.of()).block();
+        double single = lastCheckoutStatements();
+        adapter.placeOrder(order("user-2", 40), Map.of()).block();
+        double large = lastCheckoutStatements();
+
+        assertTrue(single <= MAX_STATEMENTS_PER_CHECKOUT, "statements: " + single);
+        assertTrue(large <= MAX_STATEMENTS_PER_CHECKOUT, "statements: " + large);
+    }
+
+    @Test
+    void testCheckoutWritesOutboxEventInSameTransaction() {
+        Order placed = adapter.placeOrder(order("user-3", 2), Map.of()).block();
+
+        assertTrue(outboxJpaRepository.findAll().stream()
+                .anyMatch(event -> placed.getId().equals(event.getAggregateId())
+                        && OrderOutboxMapper.ORDER_CREATED.equals(event.getEventType())
+                        && event.getPayload().contains("\"userId\":\"user-3\"")));
+    }
+
+    @Test
+    void testOrderHistoryLoadsItemsWithoutNPlusOne() {
+        for (int i = 0; i < 6; i++) {
+            adapter.placeOrder(order("history-user", 3), Map.of()).block();
+        }
+
+        StatementCounter.Counted<List<Order>> firstPage = statementCounter.count(() ->
+                adapter.findByUserId("history-user", null, 4).collectList().block());
+        List<Order> secondPage = adapter.findByUserId("history-user", OrderCursor.of(firstPage.result().get(3)), 4)
+                .collectList().block();
+
+        // page of ids + one fetch join for all their items, however many orders and lines
+        assertEquals(2, firstPage.statements());
+        assertEquals(4, firstPage.result().size());
+        firstPage.result().forEach(placed -> assertEquals(3, placed.getItems().size()));
+        assertEquals(2, secondPage.size());
+        secondPage.forEach(older -> assertTrue(firstPage.result().stream().noneMatch(o -> o.getId().equals(older.getId()))));
+    }
+
+    @Test
+    void testOrderHistoryStopsAtRetentionHorizon() {
+        Order recent = adapter.placeOrder(order("horizon-user", 1), Map.of()).block();
+        Order expired = adapter.placeOrder(order("horizon-user", 1), Map.of()).block();
+        jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id = ?",
+                LocalDateTime.now().minus(RETENTION).minusMonths(1), expired.getId());
+
+        List<Order> history = adapter.findByUserId("horizon-user", null, 10).collectList().block();
+
+        assertEquals(List.of(recent.getId()), history.stream().map(Order::getId).toList());
+    }
+
+    @Test
+    void testFindByIdUsesSingleFetchJoin() {
+        Order placed = adapter.placeOrder(order("user-4", 5), Map.of()).block();
+
+        StatementCounter.Counted<Order> found = statementCounter.count(() -> adapter.findById(placed.getId()).block());
+
+        assertEquals(1, found.statements());
+        assertEquals(5, found.result().getItems().size());
+    }
+
+    @Test
+    void testStatusUpdateIsChunkedAndSetBased() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            ids.add(adapter.placeOrder(order("wave-user", 1), Map.of()).block().getId());
+        }
+        adapter.updateStatus(List.of(ids.get(0)), Set.of(OrderStatus.PENDING), OrderStatus.CANCELLED).block();
+        ids.add(-1L);
+        ids.add(-2L);
+
+        StatementCounter.Counted<Map<Long, OrderStatus>> updated = statementCounter.count(() -> adapter
+                .updateStatus(ids, OrderStatus.sourcesOf(OrderStatus.CONFIRMED), OrderStatus.CONFIRMED).block());
+
+        // 27 ids in chunks of 10: one locking select and one update per chunk
+        assertEquals(6, updated.statements());
+        assertEquals(25, updated.result().size());
+        assertEquals(OrderStatus.CANCELLED, updated.result().get(ids.get(0)));
+        assertEquals(OrderStatus.CANCELLED, orderJpaRepository.findById(ids.get(0)).orElseThrow().getStatus());
+        assertEquals(OrderStatus.CONFIRMED, orderJpaRepository.findById(ids.get(24)).orElseThrow().getStatus());
+    }
+
+    private double lastCheckoutStatements() {
+        double total = meterRegistry.get("order.checkout.db.statements").summary().totalAmount();
+        double recorded = total - previousTotal;
+        previousTotal = total;
+        return recorded;
+    }
+
+    // Cart lines for the user, as checkout reads them; returns their ids and quantities
+    private Map<Long, Integer> cart(String userId, int lines) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (int i = 0; i < lines; i++) {
+            CartItemEntity line = new CartItemEntity();
+            line.setUserId(userId);
+            line.setProductId("cart-" + System.nanoTime());
+            line.setQuantity(1);
+            line.setPrice(BigDecimal.valueOf(9.99));
+            quantities.put(cartItemJpaRepository.save(line).getId(), line.getQuantity());
+        }
+        return quantities;
+    }
+
+    private Order order(String userId, int lines) {
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            items.add(new OrderItem(null, "prod-" + i, 1, Money.of(BigDecimal.valueOf(9.99))));
+        }
+        Order order = new Order();
+        order.setUserId(userId);
+        order.setItems(items);
+        order.calculateTotalAmount();
+        order.setCreatedAt(LocalDateTime.now());
+        order.setUpdatedAt(LocalDateTime.now());
+        return order;
+    }
+}
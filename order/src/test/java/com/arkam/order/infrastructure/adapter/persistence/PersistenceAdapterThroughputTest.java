@@ -0,0 +1,142 @@
+package com.arkam.order.infrastructure.adapter.persistence;
+
+import com.arkam.order.application.port.out.CartItemRepositoryPort;
+import com.arkam.order.application.port.out.OrderRepositoryPort;
+import com.arkam.order.domain.model.CartItem;
+import com.arkam.order.infrastructure.adapter.persistence.cache.CachingCartItemRepositoryAdapter;
+import com.arkam.order.domain.model.Money;
+import com.arkam.order.domain.model.Order;
+import com.arkam.order.domain.model.OrderItem;
+import com.arkam.order.infrastructure.adapter.persistence.mapper.OrderOutboxMapper;
+import com.arkam.order.infrastructure.adapter.persistence.r2dbc.R2dbcCartItemRepositoryAdapter;
+import com.arkam.order.infrastructure.adapter.persistence.r2dbc.R2dbcOrderRepositoryAdapter;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the same cart + checkout workload through the JPA adapters and the R2DBC adapters against one Postgres
+ * instance and prints checkouts per second for both. Needs Docker; skipped otherwise.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create"
+})
+class PersistenceAdapterThroughputTest {
+
+    private static final int USERS = 64;
+    private static final int CHECKOUTS_PER_USER = 20;
+    private static final int LINES_PER_CART = 5;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14");
+
+    @Autowired
+    @Qualifier(CachingCartItemRepositoryAdapter.DELEGATE)
+    private CartItemRepositoryPort jpaCartItemRepository;
+
+    @Autowired
+    private OrderRepositoryPort jpaOrderRepository;
+
+    @Autowired
+    private OrderOutboxMapper orderOutboxMapper;
+
+    @Autowired
+    private OrderPartitions orderPartitions;
+
+    @Test
+    void testJpaAndR2dbcAdaptersUnderSameWorkload() {
+        ConnectionPool connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(
+                        ConnectionFactoryOptions.parse(postgres.getJdbcUrl().replace("jdbc:", "r2dbc:")).mutate()
+                                .option(ConnectionFactoryOptions.USER, postgres.getUsername())
+                                .option(ConnectionFactoryOptions.PASSWORD, postgres.getPassword())
+                                .build()))
+                .maxSize(10)
+                .build());
+        try {
+            DatabaseClient databaseClient = DatabaseClient.create(connectionPool);
+            TransactionalOperator operator = TransactionalOperator.create(new R2dbcTransactionManager(connectionPool));
+            CartItemRepositoryPort r2dbcCartItemRepository = new R2dbcCartItemRepositoryAdapter(databaseClient);
+            OrderRepositoryPort r2dbcOrderRepository = new R2dbcOrderRepositoryAdapter(databaseClient, operator, event -> {},
+                    orderOutboxMapper, orderPartitions, 1000);
+
+            // warm up both paths before measuring
+            run("jpa", jpaCartItemRepository, jpaOrderRepository);
+            run("r2dbc", r2dbcCartItemRepository, r2dbcOrderRepository);
+
+            double jpa = run("jpa", jpaCartItemRepository, jpaOrderRepository);
+            double r2dbc = run("r2dbc", r2dbcCartItemRepository, r2dbcOrderRepository);
+            System.out.printf("checkouts/s  jpa=%.1f  r2dbc=%.1f  (%d users x %d checkouts, %d lines)%n",
+                    jpa, r2dbc, USERS, CHECKOUTS_PER_USER, LINES_PER_CART);
+        } finally {
+            connectionPool.dispose();
+        }
+    }
+
+    private double run(String prefix, CartItemRepositoryPort cartItems, OrderRepositoryPort orders) {
+        long start = System.nanoTime();
+        Long completed = Flux.range(0, USERS)
+                .flatMap(user -> Flux.range(0, CHECKOUTS_PER_USER)
+                        .concatMap(i -> checkout(prefix + "-" + user, cartItems, orders)), USERS)
+                .count()
+                .block(Duration.ofMinutes(5));
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        assertEquals(USERS * CHECKOUTS_PER_USER, completed);
+        return completed / seconds;
+    }
+
+    private Mono<Order> checkout(String userId, CartItemRepositoryPort cartItems, OrderRepositoryPort orders) {
+        return Flux.range(0, LINES_PER_CART)
+                .concatMap(line -> cartItems.save(cartItem(userId, "prod-" + line)))
+                .thenMany(cartItems.findByUserId(userId))
+                .collectList()
+                .flatMap(lines -> {
+                    Order order = new Order();
+                    order.setUserId(userId);
+                    order.setItems(lines.stream()
+                            .map(item -> new OrderItem(null, item.getProductId(), item.getQuantity(), item.getPrice()))
+                            .collect(Collectors.toList()));
+                    order.calculateTotalAmount();
+                    order.setCreatedAt(LocalDateTime.now());
+                    order.setUpdatedAt(LocalDateTime.now());
+                    return orders.placeOrder(order, lines.stream()
+                            .collect(Collectors.toMap(CartItem::getId, CartItem::getQuantity)));
+                });
+    }
+
+    private CartItem cartItem(String userId, String productId) {
+        CartItem cartItem = new CartItem();
+        cartItem.setUserId(userId);
+        cartItem.setProductId(productId);
+        cartItem.setQuantity(2);
+        cartItem.setPrice(Money.of(BigDecimal.valueOf(19.99)));
+        cartItem.setCreatedAt(LocalDateTime.now());
+        cartItem.setUpdatedAt(LocalDateTime.now());
+        return cartItem;
+    }
+}
@@ -0,0 +1,405 @@
+package com.arkam.order.infrastructure.adapter.persistence;
+
+import com.arkam.order.application.port.out.CartItemRepositoryPort;
+import com.arkam.order.application.port.out.OrderExportPort;
+import com.arkam.order.application.port.out.OrderRepositoryPort;
+import com.arkam.order.domain.model.CartItem;
+import com.arkam.order.domain.model.Money;
+import com.arkam.order.domain.model.Order;
+import com.arkam.order.domain.model.OrderCursor;
+import com.arkam.order.domain.model.OrderItem;
+import com.arkam.order.domain.model.OrderStatus;
+import com.arkam.order.infrastructure.adapter.persistence.SqlCapture.CapturedStatement;
+import com.arkam.order.infrastructure.adapter.persistence.cache.CachingCartItemRepositoryAdapter;
+import com.arkam.order.infrastructure.adapter.persistence.entity.OutboxEventEntity;
+import com.arkam.order.infrastructure.adapter.persistence.mapper.OrderOutboxMapper;
+import com.arkam.order.infrastructure.adapter.persistence.r2dbc.R2dbcCartItemRepositoryAdapter;
+import com.arkam.order.infrastructure.adapter.persistence.r2dbc.R2dbcOrderExportAdapter;
+import com.arkam.order.infrastructure.adapter.persistence.r2dbc.R2dbcOrderRepositoryAdapter;
+import com.arkam.order.infrastructure.adapter.persistence.repository.OutboxJpaRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Plans every order-service repository query with EXPLAIN on the Flyway schema, filled with a year of orders, and
+ * fails if any of them reads a table or partition of realistic size sequentially. No SQL is written here: each
+ * test drives the JPA and the R2DBC adapters, {@link SqlCapture} records the statements they send with the values
+ * they bind, and each statement is planned twice, as a prepared statement under
+ * {@code plan_cache_mode = force_generic_plan} (the plan a pooled connection settles on after a few executions)
+ * and with the bound values as literals. The context runs with {@code ddl-auto=validate}, so it also checks that
+ * the migrations match the entities. Needs Docker; skipped otherwise.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "order.partitioning.maintenance.enabled=true",
+        "order.outbox.relay.enabled=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    private static final int ORDERS = 120_000;
+    private static final int ITEMS_PER_ORDER = 3;
+    private static final int USERS = 5_000;
+    private static final int CART_USERS = 20_000;
+    private static final int CART_LINES_PER_USER = 3;
+    private static final int OUTBOX_ROWS = 5_000;
+    // Empty or near-empty relations, such as orders_default and future months, are cheapest to read in full
+    private static final long REALISTIC_ROWS = 1_000;
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$(\\d+)");
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14");
+
+    @TestConfiguration
+    static class CaptureConfig {
+
+        @Bean
+        static SqlCapture sqlCapture() {
+            return new SqlCapture();
+        }
+    }
+
+    @Autowired
+    private SqlCapture sqlCapture;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OrderPartitionMaintenance partitionMaintenance;
+
+    @Autowired
+    private OrderPartitions orderPartitions;
+
+    @Autowired
+    @Qualifier(CachingCartItemRepositoryAdapter.DELEGATE)
+    private CartItemRepositoryPort jpaCartItems;
+
+    @Autowired
+    private OrderRepositoryPort jpaOrders;
+
+    @Autowired
+    private OrderExportPort jpaExport;
+
+    @Autowired
+    private AbandonedCartPurge abandonedCartPurge;
+
+    @Autowired
+    private OutboxJpaRepository outboxJpaRepository;
+
+    @Autowired
+    private OrderOutboxMapper orderOutboxMapper;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Map<String, Long> rowCounts;
+    private ConnectionPool connectionPool;
+    private CartItemRepositoryPort r2dbcCartItems;
+    private OrderRepositoryPort r2dbcOrders;
+    private OrderExportPort r2dbcExport;
+
+    // One cart in a hundred has been idle for two months, enough for the purge to run more than one chunk
+    @BeforeAll
+    void seed() {
+        YearMonth current = YearMonth.now();
+        for (int monthsBack = 12; monthsBack >= 0; monthsBack -= 4) {
+            partitionMaintenance.createAhead(current.minusMonths(monthsBack));
+        }
+        jdbcTemplate.update("INSERT INTO orders (id, user_id, total_amount, status, created_at, updated_at) "
+                + "SELECT i, 'user-' || (i % ?), (i % 900) + 9.99, "
+                + "(ARRAY['PENDING', 'CONFIRMED', 'SHIPPED', 'DELIVERED'])[i % 4 + 1], "
+                + "LOCALTIMESTAMP - (i % 330) * INTERVAL '1 day' - (i % 86400) * INTERVAL '1 second', LOCALTIMESTAMP "
+                + "FROM generate_series(1, ?) AS i", USERS, ORDERS);
+        jdbcTemplate.update("INSERT INTO order_item_entity (id, order_id, order_created_at, product_id, quantity, price) "
+                + "SELECT j, o.id, o.created_at, (j % 500)::text, j % 3 + 1, (j % 300) + 0.99 "
+                + "FROM generate_series(1, ?) AS j JOIN orders o ON o.id = (j - 1) / ? + 1",
+                ORDERS * ITEMS_PER_ORDER, ITEMS_PER_ORDER);
+        jdbcTemplate.update("INSERT INTO cart_items (id, user_id, product_id, quantity, price, created_at, updated_at) "
+                + "SELECT j, 'cart-user-' || (j % ?), (j / ?)::text, 1, 9.99, LOCALTIMESTAMP, "
+                + "CASE WHEN j % ? % 100 = 99 THEN LOCALTIMESTAMP - INTERVAL '60 days' ELSE LOCALTIMESTAMP END "
+                + "FROM generate_series(1, ?) AS j", CART_USERS, CART_USERS, CART_USERS, CART_USERS * CART_LINES_PER_USER);
+        jdbcTemplate.update("INSERT INTO order_outbox (id, aggregate_id, event_type, payload, created_at) "
+                + "SELECT i, i, 'OrderCreated', '{}', LOCALTIMESTAMP FROM generate_series(1, ?) AS i", OUTBOX_ROWS);
+        // The rows above took their ids directly; the adapters draw theirs from the sequences
+        for (String table : List.of("orders", "order_item_entity", "cart_items", "order_outbox")) {
+            jdbcTemplate.queryForObject("SELECT setval('" + table + "_seq', (SELECT MAX(id) FROM " + table + "))",
+                    Long.class);
+        }
+        jdbcTemplate.execute("ANALYZE");
+        rowCounts = jdbcTemplate.queryForList("SELECT relname, reltuples::bigint AS reltuples FROM pg_class "
+                        + "WHERE relkind = 'r' AND relnamespace = 'public'::regnamespace").stream()
+                .collect(Collectors.toMap(row -> (String) row.get("relname"), row -> ((Number) row.get("reltuples")).longValue()));
+
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(
+                        ConnectionFactoryOptions.parse(postgres.getJdbcUrl().replace("jdbc:", "r2dbc:")).mutate()
+                                .option(ConnectionFactoryOptions.USER, postgres.getUsername())
+                                .option(ConnectionFactoryOptions.PASSWORD, postgres.getPassword())
+                                .build()))
+                .maxSize(2)
+                .build());
+        ConnectionFactory connectionFactory = sqlCapture.connectionFactory(connectionPool);
+        DatabaseClient databaseClient = DatabaseClient.create(connectionFactory);
+        TransactionalOperator operator = TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+        r2dbcCartItems = new R2dbcCartItemRepositoryAdapter(databaseClient);
+        r2dbcOrders = new R2dbcOrderRepositoryAdapter(databaseClient, operator, event -> {}, orderOutboxMapper,
+                orderPartitions, 1000);
+        r2dbcExport = new R2dbcOrderExportAdapter(databaseClient, operator, orderPartitions, 500);
+    }
+
+    @AfterAll
+    void closePool() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+
+    @Test
+    void testCartQueriesUseUserProductIndex() {
+        assertNoSequentialScan(sqlCapture.capture(() -> useCart(jpaCartItems, "cart-user-42", "cart-user-43")));
+        assertNoSequentialScan(sqlCapture.capture(() -> useCart(r2dbcCartItems, "cart-user-52", "cart-user-53")));
+    }
+
+    @Test
+    void testCheckoutLocksAndDeletesCartLinesByIndex() {
+        assertNoSequentialScan(sqlCapture.capture(() -> checkout(jpaCartItems, jpaOrders, "cart-user-62")));
+        assertNoSequentialScan(sqlCapture.capture(() -> checkout(r2dbcCartItems, r2dbcOrders, "cart-user-72")));
+    }
+
+    @Test
+    void testAbandonedCartPurgeUsesUpdatedAtIndex() {
+        assertNoSequentialScan(sqlCapture.capture(() ->
+                assertTrue(abandonedCartPurge.purge(LocalDateTime.now().minusDays(30)) > 0)));
+    }
+
+    @Test
+    void testOrderHistoryUsesUserCreatedIndexAndItemIndex() {
+        assertNoSequentialScan(sqlCapture.capture(() -> browseHistory(jpaOrders, "user-42")));
+        assertNoSequentialScan(sqlCapture.capture(() -> browseHistory(r2dbcOrders, "user-43")));
+    }
+
+    @Test
+    void testOrderLookupsAndStatusUpdatesUsePrimaryKey() {
+        assertNoSequentialScan(sqlCapture.capture(() -> lookUpAndUpdate(jpaOrders, List.of(11L, 4242L, 70001L))));
+        assertNoSequentialScan(sqlCapture.capture(() -> lookUpAndUpdate(r2dbcOrders, List.of(12L, 4243L, 70002L))));
+    }
+
+    @Test
+    void testExportOfOneDayUsesCreatedAtIndex() {
+        LocalDateTime from = LocalDateTime.now().minusDays(30).toLocalDate().atStartOfDay();
+
+        assertNoSequentialScan(sqlCapture.capture(() ->
+                assertFalse(jpaExport.streamByCreatedAt(from, from.plusDays(1)).collectList().block().isEmpty())));
+        assertNoSequentialScan(sqlCapture.capture(() ->
+                assertFalse(r2dbcExport.streamByCreatedAt(from, from.plusDays(1)).collectList().block().isEmpty())));
+    }
+
+    // The relay is disabled in this context; its two repository calls are made here instead
+    @Test
+    void testOutboxRelayUsesPrimaryKey() {
+        assertNoSequentialScan(sqlCapture.capture(() -> transactionTemplate.executeWithoutResult(status ->
+                outboxJpaRepository.deleteByIds(outboxJpaRepository.lockNextBatch(100).stream()
+                        .map(OutboxEventEntity::getId)
+                        .toList()))));
+    }
+
+    private void useCart(CartItemRepositoryPort cartItems, String userId, String otherUserId) {
+        List<CartItem> lines = cartItems.findByUserId(userId).collectList().block();
+        cartItems.findByUserIdAndProductId(userId, lines.get(0).getProductId()).block();
+        cartItems.summarize(userId).block();
+        cartItems.upsertQuantity(cartItem(userId, lines.get(0).getProductId())).block();
+        cartItems.upsertQuantities(userId, List.of(cartItem(userId, "7"), cartItem(userId, "8"))).block();
+        cartItems.save(cartItem(userId, "9")).block();
+        cartItems.delete(lines.get(1)).block();
+        cartItems.deleteByUserId(otherUserId).block();
+    }
+
+    private void checkout(CartItemRepositoryPort cartItems, OrderRepositoryPort orders, String userId) {
+        List<CartItem> lines = cartItems.findByUserId(userId).collectList().block();
+        Order order = new Order();
+        order.setUserId(userId);
+        order.setItems(lines.stream()
+                .map(line -> new OrderItem(null, line.getProductId(), line.getQuantity(), line.getPrice()))
+                .collect(Collectors.toList()));
+        order.calculateTotalAmount();
+        orders.placeOrder(order, lines.stream().collect(Collectors.toMap(CartItem::getId, CartItem::getQuantity)))
+                .block();
+    }
+
+    private void browseHistory(OrderRepositoryPort orders, String userId) {
+        List<Order> firstPage = orders.findByUserId(userId, null, 21).collectList().block();
+        assertEquals(21, firstPage.size());
+        orders.findByUserId(userId, OrderCursor.of(firstPage.get(firstPage.size() - 1)), 21).collectList().block();
+    }
+
+    private void lookUpAndUpdate(OrderRepositoryPort orders, List<Long> ids) {
+        orders.findById(ids.get(1)).block();
+        orders.updateStatus(ids, Set.of(OrderStatus.PENDING), OrderStatus.CONFIRMED).block();
+    }
+
+    private void assertNoSequentialScan(List<CapturedStatement> sent) {
+        Map<String, CapturedStatement> distinct = new LinkedHashMap<>();
+        sent.stream()
+                .filter(statement -> statement.sql().stripLeading().toLowerCase()
+                        .matches("(select|insert|update|delete|with)\\b[\\s\\S]*"))
+                .forEach(statement -> distinct.putIfAbsent(statement.sql(), statement));
+        assertFalse(distinct.isEmpty(), "no statement was captured");
+
+        List<String> failures = new ArrayList<>();
+        for (CapturedStatement statement : distinct.values()) {
+            List<String> generic = sequentialScans(genericPlan(statement));
+            List<String> literal = sequentialScans(literalPlan(statement));
+            if (!generic.isEmpty() || !literal.isEmpty()) {
+                failures.add(statement.sql() + " -> generic plan " + generic + ", with literals " + literal);
+            }
+        }
+        assertEquals(List.of(), failures);
+    }
+
+    // The plan Postgres keeps reusing for a prepared statement once it stops planning each execution
+    private String genericPlan(CapturedStatement statement) {
+        List<Object> parameters = statement.parameters();
+        String types = parameters.stream().map(QueryPlanTest::type).collect(Collectors.joining(", "));
+        String values = parameters.stream().map(QueryPlanTest::literal).collect(Collectors.joining(", "));
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement sql = connection.createStatement()) {
+                sql.execute("SET plan_cache_mode = force_generic_plan");
+                sql.execute("PREPARE plan_check" + (parameters.isEmpty() ? "" : "(" + types + ")") + " AS "
+                        + statement.sql());
+                try (ResultSet plan = sql.executeQuery("EXPLAIN (FORMAT JSON) EXECUTE plan_check"
+                        + (parameters.isEmpty() ? "" : "(" + values + ")"))) {
+                    plan.next();
+                    return plan.getString(1);
+                } finally {
+                    sql.execute("DEALLOCATE plan_check");
+                    sql.execute("RESET plan_cache_mode");
+                }
+            }
+        });
+    }
+
+    private String literalPlan(CapturedStatement statement) {
+        String sql = PLACEHOLDER.matcher(statement.sql()).replaceAll(placeholder -> Matcher.quoteReplacement(
+                literal(statement.parameters().get(Integer.parseInt(placeholder.group(1)) - 1))));
+        return jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class);
+    }
+
+    // Relations of realistic size the plan reads sequentially
+    private List<String> sequentialScans(String explained) {
+        try {
+            JsonNode plan = objectMapper.readTree(explained);
+            List<String> relations = new ArrayList<>();
+            collectSequentialScans(plan.get(0).get("Plan"), relations);
+            return relations.stream()
+                    .filter(relation -> rowCounts.getOrDefault(relation, 0L) >= REALISTIC_ROWS)
+                    .toList();
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable plan " + explained, e);
+        }
+    }
+
+    private static void collectSequentialScans(JsonNode node, List<String> relations) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            relations.add(node.path("Relation Name").asText());
+        }
+        node.path("Plans").forEach(child -> collectSequentialScans(child, relations));
+    }
+
+    // Declared the way the drivers send them; pgjdbc binds strings as varchar
+    private static String type(Object value) {
+        if (value instanceof String || value instanceof Enum<?>) {
+            return "varchar";
+        }
+        if (value instanceof Long) {
+            return "bigint";
+        }
+        if (value instanceof Integer) {
+            return "integer";
+        }
+        if (value instanceof BigDecimal) {
+            return "numeric";
+        }
+        if (value instanceof Boolean) {
+            return "boolean";
+        }
+        if (value instanceof Timestamp || value instanceof Temporal) {
+            return "timestamp";
+        }
+        return "unknown";
+    }
+
+    private static String literal(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return value.toString();
+        }
+        if (value instanceof Timestamp || value instanceof Temporal) {
+            return "TIMESTAMP '" + value + "'";
+        }
+        String text = value instanceof Enum<?> constant ? constant.name() : value.toString();
+        return "'" + text.replace("'", "''") + "'";
+    }
+
+    private static CartItem cartItem(String userId, String productId) {
+        CartItem cartItem = new CartItem();
+        cartItem.setUserId(userId);
+        cartItem.setProductId(productId);
+        cartItem.setQuantity(1);
+        cartItem.setPrice(Money.of(BigDecimal.valueOf(9.99)));
+        cartItem.setCreatedAt(LocalDateTime.now());
+        cartItem.setUpdatedAt(LocalDateTime.now());
+        return cartItem;
+    }
+}
@@ -0,0 +1,48 @@
+package com.arkam.order.infrastructure.adapter.persistence;
+
+import com.arkam.order.infrastructure.adapter.persistence.SqlCapture.CapturedStatement;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SqlCaptureTest {
+
+    private final SqlCapture sqlCapture = new SqlCapture();
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sql-capture;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate((DataSource) sqlCapture.postProcessAfterInitialization(h2, "dataSource"));
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS lines (id BIGINT, user_id VARCHAR(64))");
+    }
+
+    @Test
+    void testRecordsNumberedSqlWithBoundValues() {
+        List<CapturedStatement> sent = sqlCapture.capture(() ->
+                jdbcTemplate.queryForList("SELECT id FROM lines WHERE user_id = ? AND id > ?", "user-1", 42L));
+
+        assertEquals(List.of(new CapturedStatement("SELECT id FROM lines WHERE user_id = $1 AND id > $2",
+                List.of("user-1", 42L))), sent);
+    }
+
+    @Test
+    void testRecordsEachRowOfABatchAndNothingOutsideCapture() {
+        jdbcTemplate.update("DELETE FROM lines WHERE id = ?", 1L);
+
+        List<CapturedStatement> sent = sqlCapture.capture(() -> jdbcTemplate.batchUpdate(
+                "INSERT INTO lines (id, user_id) VALUES (?, ?)",
+                List.of(new Object[]{1L, "user-1"}, new Object[]{2L, null})));
+
+        assertEquals(List.of(List.of(1L, "user-1"), Arrays.asList(2L, null)),
+                sent.stream().map(CapturedStatement::parameters).toList());
+    }
+}
@@ -0,0 +1,135 @@
+package com.arkam.order.infrastructure.adapter.persistence.cache;
+
+import com.arkam.order.application.port.out.CartItemRepositoryPort;
+import com.arkam.order.domain.model.CartItem;
+import com.arkam.order.domain.model.CartSummary;
+import com.arkam.order.domain.model.Money;
+import com.arkam.order.infrastructure.adapter.persistence.CartClearedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CachingCartItemRepositoryAdapterTest {
+
+    @Mock
+    private CartItemRepositoryPort delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachingCartItemRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        adapter = new CachingCartItemRepositoryAdapter(delegate, 100, Duration.ofMinutes(1), meterRegistry);
+        when(delegate.findByUserId("user1")).thenAnswer(invocation -> Flux.just(cartItem("prod1")));
+    }
+
+    @Test
+    void testRepeatedReadsHitCache() {
+        StepVerifier.create(adapter.findByUserId("user1")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(adapter.findByUserId("user1")).expectNextCount(1).verifyComplete();
+
+        verify(delegate, times(1)).findByUserId("user1");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", CachingCartItemRepositoryAdapter.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", CachingCartItemRepositoryAdapter.CACHE_NAME)
+                .tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void testAddInvalidatesCart() {
+        when(delegate.upsertQuantity(any(CartItem.class))).thenReturn(Mono.empty());
+
+        adapter.findByUserId("user1").blockLast();
+        adapter.upsertQuantity(cartItem("prod2")).block();
+        adapter.findByUserId("user1").blockLast();
+
+        verify(delegate, times(2)).findByUserId("user1");
+    }
+
+    @Test
+    void testBatchAddInvalidatesCart() {
+        when(delegate.upsertQuantities(eq("user1"), any())).thenReturn(Mono.empty());
+
+        adapter.findByUserId("user1").blockLast();
+        adapter.upsertQuantities("user1", List.of(cartItem("prod2"), cartItem("prod3"))).block();
+        adapter.findByUserId("user1").blockLast();
+
+        verify(delegate, times(2)).findByUserId("user1");
+    }
+
+    @Test
+    void testRemoveInvalidatesCart() {
+        when(delegate.delete(any(CartItem.class))).thenReturn(Mono.empty());
+
+        adapter.findByUserId("user1").blockLast();
+        adapter.delete(cartItem("prod1")).block();
+        adapter.findByUserId("user1").blockLast();
+
+        verify(delegate, times(2)).findByUserId("user1");
+    }
+
+    @Test
+    void testCheckoutInvalidatesOnlyThatCart() {
+        when(delegate.findByUserId("user2")).thenAnswer(invocation -> Flux.empty());
+
+        adapter.findByUserId("user1").blockLast();
+        adapter.findByUserId("user2").blockLast();
+        adapter.onCartCleared(new CartClearedEvent("user1"));
+        adapter.findByUserId("user1").blockLast();
+        adapter.findByUserId("user2").blockLast();
+
+        verify(delegate, times(2)).findByUserId("user1");
+        verify(delegate, times(1)).findByUserId("user2");
+    }
+
+    @Test
+    void testSummaryIsCachedAndDroppedOnWrite() {
+        when(delegate.summarize("user1")).thenAnswer(invocation ->
+                Mono.just(new CartSummary(1, 2, Money.of(BigDecimal.valueOf(20)))));
+        when(delegate.upsertQuantity(any(CartItem.class))).thenReturn(Mono.empty());
+
+        adapter.summarize("user1").block();
+        adapter.summarize("user1").block();
+        adapter.upsertQuantity(cartItem("prod2")).block();
+        adapter.summarize("user1").block();
+        adapter.onCartCleared(new CartClearedEvent("user1"));
+        adapter.summarize("user1").block();
+
+        verify(delegate, times(3)).summarize("user1");
+    }
+
+    @Test
+    void testFailedWriteStillInvalidates() {
+        when(delegate.upsertQuantity(any(CartItem.class))).thenReturn(Mono.error(new IllegalStateException("boom")));
+
+        adapter.findByUserId("user1").blockLast();
+        StepVerifier.create(adapter.upsertQuantity(cartItem("prod2"))).expectError(IllegalStateException.class).verify();
+        adapter.findByUserId("user1").blockLast();
+
+        verify(delegate, times(2)).findByUserId("user1");
+    }
+
+    private CartItem cartItem(String productId) {
+        CartItem cartItem = new CartItem();
+        cartItem.setUserId("user1");
+        cartItem.setProductId(productId);
+        cartItem.setQuantity(1);
+        return cartItem;
+    }
+}
@@ -0,0 +1,128 @@
+package com.arkam.order.infrastructure.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistenceSchedulerConfigTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private Scheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Test
+    void testBlockingWorkRunsOffCallerThread() {
+        scheduler = createScheduler("bounded-elastic", 10);
+        String caller = Thread.currentThread().getName();
+
+        StepVerifier.create(Mono.fromCallable(() -> Thread.currentThread().getName()).subscribeOn(scheduler))
+                .expectNextMatches(name -> !name.equals(caller) && name.startsWith("order-jdbc-"))
+                .verifyComplete();
+    }
+
+    @Test
+    void testVirtualMode() {
+        scheduler = createScheduler("virtual", 10);
+
+        StepVerifier.create(Mono.fromCallable(() -> Thread.currentThread().isVirtual()).subscribeOn(scheduler))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    void testVirtualModeRunsNoMoreTasksThanConnections() throws InterruptedException {
+        scheduler = createScheduler("virtual", 10);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch second = new CountDownLatch(1);
+
+        // the Hikari pool has one connection, so the second task waits for the first
+        Mono.fromRunnable(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        }).subscribeOn(scheduler).subscribe();
+        started.await();
+        Mono.fromRunnable(second::countDown).subscribeOn(scheduler).subscribe();
+
+        assertFalse(second.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(1.0, meterRegistry.get("executor.queued").tag("name", PersistenceSchedulerConfig.EXECUTOR_NAME)
+                .gauge().value());
+        release.countDown();
+        assertTrue(second.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testVirtualModeRejectsBeyondQueueCapacity() throws InterruptedException {
+        scheduler = createScheduler("virtual", 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        Mono.fromRunnable(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        }).subscribeOn(scheduler).subscribe();
+        started.await();
+        Mono.fromRunnable(() -> {}).subscribeOn(scheduler).subscribe();
+
+        StepVerifier.create(Mono.just(1).subscribeOn(scheduler))
+                .expectError(RejectedExecutionException.class)
+                .verify();
+        release.countDown();
+
+        assertEquals(1.0, meterRegistry.get("executor.rejected").counter().count());
+    }
+
+    @Test
+    void testRejectionsAreCountedWhenQueueIsFull() throws InterruptedException {
+        scheduler = createScheduler("bounded-elastic", 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        // one task occupies the single thread, the next one fills the queue
+        Mono.fromRunnable(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        }).subscribeOn(scheduler).subscribe();
+        started.await();
+        Mono.fromRunnable(() -> {}).subscribeOn(scheduler).subscribe();
+
+        StepVerifier.create(Mono.just(1).subscribeOn(scheduler))
+                .expectError(RejectedExecutionException.class)
+                .verify();
+        release.countDown();
+
+        assertEquals(1.0, meterRegistry.get("executor.rejected").counter().count());
+        assertNotNull(meterRegistry.get("executor.queued").tag("name", PersistenceSchedulerConfig.EXECUTOR_NAME).gauge());
+    }
+
+    private Scheduler createScheduler(String mode, int queueCapacity) {
+        PersistenceSchedulerConfig config = new PersistenceSchedulerConfig();
+        ReflectionTestUtils.setField(config, "mode", mode);
+        ReflectionTestUtils.setField(config, "threads", 0);
+        ReflectionTestUtils.setField(config, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(config, "hikariMaximumPoolSize", 1);
+        return config.persistenceScheduler(meterRegistry);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
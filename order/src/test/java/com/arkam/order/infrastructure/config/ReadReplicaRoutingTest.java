@@ -0,0 +1,134 @@
+package com.arkam.order.infrastructure.config;
+
+import com.arkam.order.application.port.out.CartItemRepositoryPort;
+import com.arkam.order.domain.model.CartItem;
+import com.arkam.order.domain.model.Money;
+import com.arkam.order.infrastructure.adapter.persistence.cache.CachingCartItemRepositoryAdapter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two separate in-memory databases stand in for the primary and the replica. Each holds a different cart line
+ * for the same user, so every read shows which pool served it. The replica reports its lag from a table the
+ * test controls.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingTest.PRIMARY_URL,
+        "order.datasource.replica.url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "order.datasource.replica.username=sa",
+        "order.datasource.replica.lag-query=SELECT lag_ms FROM replica_lag",
+        "order.datasource.replica.max-lag=2s",
+        "order.datasource.replica.lag-check-interval=1h"
+})
+class ReadReplicaRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:order-primary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+    static final String REPLICA_URL = "jdbc:h2:mem:order-replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    private static final String USER = "replica-user";
+
+    @Autowired
+    @Qualifier(CachingCartItemRepositoryAdapter.DELEGATE)
+    private CartItemRepositoryPort cartItemRepository;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    private ReplicaLagGuard replicaLagGuard;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    void setUp() {
+        replica.execute("CREATE TABLE IF NOT EXISTS cart_items (id BIGINT PRIMARY KEY, user_id VARCHAR(255), "
+                + "product_id VARCHAR(255), quantity INTEGER, price NUMERIC(38, 2), created_at TIMESTAMP(6), "
+                + "updated_at TIMESTAMP(6))");
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_lag (lag_ms BIGINT)");
+        replica.update("DELETE FROM cart_items");
+        replica.update("DELETE FROM replica_lag");
+        replica.update("INSERT INTO cart_items VALUES (1, ?, 'from-replica', 1, 9.99, LOCALTIMESTAMP, LOCALTIMESTAMP)", USER);
+        replica.update("INSERT INTO replica_lag VALUES (0)");
+
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        primary.update("DELETE FROM cart_items");
+        primary.update("INSERT INTO cart_items (id, user_id, product_id, quantity, price, created_at, updated_at) "
+                + "VALUES (-1, ?, 'from-primary', 1, 9.99, LOCALTIMESTAMP, LOCALTIMESTAMP)", USER);
+    }
+
+    @Test
+    void testCartReadsGoToReplicaWhileItKeepsUp() {
+        replicaLagGuard.check();
+
+        assertTrue(replicaLagGuard.replicaUsable());
+        assertEquals(List.of("from-replica"), productIds(USER));
+    }
+
+    @Test
+    void testLaggingReplicaFallsBackToPrimary() {
+        replica.update("UPDATE replica_lag SET lag_ms = 60000");
+        replicaLagGuard.check();
+
+        assertFalse(replicaLagGuard.replicaUsable());
+        assertEquals(List.of("from-primary"), productIds(USER));
+        assertEquals(60000, meterRegistry.get("order.datasource.replica.lag").gauge().value());
+    }
+
+    @Test
+    void testFailingLagCheckFallsBackToPrimary() {
+        replica.execute("DROP TABLE replica_lag");
+        replicaLagGuard.check();
+
+        assertFalse(replicaLagGuard.replicaUsable());
+        assertEquals(List.of("from-primary"), productIds(USER));
+        assertEquals(0, meterRegistry.get("order.datasource.replica.usable").gauge().value());
+    }
+
+    @Test
+    void testUserReadsOwnWriteFromPrimary() {
+        replicaLagGuard.check();
+        CartItem cartItem = new CartItem();
+        cartItem.setUserId("writer-user");
+        cartItem.setProductId("just-added");
+        cartItem.setQuantity(1);
+        cartItem.setPrice(Money.of(BigDecimal.valueOf(9.99)));
+
+        cartItemRepository.save(cartItem).block();
+
+        assertTrue(replicaLagGuard.replicaUsable());
+        assertEquals(List.of("just-added"), productIds("writer-user"));
+        assertEquals(0, replica.queryForObject("SELECT COUNT(*) FROM cart_items WHERE user_id = 'writer-user'", Long.class));
+    }
+
+    @Test
+    void testEachPoolReportsItsOwnConnectionMetrics() {
+        replicaLagGuard.check();
+        productIds(USER);
+
+        assertNotNull(meterRegistry.get("hikaricp.connections").tag("pool", "order-primary").gauge());
+        assertNotNull(meterRegistry.get("hikaricp.connections").tag("pool", "order-replica").gauge());
+    }
+
+    private List<String> productIds(String userId) {
+        return cartItemRepository.findByUserId(userId).map(CartItem::getProductId).collectList().block();
+    }
+}
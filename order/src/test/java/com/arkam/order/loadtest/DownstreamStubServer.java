@@ -0,0 +1,167 @@
+package com.arkam.order.loadtest;
+
+import com.arkam.order.application.dto.ProductResponse;
+import com.arkam.order.application.dto.UserResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.reactivestreams.Publisher;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * In-process stand-in for product-service and user-service. Serves the endpoints ProductServiceClient and
+ * UserServiceClient call, on one local port, with a configurable delay and error rate per service.
+ * <p>
+ * Products 1..catalogSize always exist with plenty of stock, and every user exists, so any failure seen by the
+ * order service comes from the injected faults.
+ */
+public class DownstreamStubServer implements AutoCloseable {
+
+    private static final int STOCK = 1_000_000;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final int catalogSize;
+    private final Fault productFault;
+    private final Fault userFault;
+    private final LongAdder productCalls = new LongAdder();
+    private final LongAdder userCalls = new LongAdder();
+    private final DisposableServer server;
+
+    public DownstreamStubServer(int catalogSize, Fault productFault, Fault userFault) {
+        this.catalogSize = catalogSize;
+        this.productFault = productFault;
+        this.userFault = userFault;
+        this.server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes
+                        .get("/api/products/batch", (request, response) -> product(response, () ->
+                                json(response, products(new QueryStringDecoder(request.uri()).parameters().get("ids")))))
+                        .get("/api/products/{id}", (request, response) -> product(response, () -> {
+                            long id = Long.parseLong(request.param("id"));
+                            return id >= 1 && id <= catalogSize
+                                    ? json(response, product(id))
+                                    : response.status(HttpResponseStatus.NOT_FOUND).send();
+                        }))
+                        .post("/internal/stock/reservations", (request, response) ->
+                                request.receive().then(product(response, response::send)))
+                        .post("/internal/stock/reservations/{reservationId}/confirmation", (request, response) ->
+                                product(response, () -> response.status(HttpResponseStatus.NO_CONTENT).send()))
+                        .delete("/internal/stock/reservations/{reservationId}", (request, response) ->
+                                product(response, () -> response.status(HttpResponseStatus.NO_CONTENT).send()))
+                        .get("/api/users/{id}", (request, response) -> faulted(userFault, userCalls, response,
+                                () -> json(response, user(request.param("id"))))))
+                .bindNow();
+    }
+
+    public String uri() {
+        return "http://127.0.0.1:" + server.port();
+    }
+
+    public long productCalls() {
+        return productCalls.sum();
+    }
+
+    public long userCalls() {
+        return userCalls.sum();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private Mono<Void> product(HttpServerResponse response, Supplier<Publisher<Void>> handler) {
+        return faulted(productFault, productCalls, response, handler);
+    }
+
+    private static Mono<Void> faulted(Fault fault, LongAdder calls, HttpServerResponse response,
+                                      Supplier<Publisher<Void>> handler) {
+        calls.increment();
+        return Mono.delay(fault.nextDelay())
+                .then(Mono.defer(() -> fault.nextFails()
+                        ? response.status(HttpResponseStatus.SERVICE_UNAVAILABLE).send().then()
+                        : Mono.from(handler.get())));
+    }
+
+    private Publisher<Void> json(HttpServerResponse response, Object body) {
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        return response.header(HttpHeaderNames.CONTENT_TYPE, "application/json").sendByteArray(Mono.just(bytes));
+    }
+
+    // Spring sends a list parameter as repeated ids=1&ids=2; comma-separated values are accepted as well
+    private List<ProductResponse> products(List<String> ids) {
+        List<ProductResponse> products = new ArrayList<>();
+        if (ids == null) {
+            return products;
+        }
+        for (String value : ids) {
+            for (String id : value.split(",")) {
+                long productId = Long.parseLong(id.trim());
+                if (productId >= 1 && productId <= catalogSize) {
+                    products.add(product(productId));
+                }
+            }
+        }
+        return products;
+    }
+
+    private static ProductResponse product(long id) {
+        ProductResponse product = new ProductResponse();
+        product.setId(id);
+        product.setName("Product " + id);
+        product.setPrice(BigDecimal.valueOf(499 + id * 37 % 9500, 2));
+        product.setStockQuantity(STOCK);
+        product.setCategory("load-test");
+        product.setActive(true);
+        return product;
+    }
+
+    private static UserResponse user(String id) {
+        UserResponse user = new UserResponse();
+        user.setId(id);
+        user.setFirstName("Load");
+        user.setLastName("Test");
+        user.setEmail(id + "@example.com");
+        return user;
+    }
+
+    /**
+     * Delay of {@code latency} plus a uniform random extra up to {@code jitter}, and a 503 instead of the normal
+     * answer with probability {@code errorRate}.
+     */
+    public record Fault(Duration latency, Duration jitter, double errorRate) {
+
+        public static final Fault NONE = new Fault(Duration.ZERO, Duration.ZERO, 0);
+
+        Duration nextDelay() {
+            long jitterNanos = jitter.toNanos();
+            return jitterNanos > 0
+                    ? latency.plusNanos(ThreadLocalRandom.current().nextLong(jitterNanos + 1))
+                    : latency;
+        }
+
+        boolean nextFails() {
+            return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.arkam.order.loadtest;
+
+import com.arkam.order.application.dto.ProductResponse;
+import com.arkam.order.application.dto.UserResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DownstreamStubServerTest {
+
+    @Test
+    void testServesCatalogAndUsers() {
+        try (DownstreamStubServer stubs = new DownstreamStubServer(10, DownstreamStubServer.Fault.NONE,
+                DownstreamStubServer.Fault.NONE)) {
+            WebClient client = WebClient.create(stubs.uri());
+
+            ProductResponse product = client.get().uri("/api/products/3").retrieve()
+                    .bodyToMono(ProductResponse.class).block();
+            List<ProductResponse> batch = client.get().uri("/api/products/batch?ids=1&ids=2,11").retrieve()
+                    .bodyToMono(new ParameterizedTypeReference<List<ProductResponse>>() {}).block();
+            UserResponse user = client.get().uri("/api/users/user-1").retrieve()
+                    .bodyToMono(UserResponse.class).block();
+            HttpStatusCode missing = client.get().uri("/api/products/11")
+                    .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode())).block();
+
+            assertEquals(3L, product.getId());
+            assertTrue(product.getStockQuantity() > 0);
+            assertEquals(List.of(1L, 2L), batch.stream().map(ProductResponse::getId).toList());
+            assertEquals("user-1", user.getId());
+            assertEquals(404, missing.value());
+            assertEquals(3, stubs.productCalls());
+            assertEquals(1, stubs.userCalls());
+        }
+    }
+
+    @Test
+    void testInjectsLatencyAndErrorsPerService() {
+        DownstreamStubServer.Fault slowAndFailing = new DownstreamStubServer.Fault(Duration.ofMillis(100), Duration.ZERO, 1.0);
+        try (DownstreamStubServer stubs = new DownstreamStubServer(10, slowAndFailing, DownstreamStubServer.Fault.NONE)) {
+            WebClient client = WebClient.create(stubs.uri());
+
+            long start = System.nanoTime();
+            HttpStatusCode product = client.get().uri("/api/products/1")
+                    .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode())).block();
+            long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+            HttpStatusCode user = client.get().uri("/api/users/user-1")
+                    .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode())).block();
+
+            assertEquals(503, product.value());
+            assertTrue(elapsedMillis >= 100, "elapsed: " + elapsedMillis);
+            assertEquals(200, user.value());
+        }
+    }
+
+    @Test
+    void testRejectsUnknownHarnessOption() {
+        assertThrows(IllegalArgumentException.class, () -> OrderLoadHarness.Options.parse("userz=4"));
+        OrderLoadHarness.Options options = OrderLoadHarness.Options.parse("users=4", "order.product-cache.maximum-size=0");
+        assertEquals(4, options.intValue("users"));
+        assertEquals("0", options.applicationProperties().get("order.product-cache.maximum-size"));
+    }
+}
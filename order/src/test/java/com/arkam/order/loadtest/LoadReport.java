@@ -0,0 +1,84 @@
+package com.arkam.order.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcome of one measured run: throughput and latency percentiles per operation, plus how often the stubs were
+ * called. Latencies are end to end as seen by the load client, in milliseconds.
+ */
+public record LoadReport(Map<String, String> options,
+                         double durationSeconds,
+                         List<Operation> operations,
+                         long productServiceCalls,
+                         long userServiceCalls) {
+
+    public Operation operation(String name) {
+        return operations.stream()
+                .filter(operation -> operation.name().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%n%-12s %9s %8s %10s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : operations) {
+            out.printf("%-12s %9d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n", operation.name(), operation.requests(),
+                    operation.errors(), operation.throughput(), operation.p50Millis(), operation.p99Millis(),
+                    operation.p999Millis(), operation.maxMillis());
+        }
+        out.printf("%nstub calls: product-service %d, user-service %d over %.1fs%n",
+                productServiceCalls, userServiceCalls, durationSeconds);
+    }
+
+    public record Operation(String name,
+                            long requests,
+                            long errors,
+                            double throughput,
+                            double p50Millis,
+                            double p99Millis,
+                            double p999Millis,
+                            double maxMillis) {
+    }
+
+    /**
+     * Latencies and non-2xx answers of one operation while a phase runs; safe to record from any thread.
+     */
+    static final class Recorder {
+
+        private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+        private final String name;
+        private final Histogram latencies = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+        private final LongAdder errors = new LongAdder();
+
+        Recorder(String name) {
+            this.name = name;
+        }
+
+        void record(long nanos, boolean success) {
+            latencies.recordValue(Math.min(nanos, MAX_TRACKABLE_NANOS));
+            if (!success) {
+                errors.increment();
+            }
+        }
+
+        Operation toOperation(double durationSeconds) {
+            long requests = latencies.getTotalCount();
+            return new Operation(name, requests, errors.sum(), requests / durationSeconds,
+                    millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(99)),
+                    millis(latencies.getValueAtPercentile(99.9)), millis(latencies.getMaxValue()));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
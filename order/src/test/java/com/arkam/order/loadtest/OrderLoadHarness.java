@@ -0,0 +1,246 @@
+package com.arkam.order.loadtest;
+
+import com.arkam.order.OrderApplication;
+import com.arkam.order.application.dto.CartItemRequest;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Starts the whole order service on a random port, with {@link DownstreamStubServer} in place of product-service
+ * and user-service (registered through the simple discovery client, so the {@code @LoadBalanced} clients,
+ * hedging and caches all stay in the path) and a throwaway Postgres from Testcontainers, or the database
+ * given by {@code jdbc-url}. H2 is not an option: the cart upserts are Postgres {@code ON CONFLICT} statements.
+ * <p>
+ * Each virtual user loops over one shopping session for the whole run: {@code cart-lines} single adds to the
+ * cart, one cart read and one checkout. Users are closed loop, so a slow answer also delays that user's next
+ * request; raise {@code users} rather than reading the tail percentiles as open-loop arrival latency.
+ * <p>
+ * {@code mvn -Ploadtest test -Dloadtest.args="users=64 duration=60s product-error-rate=0.01"}. Options are
+ * {@code key=value}; any key containing a dot is passed to the application as a property, e.g.
+ * {@code order.product-cache.maximum-size=0}. The report is printed and written as JSON to {@code result}.
+ */
+public final class OrderLoadHarness {
+
+    static final String ADD_TO_CART = "add-to-cart";
+    static final String VIEW_CART = "view-cart";
+    static final String CHECKOUT = "checkout";
+
+    private static final String USER_HEADER = "X-User-ID";
+
+    private OrderLoadHarness() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Options options = Options.parse(args);
+        LoadReport report = run(options);
+        report.print(System.out);
+        Path result = Path.of(options.get("result")).toAbsolutePath();
+        Files.createDirectories(result.getParent());
+        Jackson2ObjectMapperBuilder.json().build().writerWithDefaultPrettyPrinter().writeValue(result.toFile(), report);
+        System.out.println("result: " + result);
+    }
+
+    public static LoadReport run(Options options) {
+        PostgreSQLContainer<?> postgres = null;
+        try (DownstreamStubServer stubs = new DownstreamStubServer(options.intValue("catalog"),
+                options.fault("product"), options.fault("user"))) {
+            String jdbcUrl = options.get("jdbc-url");
+            String username = options.get("jdbc-username");
+            String password = options.get("jdbc-password");
+            if (jdbcUrl.isEmpty()) {
+                postgres = new PostgreSQLContainer<>("postgres:14");
+                postgres.start();
+                jdbcUrl = postgres.getJdbcUrl();
+                username = postgres.getUsername();
+                password = postgres.getPassword();
+            }
+            try (ConfigurableApplicationContext application = start(options, stubs, jdbcUrl, username, password)) {
+                int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+                WebClient client = WebClient.builder()
+                        .baseUrl("http://127.0.0.1:" + port)
+                        .clientConnector(new ReactorClientHttpConnector(HttpClient.create(
+                                        ConnectionProvider.builder("order-load")
+                                                .maxConnections(options.intValue("users"))
+                                                .pendingAcquireMaxCount(-1)
+                                                .build())
+                                .responseTimeout(Duration.ofSeconds(30))))
+                        .build();
+
+                drive(client, options, options.duration("warmup"));
+                long productCalls = stubs.productCalls();
+                long userCalls = stubs.userCalls();
+                long start = System.nanoTime();
+                Map<String, LoadReport.Recorder> recorders = drive(client, options, options.duration("duration"));
+                double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+                List<LoadReport.Operation> operations = new ArrayList<>();
+                recorders.values().forEach(recorder -> operations.add(recorder.toOperation(seconds)));
+                return new LoadReport(options.values(), seconds, operations,
+                        stubs.productCalls() - productCalls, stubs.userCalls() - userCalls);
+            }
+        } finally {
+            if (postgres != null) {
+                postgres.stop();
+            }
+        }
+    }
+
+    // Command-line arguments, so they win over any application.yml on the classpath
+    private static ConfigurableApplicationContext start(Options options, DownstreamStubServer stubs,
+                                                        String jdbcUrl, String username, String password) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.cloud.config.enabled", "false");
+        properties.put("eureka.client.enabled", "false");
+        properties.put("spring.cloud.discovery.client.simple.instances.product-service[0].uri", stubs.uri());
+        properties.put("spring.cloud.discovery.client.simple.instances.user-service[0].uri", stubs.uri());
+        properties.put("spring.datasource.url", jdbcUrl);
+        properties.put("spring.datasource.username", username);
+        properties.put("spring.datasource.password", password);
+        properties.put("spring.flyway.enabled", "true");
+        properties.put("spring.jpa.hibernate.ddl-auto", "none");
+        // No broker here; checkouts still write their outbox rows
+        properties.put("order.outbox.relay.enabled", "false");
+        properties.putAll(options.applicationProperties());
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(OrderApplication.class).run(args);
+    }
+
+    private static Map<String, LoadReport.Recorder> drive(WebClient client, Options options, Duration duration) {
+        Map<String, LoadReport.Recorder> recorders = new LinkedHashMap<>();
+        for (String operation : List.of(ADD_TO_CART, VIEW_CART, CHECKOUT)) {
+            recorders.put(operation, new LoadReport.Recorder(operation));
+        }
+        if (duration.isZero()) {
+            return recorders;
+        }
+        int users = options.intValue("users");
+        int cartLines = options.intValue("cart-lines");
+        int catalogSize = options.intValue("catalog");
+        long deadline = System.nanoTime() + duration.toNanos();
+        Flux.range(0, users)
+                .flatMap(user -> Mono.defer(() -> session(client, recorders, "load-user-" + user, cartLines, catalogSize))
+                        .repeat(() -> System.nanoTime() < deadline), users)
+                .blockLast();
+        return recorders;
+    }
+
+    private static Mono<Void> session(WebClient client, Map<String, LoadReport.Recorder> recorders, String userId,
+                                      int cartLines, int catalogSize) {
+        return Flux.range(0, cartLines)
+                .concatMap(line -> timed(recorders.get(ADD_TO_CART), () -> {
+                    CartItemRequest request = new CartItemRequest();
+                    request.setProductId(String.valueOf(ThreadLocalRandom.current().nextInt(catalogSize) + 1));
+                    request.setQuantity(1);
+                    return client.post().uri("/api/cart").header(USER_HEADER, userId).bodyValue(request);
+                }))
+                .then(timed(recorders.get(VIEW_CART), () -> client.get().uri("/api/cart").header(USER_HEADER, userId)))
+                .then(timed(recorders.get(CHECKOUT), () -> client.post().uri("/api/orders").header(USER_HEADER, userId)));
+    }
+
+    private static Mono<Void> timed(LoadReport.Recorder recorder, Supplier<WebClient.RequestHeadersSpec<?>> request) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return request.get()
+                    .exchangeToMono(response -> response.releaseBody()
+                            .thenReturn(response.statusCode().is2xxSuccessful()))
+                    .onErrorReturn(false)
+                    .doOnNext(success -> recorder.record(System.nanoTime() - start, success));
+        }).then();
+    }
+
+    /**
+     * Harness options as {@code key=value} pairs over {@link #DEFAULTS}.
+     */
+    public record Options(Map<String, String> values) {
+
+        static final Map<String, String> DEFAULTS = defaults();
+
+        public static Options parse(String... args) {
+            Map<String, String> values = new LinkedHashMap<>(DEFAULTS);
+            for (String arg : args) {
+                int separator = arg.indexOf('=');
+                if (separator <= 0) {
+                    throw new IllegalArgumentException("Expected key=value, got: " + arg);
+                }
+                String key = arg.substring(0, separator);
+                if (!key.contains(".") && !DEFAULTS.containsKey(key)) {
+                    throw new IllegalArgumentException("Unknown option " + key + ", expected one of " + DEFAULTS.keySet());
+                }
+                values.put(key, arg.substring(separator + 1));
+            }
+            return new Options(values);
+        }
+
+        String get(String key) {
+            return values.get(key);
+        }
+
+        int intValue(String key) {
+            return Integer.parseInt(get(key));
+        }
+
+        Duration duration(String key) {
+            return DurationStyle.detectAndParse(get(key));
+        }
+
+        DownstreamStubServer.Fault fault(String service) {
+            return new DownstreamStubServer.Fault(duration(service + "-latency"), duration(service + "-jitter"),
+                    Double.parseDouble(get(service + "-error-rate")));
+        }
+
+        Map<String, String> applicationProperties() {
+            Map<String, String> properties = new LinkedHashMap<>();
+            values.forEach((key, value) -> {
+                if (key.contains(".")) {
+                    properties.put(key, value);
+                }
+            });
+            return properties;
+        }
+
+        private static Map<String, String> defaults() {
+            Map<String, String> defaults = new LinkedHashMap<>();
+            defaults.put("users", "32");
+            defaults.put("warmup", "10s");
+            defaults.put("duration", "30s");
+            defaults.put("cart-lines", "3");
+            defaults.put("catalog", "500");
+            defaults.put("product-latency", "10ms");
+            defaults.put("product-jitter", "5ms");
+            defaults.put("product-error-rate", "0");
+            defaults.put("user-latency", "5ms");
+            defaults.put("user-jitter", "2ms");
+            defaults.put("user-error-rate", "0");
+            defaults.put("jdbc-url", "");
+            defaults.put("jdbc-username", "");
+            defaults.put("jdbc-password", "");
+            defaults.put("result", "target/loadtest-result.json");
+            defaults.put("logging.level.root", "WARN");
+            return defaults;
+        }
+    }
+}
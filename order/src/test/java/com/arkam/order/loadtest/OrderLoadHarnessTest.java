@@ -0,0 +1,26 @@
+package com.arkam.order.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A few seconds of harness traffic end to end. Needs Docker for the Postgres container; skipped otherwise.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class OrderLoadHarnessTest {
+
+    @Test
+    void testDrivesCartAndCheckoutTraffic() {
+        LoadReport report = OrderLoadHarness.run(OrderLoadHarness.Options.parse(
+                "users=4", "warmup=1s", "duration=3s", "cart-lines=2"));
+
+        LoadReport.Operation checkout = report.operation(OrderLoadHarness.CHECKOUT);
+        assertTrue(checkout.requests() > 0);
+        assertEquals(0, checkout.errors());
+        assertEquals(0, report.operation(OrderLoadHarness.ADD_TO_CART).errors());
+        assertTrue(report.productServiceCalls() > 0);
+    }
+}
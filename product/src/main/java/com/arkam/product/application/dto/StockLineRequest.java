@@ -0,0 +1,13 @@
+package com.arkam.product.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLineRequest {
+    private Long productId;
+    private Integer quantity;
+}
@@ -0,0 +1,13 @@
+package com.arkam.product.application.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class StockReservationRequest {
+    // Chosen by the caller, so that a retried request names the reservation it already made
+    private String reservationId;
+    private List<StockLineRequest> items = new ArrayList<>();
+}
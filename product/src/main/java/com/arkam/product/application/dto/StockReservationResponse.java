@@ -0,0 +1,14 @@
+package com.arkam.product.application.dto;
+
+import com.arkam.product.domain.model.StockReservationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationResponse {
+    private String reservationId;
+    private StockReservationStatus status;
+}
@@ -0,0 +1,10 @@
+package com.arkam.product.application.port.in;
+
+import com.arkam.product.application.dto.StockReservationResponse;
+import reactor.core.publisher.Mono;
+
+public interface ConfirmStockUseCase {
+    // Keeps the stock of a pending reservation for good; empty for an unknown id. A reservation released in the
+    // meantime stays released
+    Mono<StockReservationResponse> confirmStock(String reservationId);
+}
@@ -0,0 +1,13 @@
+package com.arkam.product.application.port.in;
+
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public interface ExpireStockReservationsUseCase {
+    // Releases up to limit reservations still pending since before createdBefore; returns how many it released
+    Mono<Integer> releaseExpired(LocalDateTime createdBefore, int limit);
+
+    // Forgets confirmed and released reservations last changed before the cutoff; returns how many
+    Mono<Integer> deleteFinished(LocalDateTime changedBefore);
+}
@@ -0,0 +1,10 @@
+package com.arkam.product.application.port.in;
+
+import com.arkam.product.application.dto.ProductResponse;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+public interface GetProductsUseCase {
+    Flux<ProductResponse> getProducts(Collection<Long> ids);
+}
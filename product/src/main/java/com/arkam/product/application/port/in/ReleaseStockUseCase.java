@@ -0,0 +1,8 @@
+package com.arkam.product.application.port.in;
+
+import reactor.core.publisher.Mono;
+
+public interface ReleaseStockUseCase {
+    // Hands back the stock of a pending reservation; a no-op for one that is unknown, confirmed or already released
+    Mono<Void> releaseStock(String reservationId);
+}
@@ -0,0 +1,11 @@
+package com.arkam.product.application.port.in;
+
+import com.arkam.product.application.dto.StockReservationRequest;
+import com.arkam.product.application.dto.StockReservationResponse;
+import reactor.core.publisher.Mono;
+
+public interface ReserveStockUseCase {
+    // Empty when any line is short, and then nothing is reserved; a reservation id seen before returns that
+    // reservation as it is now, without reserving again
+    Mono<StockReservationResponse> reserveStock(StockReservationRequest request);
+}
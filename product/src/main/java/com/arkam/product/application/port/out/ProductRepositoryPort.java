@@ -4,11 +4,14 @@ import com.arkam.product.domain.model.Product;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.Optional;
 
 public interface ProductRepositoryPort {
     Mono<Product> save(Product product);
     Mono<Optional<Product>> findById(Long id);
+    // One IN (...) query; ids that don't exist are simply absent from the result
+    Flux<Product> findAllById(Collection<Long> ids);
     Flux<Product> findAll();
     Flux<Product> searchProducts(String keyword);
     Mono<Void> deleteById(Long id);
@@ -0,0 +1,22 @@
+package com.arkam.product.application.port.out;
+
+import com.arkam.product.domain.model.StockReservation;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+public interface StockReservationRepositoryPort {
+    // Records the reservation as pending and decrements every product by its quantity in one transaction, or does
+    // neither and returns empty if any product is short. An id seen before returns that reservation unchanged
+    Mono<Optional<StockReservation>> reserve(String reservationId, Map<Long, Integer> quantities);
+    // Pending to confirmed; the reservation as it is afterwards, empty for an unknown id
+    Mono<Optional<StockReservation>> confirm(String reservationId);
+    // Pending to released, with its stock handed back; false when it was not pending
+    Mono<Boolean> release(String reservationId);
+    // Oldest first
+    Flux<String> findPendingCreatedBefore(LocalDateTime cutoff, int limit);
+    Mono<Integer> deleteFinishedBefore(LocalDateTime cutoff);
+}
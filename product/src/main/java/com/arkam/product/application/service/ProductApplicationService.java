@@ -2,21 +2,34 @@ package com.arkam.product.application.service;
 
 import com.arkam.product.application.dto.ProductRequest;
 import com.arkam.product.application.dto.ProductResponse;
+import com.arkam.product.application.dto.StockLineRequest;
+import com.arkam.product.application.dto.StockReservationRequest;
+import com.arkam.product.application.dto.StockReservationResponse;
 import com.arkam.product.application.port.in.*;
 import com.arkam.product.application.port.out.ProductRepositoryPort;
+import com.arkam.product.application.port.out.StockReservationRepositoryPort;
 import com.arkam.product.domain.model.Product;
+import com.arkam.product.domain.model.StockReservation;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
-public class ProductApplicationService implements CreateProductUseCase, GetProductUseCase, GetAllProductsUseCase, UpdateProductUseCase, DeleteProductUseCase, SearchProductsUseCase {
+public class ProductApplicationService implements CreateProductUseCase, GetProductUseCase, GetProductsUseCase, GetAllProductsUseCase, UpdateProductUseCase, DeleteProductUseCase, SearchProductsUseCase, ReserveStockUseCase, ReleaseStockUseCase, ConfirmStockUseCase, ExpireStockReservationsUseCase {
+
+    // stock_reservations.id
+    private static final int MAX_RESERVATION_ID_LENGTH = 64;
 
     private final ProductRepositoryPort productRepository;
+    private final StockReservationRepositoryPort stockReservationRepository;
 
     @Override
     public Mono<ProductResponse> createProduct(ProductRequest request) {
@@ -39,6 +52,15 @@ public class ProductApplicationService implements CreateProductUseCase, GetProdu
                 .map(this::mapToResponse);
     }
 
+    @Override
+    public Flux<ProductResponse> getProducts(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return productRepository.findAllById(new LinkedHashSet<>(ids))
+                .map(this::mapToResponse);
+    }
+
     @Override
     public Flux<ProductResponse> getAllProducts() {
         return productRepository.findAll()
@@ -72,6 +94,61 @@ public class ProductApplicationService implements CreateProductUseCase, GetProdu
                 .map(this::mapToResponse);
     }
 
+    @Override
+    public Mono<StockReservationResponse> reserveStock(StockReservationRequest request) {
+        if (!isValidReservation(request)) {
+            return Mono.error(new IllegalArgumentException("se requieren id de reserva, productos y cantidades positivas"));
+        }
+        Map<Long, Integer> quantities = quantitiesByProduct(request);
+        return stockReservationRepository.reserve(request.getReservationId(), quantities)
+                .flatMap(Mono::justOrEmpty)
+                // A retry must name the same lines; anything else is a client reusing an id
+                .flatMap(reservation -> reservation.getQuantities().equals(quantities)
+                        ? Mono.just(mapToResponse(reservation))
+                        : Mono.error(new IllegalArgumentException(
+                                "la reserva " + request.getReservationId() + " ya existe con otras cantidades")));
+    }
+
+    @Override
+    public Mono<Void> releaseStock(String reservationId) {
+        return stockReservationRepository.release(reservationId).then();
+    }
+
+    @Override
+    public Mono<StockReservationResponse> confirmStock(String reservationId) {
+        return stockReservationRepository.confirm(reservationId)
+                .flatMap(Mono::justOrEmpty)
+                .map(this::mapToResponse);
+    }
+
+    @Override
+    public Mono<Integer> releaseExpired(LocalDateTime createdBefore, int limit) {
+        return stockReservationRepository.findPendingCreatedBefore(createdBefore, limit)
+                .concatMap(stockReservationRepository::release)
+                .filter(Boolean::booleanValue)
+                .count()
+                .map(Long::intValue);
+    }
+
+    @Override
+    public Mono<Integer> deleteFinished(LocalDateTime changedBefore) {
+        return stockReservationRepository.deleteFinishedBefore(changedBefore);
+    }
+
+    private boolean isValidReservation(StockReservationRequest request) {
+        return request != null && request.getReservationId() != null && !request.getReservationId().isBlank()
+                && request.getReservationId().length() <= MAX_RESERVATION_ID_LENGTH
+                && request.getItems() != null && !request.getItems().isEmpty()
+                && request.getItems().stream().allMatch(line ->
+                        line.getProductId() != null && line.getQuantity() != null && line.getQuantity() > 0);
+    }
+
+    // The same product on two lines is reserved once for the combined quantity
+    private Map<Long, Integer> quantitiesByProduct(StockReservationRequest request) {
+        return request.getItems().stream()
+                .collect(Collectors.toMap(StockLineRequest::getProductId, StockLineRequest::getQuantity, Integer::sum));
+    }
+
     private boolean isValidRequest(ProductRequest request) {
         return request != null && request.getName() != null && !request.getName().trim().isEmpty();
     }
@@ -96,6 +173,10 @@ public class ProductApplicationService implements CreateProductUseCase, GetProdu
         product.setImageUrl(request.getImageUrl());
     }
 
+    private StockReservationResponse mapToResponse(StockReservation reservation) {
+        return new StockReservationResponse(reservation.getId(), reservation.getStatus());
+    }
+
     private ProductResponse mapToResponse(Product product) {
         ProductResponse response = new ProductResponse();
         response.setId(product.getId());
@@ -0,0 +1,24 @@
+package com.arkam.product.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservation {
+    private String id;
+    private StockReservationStatus status;
+    private Map<Long, Integer> quantities = new HashMap<>();
+    private LocalDateTime createdAt;
+
+    // Pending and confirmed reservations hold their stock; a released one has handed it back
+    public boolean holdsStock() {
+        return status != StockReservationStatus.RELEASED;
+    }
+}
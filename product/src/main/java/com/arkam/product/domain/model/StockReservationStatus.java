@@ -0,0 +1,7 @@
+package com.arkam.product.domain.model;
+
+public enum StockReservationStatus {
+    PENDING,
+    CONFIRMED,
+    RELEASED
+}
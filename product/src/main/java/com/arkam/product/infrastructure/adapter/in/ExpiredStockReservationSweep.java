@@ -0,0 +1,52 @@
+package com.arkam.product.infrastructure.adapter.in;
+
+import com.arkam.product.application.port.in.ExpireStockReservationsUseCase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Compensates for reservations order-service never settled, e.g. because it died between reserving and placing
+ * the order or its release call failed. Each run releases up to {@code batch-size} reservations still pending
+ * {@code ttl} after they were made, and forgets confirmed and released ones older than {@code retention}, past
+ * which no retry is expected. Instances can run it at the same time: a reservation leaves PENDING only once.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "product.stock.reservations.sweep.enabled", havingValue = "true", matchIfMissing = true)
+public class ExpiredStockReservationSweep {
+
+    private final ExpireStockReservationsUseCase expireStockReservationsUseCase;
+    private final Duration ttl;
+    private final Duration retention;
+    private final int batchSize;
+
+    public ExpiredStockReservationSweep(ExpireStockReservationsUseCase expireStockReservationsUseCase,
+                                        @Value("${product.stock.reservations.ttl:15m}") Duration ttl,
+                                        @Value("${product.stock.reservations.retention:7d}") Duration retention,
+                                        @Value("${product.stock.reservations.sweep.batch-size:500}") int batchSize) {
+        this.expireStockReservationsUseCase = expireStockReservationsUseCase;
+        this.ttl = ttl;
+        this.retention = retention;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${product.stock.reservations.sweep.interval:1m}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            Integer released = expireStockReservationsUseCase.releaseExpired(now.minus(ttl), batchSize).block();
+            if (released != null && released > 0) {
+                log.warn("{} reservas de stock pendientes por más de {} liberadas", released, ttl);
+            }
+            expireStockReservationsUseCase.deleteFinished(now.minus(retention)).block();
+        } catch (RuntimeException e) {
+            log.warn("No se pudo completar el barrido de reservas de stock: {}", e.getMessage());
+        }
+    }
+}
@@ -10,13 +10,18 @@ import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/products")
 public class ProductController {
 
+    static final int MAX_BATCH_SIZE = 100;
+
     private final CreateProductUseCase createProductUseCase;
     private final GetProductUseCase getProductUseCase;
+    private final GetProductsUseCase getProductsUseCase;
     private final GetAllProductsUseCase getAllProductsUseCase;
     private final UpdateProductUseCase updateProductUseCase;
     private final DeleteProductUseCase deleteProductUseCase;
@@ -43,6 +48,16 @@ public class ProductController {
         return getAllProductsUseCase.getAllProducts();
     }
 
+    @GetMapping("/batch")
+    public Mono<ResponseEntity<List<ProductResponse>>> getProductsByIds(@RequestParam List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_BATCH_SIZE) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return getProductsUseCase.getProducts(ids)
+                .collectList()
+                .map(ResponseEntity::ok);
+    }
+
     @GetMapping("/{id}")
     public Mono<ResponseEntity<ProductResponse>> getProductById(@PathVariable Long id) {
         return getProductUseCase.getProduct(id)
@@ -0,0 +1,57 @@
+package com.arkam.product.infrastructure.adapter.in;
+
+import com.arkam.product.application.dto.StockReservationRequest;
+import com.arkam.product.application.dto.StockReservationResponse;
+import com.arkam.product.application.port.in.ConfirmStockUseCase;
+import com.arkam.product.application.port.in.ReleaseStockUseCase;
+import com.arkam.product.application.port.in.ReserveStockUseCase;
+import com.arkam.product.domain.model.StockReservationStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Stock reservations for order-service, called service to service through Eureka. They live outside
+ * {@code /api/products} because the gateway routes that path to the public; nothing routes {@code /internal}.
+ * <p>
+ * Every call names the reservation by the id the caller chose, so each one can be retried: reserving again
+ * returns the reservation already made, and confirming or releasing again changes nothing.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/internal/stock/reservations")
+public class StockReservationController {
+
+    private final ReserveStockUseCase reserveStockUseCase;
+    private final ConfirmStockUseCase confirmStockUseCase;
+    private final ReleaseStockUseCase releaseStockUseCase;
+
+    // 409 when stock is short, or when a retry finds the reservation already released
+    @PostMapping
+    public Mono<ResponseEntity<StockReservationResponse>> reserveStock(@RequestBody StockReservationRequest request) {
+        return reserveStockUseCase.reserveStock(request)
+                .map(reservation -> ResponseEntity.status(reservation.getStatus() == StockReservationStatus.RELEASED
+                        ? HttpStatus.CONFLICT : HttpStatus.OK).body(reservation))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.CONFLICT).build())
+                .onErrorResume(IllegalArgumentException.class,
+                        ex -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    // 409 when the reservation expired and its stock was released before the confirmation arrived
+    @PostMapping("/{reservationId}/confirmation")
+    public Mono<ResponseEntity<Void>> confirmStock(@PathVariable String reservationId) {
+        return confirmStockUseCase.confirmStock(reservationId)
+                .map(reservation -> reservation.getStatus() == StockReservationStatus.RELEASED
+                        ? ResponseEntity.status(HttpStatus.CONFLICT).<Void>build()
+                        : ResponseEntity.noContent().<Void>build())
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{reservationId}")
+    public Mono<ResponseEntity<Void>> releaseStock(@PathVariable String reservationId) {
+        return releaseStockUseCase.releaseStock(reservationId)
+                .then(Mono.just(ResponseEntity.noContent().<Void>build()));
+    }
+}
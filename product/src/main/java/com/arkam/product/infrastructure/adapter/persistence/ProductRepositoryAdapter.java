@@ -5,21 +5,34 @@ import com.arkam.product.domain.model.Product;
 import com.arkam.product.infrastructure.adapter.persistence.entity.ProductEntity;
 import com.arkam.product.infrastructure.adapter.persistence.mapper.ProductPersistenceMapper;
 import com.arkam.product.infrastructure.adapter.persistence.repository.ProductJpaRepository;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Component
-@RequiredArgsConstructor
 public class ProductRepositoryAdapter implements ProductRepositoryPort {
 
     private final ProductJpaRepository productJpaRepository;
     private final ProductPersistenceMapper productPersistenceMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    public ProductRepositoryAdapter(ProductJpaRepository productJpaRepository,
+                                    ProductPersistenceMapper productPersistenceMapper,
+                                    TransactionTemplate transactionTemplate) {
+        this.productJpaRepository = productJpaRepository;
+        this.productPersistenceMapper = productPersistenceMapper;
+        this.transactionTemplate = transactionTemplate;
+        // Read-only transactions are served by the replica when one is configured (ReadReplicaConfig)
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
 
     @Override
     public Mono<Product> save(Product product) {
@@ -30,25 +43,35 @@ public class ProductRepositoryAdapter implements ProductRepositoryPort {
         });
     }
 
+    // Update and delete read the product they are about to write, so this stays on the primary; without the
+    // read-write transaction, SimpleJpaRepository would open a read-only one and land on the replica
     @Override
     public Mono<Optional<Product>> findById(Long id) {
-        return Mono.fromCallable(() -> productJpaRepository.findById(id)
-                .map(productPersistenceMapper::toDomain));
+        return Mono.fromCallable(() -> transactionTemplate.execute(status -> productJpaRepository.findById(id)
+                .map(productPersistenceMapper::toDomain)));
+    }
+
+    @Override
+    public Flux<Product> findAllById(Collection<Long> ids) {
+        return Mono.fromCallable(() -> readOnlyTransactionTemplate.execute(status -> productJpaRepository.findAllById(ids).stream()
+                .map(productPersistenceMapper::toDomain)
+                .collect(Collectors.toList())))
+                .flatMapMany(Flux::fromIterable);
     }
 
     @Override
     public Flux<Product> findAll() {
-        return Mono.fromCallable(() -> productJpaRepository.findByActiveTrue().stream()
+        return Mono.fromCallable(() -> readOnlyTransactionTemplate.execute(status -> productJpaRepository.findByActiveTrue().stream()
                 .map(productPersistenceMapper::toDomain)
-                .collect(Collectors.toList()))
+                .collect(Collectors.toList())))
                 .flatMapMany(Flux::fromIterable);
     }
 
     @Override
     public Flux<Product> searchProducts(String keyword) {
-        return Mono.fromCallable(() -> productJpaRepository.searchProducts(keyword).stream()
+        return Mono.fromCallable(() -> readOnlyTransactionTemplate.execute(status -> productJpaRepository.searchProducts(keyword).stream()
                 .map(productPersistenceMapper::toDomain)
-                .collect(Collectors.toList()))
+                .collect(Collectors.toList())))
                 .flatMapMany(Flux::fromIterable);
     }
 
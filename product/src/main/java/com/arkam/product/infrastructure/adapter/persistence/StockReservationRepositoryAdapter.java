@@ -0,0 +1,101 @@
+package com.arkam.product.infrastructure.adapter.persistence;
+
+import com.arkam.product.application.port.out.StockReservationRepositoryPort;
+import com.arkam.product.domain.model.StockReservation;
+import com.arkam.product.domain.model.StockReservationStatus;
+import com.arkam.product.infrastructure.adapter.persistence.entity.StockReservationEntity;
+import com.arkam.product.infrastructure.adapter.persistence.mapper.StockReservationPersistenceMapper;
+import com.arkam.product.infrastructure.adapter.persistence.repository.ProductJpaRepository;
+import com.arkam.product.infrastructure.adapter.persistence.repository.StockReservationJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+@Component
+@RequiredArgsConstructor
+public class StockReservationRepositoryAdapter implements StockReservationRepositoryPort {
+
+    private final StockReservationJpaRepository stockReservationJpaRepository;
+    private final ProductJpaRepository productJpaRepository;
+    private final StockReservationPersistenceMapper stockReservationPersistenceMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    // The reservation row is written first: a concurrent retry of the same id waits on its primary key and then
+    // fails instead of decrementing a second time. Stock is taken with conditional UPDATEs rather than
+    // SELECT ... FOR UPDATE, in ascending id order so two overlapping reservations cannot deadlock
+    @Override
+    public Mono<Optional<StockReservation>> reserve(String reservationId, Map<Long, Integer> quantities) {
+        return Mono.fromCallable(() -> {
+            try {
+                return transactionTemplate.execute(status -> {
+                    Optional<StockReservation> existing = stockReservationJpaRepository.findById(reservationId)
+                            .map(stockReservationPersistenceMapper::toDomain);
+                    if (existing.isPresent()) {
+                        return existing;
+                    }
+                    StockReservation reservation = new StockReservation(reservationId, StockReservationStatus.PENDING,
+                            quantities, LocalDateTime.now());
+                    StockReservationEntity entity = stockReservationPersistenceMapper.toEntity(reservation);
+                    entity.setCreating(true);
+                    stockReservationJpaRepository.saveAndFlush(entity);
+                    for (Map.Entry<Long, Integer> line : new TreeMap<>(quantities).entrySet()) {
+                        if (productJpaRepository.decrementStock(line.getKey(), line.getValue()) == 0) {
+                            status.setRollbackOnly();
+                            return Optional.<StockReservation>empty();
+                        }
+                    }
+                    return Optional.of(reservation);
+                });
+            } catch (DataIntegrityViolationException e) {
+                // A retry of the same reservation committed first
+                return transactionTemplate.execute(status -> stockReservationJpaRepository.findById(reservationId)
+                        .map(stockReservationPersistenceMapper::toDomain));
+            }
+        });
+    }
+
+    @Override
+    public Mono<Optional<StockReservation>> confirm(String reservationId) {
+        return Mono.fromCallable(() -> transactionTemplate.execute(status -> {
+            stockReservationJpaRepository.transition(reservationId, StockReservationStatus.PENDING, StockReservationStatus.CONFIRMED);
+            return stockReservationJpaRepository.findById(reservationId).map(stockReservationPersistenceMapper::toDomain);
+        }));
+    }
+
+    @Override
+    public Mono<Boolean> release(String reservationId) {
+        return Mono.fromCallable(() -> transactionTemplate.execute(status -> {
+            if (stockReservationJpaRepository.transition(reservationId,
+                    StockReservationStatus.PENDING, StockReservationStatus.RELEASED) == 0) {
+                return false;
+            }
+            new TreeMap<>(stockReservationJpaRepository.findById(reservationId).orElseThrow().getQuantities())
+                    .forEach(productJpaRepository::incrementStock);
+            return true;
+        }));
+    }
+
+    @Override
+    public Flux<String> findPendingCreatedBefore(LocalDateTime cutoff, int limit) {
+        return Mono.fromCallable(() -> transactionTemplate.execute(status -> stockReservationJpaRepository
+                        .findIdsByStatusCreatedBefore(StockReservationStatus.PENDING, cutoff, PageRequest.of(0, limit))))
+                .flatMapMany(Flux::fromIterable);
+    }
+
+    @Override
+    public Mono<Integer> deleteFinishedBefore(LocalDateTime cutoff) {
+        return Mono.fromCallable(() -> transactionTemplate.execute(status -> {
+            stockReservationJpaRepository.deleteFinishedLinesBefore(cutoff);
+            return stockReservationJpaRepository.deleteFinishedBefore(cutoff);
+        }));
+    }
+}
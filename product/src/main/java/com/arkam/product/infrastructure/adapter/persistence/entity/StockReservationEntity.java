@@ -0,0 +1,47 @@
+package com.arkam.product.infrastructure.adapter.persistence.entity;
+
+import com.arkam.product.domain.model.StockReservationStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Entity
+@Table(name = "stock_reservations",
+        indexes = @Index(name = "idx_stock_reservations_status_created", columnList = "status, created_at"))
+@Data
+@NoArgsConstructor
+public class StockReservationEntity implements Persistable<String> {
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private StockReservationStatus status;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "stock_reservation_lines", joinColumns = @JoinColumn(name = "reservation_id"))
+    @MapKeyColumn(name = "product_id")
+    @Column(name = "quantity", nullable = false)
+    private Map<Long, Integer> quantities = new HashMap<>();
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    // Set for a reservation being made, so that save() inserts it: a merge would find the row of a concurrent
+    // retry that committed meanwhile and update it instead of failing on the primary key
+    @Transient
+    private boolean creating;
+
+    @Override
+    public boolean isNew() {
+        return creating;
+    }
+}
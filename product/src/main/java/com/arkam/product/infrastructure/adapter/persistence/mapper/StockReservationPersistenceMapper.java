@@ -0,0 +1,30 @@
+package com.arkam.product.infrastructure.adapter.persistence.mapper;
+
+import com.arkam.product.domain.model.StockReservation;
+import com.arkam.product.infrastructure.adapter.persistence.entity.StockReservationEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+
+@Component
+public class StockReservationPersistenceMapper {
+
+    public StockReservationEntity toEntity(StockReservation reservation) {
+        StockReservationEntity entity = new StockReservationEntity();
+        entity.setId(reservation.getId());
+        entity.setStatus(reservation.getStatus());
+        entity.setQuantities(new HashMap<>(reservation.getQuantities()));
+        entity.setCreatedAt(reservation.getCreatedAt());
+        entity.setUpdatedAt(reservation.getCreatedAt());
+        return entity;
+    }
+
+    public StockReservation toDomain(StockReservationEntity entity) {
+        StockReservation reservation = new StockReservation();
+        reservation.setId(entity.getId());
+        reservation.setStatus(entity.getStatus());
+        reservation.setQuantities(new HashMap<>(entity.getQuantities()));
+        reservation.setCreatedAt(entity.getCreatedAt());
+        return reservation;
+    }
+}
@@ -2,6 +2,7 @@ package com.arkam.product.infrastructure.adapter.persistence.repository;
 
 import com.arkam.product.infrastructure.adapter.persistence.entity.ProductEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -17,4 +18,14 @@ public interface ProductJpaRepository extends JpaRepository<ProductEntity, Long>
     List<ProductEntity> searchProducts(@Param("keyword") String keyword);
 
     Optional<ProductEntity> findByIdAndActiveTrue(Long id);
+
+    @Modifying
+    @Query("UPDATE ProductEntity p SET p.stockQuantity = p.stockQuantity - :quantity, p.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE p.id = :id AND p.active = true AND p.stockQuantity >= :quantity")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE ProductEntity p SET p.stockQuantity = p.stockQuantity + :quantity, p.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE p.id = :id")
+    int incrementStock(@Param("id") Long id, @Param("quantity") int quantity);
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.arkam.product.infrastructure.adapter.persistence.repository;
+
+import com.arkam.product.domain.model.StockReservationStatus;
+import com.arkam.product.infrastructure.adapter.persistence.entity.StockReservationEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StockReservationJpaRepository extends JpaRepository<StockReservationEntity, String> {
+
+    // Conditional, so that of two callers moving the same reservation only one sees 1
+    @Modifying
+    @Query("UPDATE StockReservationEntity r SET r.status = :to, r.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE r.id = :id AND r.status = :from")
+    int transition(@Param("id") String id,
+                   @Param("from") StockReservationStatus from,
+                   @Param("to") StockReservationStatus to);
+
+    @Query("SELECT r.id FROM StockReservationEntity r WHERE r.status = :status AND r.createdAt < :cutoff "
+            + "ORDER BY r.createdAt")
+    List<String> findIdsByStatusCreatedBefore(@Param("status") StockReservationStatus status,
+                                              @Param("cutoff") LocalDateTime cutoff,
+                                              Pageable pageable);
+
+    @Modifying
+    @Query(value = "DELETE FROM stock_reservation_lines WHERE reservation_id IN "
+            + "(SELECT id FROM stock_reservations WHERE status <> 'PENDING' AND updated_at < :cutoff)", nativeQuery = true)
+    int deleteFinishedLinesBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query(value = "DELETE FROM stock_reservations WHERE status <> 'PENDING' AND updated_at < :cutoff", nativeQuery = true)
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
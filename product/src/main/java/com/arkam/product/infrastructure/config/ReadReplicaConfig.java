@@ -0,0 +1,99 @@
+package com.arkam.product.infrastructure.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Read/write split for the JDBC persistence, active once {@code product.datasource.replica.url} is set. The
+ * {@code dataSource} everything else uses hands out connections lazily: a transaction that is read-only before its
+ * first statement ({@code readOnly} on the transaction definition) gets a replica connection while
+ * {@link ReplicaLagGuard} trusts the replica, and anything else gets a primary connection. Flyway, stock reservations
+ * and all other writes therefore stay on the primary.
+ * <p>
+ * Both pools are Hikari beans named product-primary and product-replica, so they report {@code hikaricp.connections.*}
+ * and health separately. The replica pool is configured under {@code product.datasource.replica.hikari}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "product.datasource.replica.url")
+public class ReadReplicaConfig {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("product-primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("product.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Value("${product.datasource.replica.url}") String url,
+            @Value("${product.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${product.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("product-replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagGuard replicaLagGuard(@Qualifier("replicaDataSource") DataSource replica,
+                                           @Value("${product.datasource.replica.lag-query:}") String lagQuery,
+                                           @Value("${product.datasource.replica.max-lag:2s}") Duration maxLag,
+                                           MeterRegistry meterRegistry) {
+        return new ReplicaLagGuard(replica, lagQuery.isBlank() ? ReplicaLagGuard.DEFAULT_LAG_QUERY : lagQuery, maxLag,
+                meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagGuard replicaLagGuard) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaOrPrimary(primary, replica, replicaLagGuard));
+        return dataSource;
+    }
+
+    // Where read-only connections come from: the replica while the guard trusts it, the primary otherwise
+    static final class ReplicaOrPrimary extends AbstractRoutingDataSource {
+
+        private final ReplicaLagGuard replicaLagGuard;
+
+        ReplicaOrPrimary(DataSource primary, DataSource replica, ReplicaLagGuard replicaLagGuard) {
+            this.replicaLagGuard = replicaLagGuard;
+            setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+            setDefaultTargetDataSource(primary);
+            afterPropertiesSet();
+        }
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return replicaLagGuard.replicaUsable() ? REPLICA : PRIMARY;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+-- Schema as previously created by hibernate ddl-auto; a no-op on databases that already have it
+CREATE TABLE IF NOT EXISTS products (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name           VARCHAR(255),
+    description    VARCHAR(255),
+    price          NUMERIC(38, 2),
+    stock_quantity INTEGER,
+    category       VARCHAR(255),
+    image_url      VARCHAR(255),
+    active         BOOLEAN,
+    created_at     TIMESTAMP(6),
+    updated_at     TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
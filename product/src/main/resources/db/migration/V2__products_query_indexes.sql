@@ -0,0 +1,6 @@
+-- searchProducts filters on LOWER(name) LIKE '%keyword%'; only a trigram index can serve an infix match
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_products_name_trgm ON products USING gin (lower(name) gin_trgm_ops);
+
+-- findByActiveTrue: partial, so discontinued products cost nothing; the planner picks it once they are the majority
+CREATE INDEX IF NOT EXISTS idx_products_active ON products (id) WHERE active;
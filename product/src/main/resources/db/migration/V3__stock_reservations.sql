@@ -0,0 +1,19 @@
+-- Reservations taken by order-service at checkout. The id is chosen by the caller, so a retried reserve finds the
+-- reservation it already made; release and confirm move a reservation out of PENDING at most once.
+CREATE TABLE IF NOT EXISTS stock_reservations (
+    id         VARCHAR(64)  NOT NULL,
+    status     VARCHAR(16)  NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS stock_reservation_lines (
+    reservation_id VARCHAR(64) NOT NULL REFERENCES stock_reservations (id),
+    product_id     BIGINT      NOT NULL,
+    quantity       INTEGER     NOT NULL,
+    PRIMARY KEY (reservation_id, product_id)
+);
+
+-- The expiry sweep reads pending reservations oldest first
+CREATE INDEX IF NOT EXISTS idx_stock_reservations_status_created ON stock_reservations (status, created_at);
@@ -0,0 +1,4 @@
+-- The retention sweep deletes finished reservations by when they finished, every run; partial, so the pending
+-- ones it never deletes are not in it
+CREATE INDEX IF NOT EXISTS idx_stock_reservations_finished_updated ON stock_reservations (updated_at)
+    WHERE status <> 'PENDING';
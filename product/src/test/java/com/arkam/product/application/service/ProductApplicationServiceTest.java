@@ -2,8 +2,14 @@ package com.arkam.product.application.service;
 
 import com.arkam.product.application.dto.ProductRequest;
 import com.arkam.product.application.dto.ProductResponse;
+import com.arkam.product.application.dto.StockLineRequest;
+import com.arkam.product.application.dto.StockReservationRequest;
+import com.arkam.product.application.dto.StockReservationResponse;
 import com.arkam.product.application.port.out.ProductRepositoryPort;
+import com.arkam.product.application.port.out.StockReservationRepositoryPort;
 import com.arkam.product.domain.model.Product;
+import com.arkam.product.domain.model.StockReservation;
+import com.arkam.product.domain.model.StockReservationStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -15,7 +21,10 @@ import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
@@ -25,6 +34,9 @@ class ProductApplicationServiceTest {
     @Mock
     private ProductRepositoryPort productRepository;
 
+    @Mock
+    private StockReservationRepositoryPort stockReservationRepository;
+
     @InjectMocks
     private ProductApplicationService productApplicationService;
 
@@ -69,6 +81,20 @@ class ProductApplicationServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    void testGetProducts() {
+        Product first = new Product();
+        first.setId(1L);
+        Product second = new Product();
+        second.setId(2L);
+
+        when(productRepository.findAllById(Set.of(1L, 2L))).thenReturn(Flux.just(first, second));
+
+        StepVerifier.create(productApplicationService.getProducts(List.of(1L, 2L, 1L)))
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
     @Test
     void testGetAllProducts() {
         Product product = new Product();
@@ -132,4 +158,69 @@ class ProductApplicationServiceTest {
                 .expectNextCount(1)
                 .verifyComplete();
     }
-}
\ No newline at end of file
+
+    @Test
+    void testReserveStockMergesLinesForSameProduct() {
+        StockReservationRequest request = reservation("res-1",
+                new StockLineRequest(1L, 2), new StockLineRequest(2L, 1), new StockLineRequest(1L, 3));
+
+        when(stockReservationRepository.reserve("res-1", Map.of(1L, 5, 2L, 1))).thenReturn(Mono.just(Optional.of(
+                new StockReservation("res-1", StockReservationStatus.PENDING, Map.of(1L, 5, 2L, 1), LocalDateTime.now()))));
+
+        StepVerifier.create(productApplicationService.reserveStock(request))
+                .expectNext(new StockReservationResponse("res-1", StockReservationStatus.PENDING))
+                .verifyComplete();
+    }
+
+    @Test
+    void testReserveStockIsEmptyWhenShort() {
+        when(stockReservationRepository.reserve("res-1", Map.of(1L, 2))).thenReturn(Mono.just(Optional.empty()));
+
+        StepVerifier.create(productApplicationService.reserveStock(reservation("res-1", new StockLineRequest(1L, 2))))
+                .verifyComplete();
+    }
+
+    @Test
+    void testReserveStockRejectsReusedIdWithOtherLines() {
+        when(stockReservationRepository.reserve("res-1", Map.of(1L, 2))).thenReturn(Mono.just(Optional.of(
+                new StockReservation("res-1", StockReservationStatus.PENDING, Map.of(1L, 3), LocalDateTime.now()))));
+
+        StepVerifier.create(productApplicationService.reserveStock(reservation("res-1", new StockLineRequest(1L, 2))))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    void testReserveStockRejectsNonPositiveQuantity() {
+        StepVerifier.create(productApplicationService.reserveStock(reservation("res-1", new StockLineRequest(1L, 0))))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    void testReserveStockRequiresReservationId() {
+        StepVerifier.create(productApplicationService.reserveStock(reservation(null, new StockLineRequest(1L, 1))))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    void testReleaseExpiredCountsOnlyReservationsItReleased() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(15);
+        when(stockReservationRepository.findPendingCreatedBefore(cutoff, 10)).thenReturn(Flux.just("res-1", "res-2"));
+        when(stockReservationRepository.release("res-1")).thenReturn(Mono.just(true));
+        // Confirmed or released by someone else between the read and the release
+        when(stockReservationRepository.release("res-2")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(productApplicationService.releaseExpired(cutoff, 10))
+                .expectNext(1)
+                .verifyComplete();
+    }
+
+    private StockReservationRequest reservation(String reservationId, StockLineRequest... lines) {
+        StockReservationRequest request = new StockReservationRequest();
+        request.setReservationId(reservationId);
+        request.setItems(List.of(lines));
+        return request;
+    }
+}
@@ -13,6 +13,9 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
@@ -29,6 +32,9 @@ class ProductControllerTest {
     @MockBean
     private GetProductUseCase getProductUseCase;
 
+    @MockBean
+    private GetProductsUseCase getProductsUseCase;
+
     @MockBean
     private GetAllProductsUseCase getAllProductsUseCase;
 
@@ -94,6 +100,30 @@ class ProductControllerTest {
                 .isEqualTo(productResponse);
     }
 
+    @Test
+    void testGetProductsByIds() {
+        when(getProductsUseCase.getProducts(List.of(1L, 2L))).thenReturn(Flux.just(productResponse));
+
+        webTestClient.get()
+                .uri("/api/products/batch?ids=1,2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(ProductResponse.class)
+                .hasSize(1);
+    }
+
+    @Test
+    void testGetProductsByIdsRejectsOversizedBatch() {
+        String ids = LongStream.rangeClosed(1, ProductController.MAX_BATCH_SIZE + 1)
+                .mapToObj(Long::toString)
+                .collect(Collectors.joining(","));
+
+        webTestClient.get()
+                .uri("/api/products/batch?ids=" + ids)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
     @Test
     void testUpdateProduct() {
         when(updateProductUseCase.updateProduct(1L, productRequest)).thenReturn(Mono.just(true));
@@ -126,4 +156,4 @@ class ProductControllerTest {
                 .expectBodyList(ProductResponse.class)
                 .hasSize(1);
     }
-}
\ No newline at end of file
+}
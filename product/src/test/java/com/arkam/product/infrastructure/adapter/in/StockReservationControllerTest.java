@@ -0,0 +1,112 @@
+package com.arkam.product.infrastructure.adapter.in;
+
+import com.arkam.product.application.dto.StockLineRequest;
+import com.arkam.product.application.dto.StockReservationRequest;
+import com.arkam.product.application.dto.StockReservationResponse;
+import com.arkam.product.application.port.in.ConfirmStockUseCase;
+import com.arkam.product.application.port.in.ReleaseStockUseCase;
+import com.arkam.product.application.port.in.ReserveStockUseCase;
+import com.arkam.product.domain.model.StockReservationStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(StockReservationController.class)
+class StockReservationControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReserveStockUseCase reserveStockUseCase;
+
+    @MockBean
+    private ConfirmStockUseCase confirmStockUseCase;
+
+    @MockBean
+    private ReleaseStockUseCase releaseStockUseCase;
+
+    @Test
+    void testReserveStockReturnsReservation() {
+        when(reserveStockUseCase.reserveStock(any(StockReservationRequest.class)))
+                .thenReturn(Mono.just(new StockReservationResponse("res-1", StockReservationStatus.PENDING)));
+
+        webTestClient.post()
+                .uri("/internal/stock/reservations")
+                .bodyValue(reservation())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.reservationId").isEqualTo("res-1")
+                .jsonPath("$.status").isEqualTo("PENDING");
+    }
+
+    @Test
+    void testReserveStockConflictWhenInsufficient() {
+        when(reserveStockUseCase.reserveStock(any(StockReservationRequest.class))).thenReturn(Mono.empty());
+
+        webTestClient.post()
+                .uri("/internal/stock/reservations")
+                .bodyValue(reservation())
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void testRetriedReserveOfReleasedReservationConflicts() {
+        when(reserveStockUseCase.reserveStock(any(StockReservationRequest.class)))
+                .thenReturn(Mono.just(new StockReservationResponse("res-1", StockReservationStatus.RELEASED)));
+
+        webTestClient.post()
+                .uri("/internal/stock/reservations")
+                .bodyValue(reservation())
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void testConfirmStock() {
+        when(confirmStockUseCase.confirmStock("res-1"))
+                .thenReturn(Mono.just(new StockReservationResponse("res-1", StockReservationStatus.CONFIRMED)));
+
+        webTestClient.post()
+                .uri("/internal/stock/reservations/res-1/confirmation")
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    @Test
+    void testConfirmUnknownReservation() {
+        when(confirmStockUseCase.confirmStock("res-1")).thenReturn(Mono.empty());
+
+        webTestClient.post()
+                .uri("/internal/stock/reservations/res-1/confirmation")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testReleaseStock() {
+        when(releaseStockUseCase.releaseStock("res-1")).thenReturn(Mono.empty());
+
+        webTestClient.delete()
+                .uri("/internal/stock/reservations/res-1")
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    private StockReservationRequest reservation() {
+        StockReservationRequest request = new StockReservationRequest();
+        request.setReservationId("res-1");
+        request.setItems(List.of(new StockLineRequest(1L, 2)));
+        return request;
+    }
+}
@@ -0,0 +1,283 @@
+package com.arkam.product.infrastructure.adapter.persistence;
+
+import com.arkam.product.application.port.out.ProductRepositoryPort;
+import com.arkam.product.application.port.out.StockReservationRepositoryPort;
+import com.arkam.product.domain.model.Product;
+import com.arkam.product.infrastructure.adapter.persistence.SqlCapture.CapturedStatement;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Plans every product-service repository query with EXPLAIN on the Flyway schema, filled with a realistic catalog
+ * and a week of stock reservations, and fails if any of them reads a table sequentially. No SQL is written here:
+ * each test drives the repository adapters, {@link SqlCapture} records the statements Hibernate sends with the
+ * values it binds, and each statement is planned twice, as a prepared statement under
+ * {@code plan_cache_mode = force_generic_plan} (the plan a pooled connection settles on after a few executions)
+ * and with the bound values as literals. The context runs with {@code ddl-auto=validate}, so it also checks that
+ * the migrations match the entities. Needs Docker; skipped otherwise.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "product.stock.reservations.sweep.enabled=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    private static final int PRODUCTS = 20_000;
+    // Spread over a week and an hour, so the retention delete finds the last hour's worth
+    private static final int RESERVATIONS = 50_000;
+    private static final int RESERVATION_AGE_MINUTES = 7 * 24 * 60 + 60;
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$(\\d+)");
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14");
+
+    @TestConfiguration
+    static class CaptureConfig {
+
+        @Bean
+        static SqlCapture sqlCapture() {
+            return new SqlCapture();
+        }
+    }
+
+    @Autowired
+    private SqlCapture sqlCapture;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepositoryPort products;
+
+    @Autowired
+    private StockReservationRepositoryPort reservations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // One product in a thousand is a laptop, one in ten is discontinued and one in twenty is out of stock; one
+    // reservation in fifty is still pending and one in five was released
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO products (name, description, price, stock_quantity, category, active, created_at, updated_at) "
+                + "SELECT CASE WHEN i % 1000 = 0 THEN 'Laptop ' || i ELSE 'Producto ' || i END, 'Descripción ' || i, "
+                + "(i % 500) + 0.99, CASE WHEN i % 20 = 0 THEN 0 ELSE i % 300 + 1 END, 'categoria-' || (i % 40), "
+                + "i % 10 <> 0, LOCALTIMESTAMP, LOCALTIMESTAMP "
+                + "FROM generate_series(1, ?) AS i", PRODUCTS);
+        jdbcTemplate.update("INSERT INTO stock_reservations (id, status, created_at, updated_at) "
+                + "SELECT 'seed-' || i, CASE WHEN i % 50 = 0 THEN 'PENDING' WHEN i % 5 = 0 THEN 'RELEASED' ELSE 'CONFIRMED' END, "
+                + "LOCALTIMESTAMP - (i % ?) * INTERVAL '1 minute', LOCALTIMESTAMP - (i % ?) * INTERVAL '1 minute' "
+                + "FROM generate_series(1, ?) AS i", RESERVATION_AGE_MINUTES, RESERVATION_AGE_MINUTES, RESERVATIONS);
+        jdbcTemplate.update("INSERT INTO stock_reservation_lines (reservation_id, product_id, quantity) "
+                + "SELECT 'seed-' || i, (i + k) % ? + 1, 1 FROM generate_series(1, ?) AS i, generate_series(0, 1) AS k",
+                PRODUCTS, RESERVATIONS);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void testSearchProductsUsesTrigramIndex() {
+        assertNoSequentialScan(sqlCapture.capture(() ->
+                assertFalse(products.searchProducts("laptop").collectList().block().isEmpty())));
+    }
+
+    @Test
+    void testLookupsByIdUsePrimaryKey() {
+        assertNoSequentialScan(sqlCapture.capture(() -> {
+            products.findById(4242L).block();
+            products.findAllById(List.of(1L, 42L, 4242L, 14242L)).collectList().block();
+        }));
+    }
+
+    @Test
+    void testProductWritesUsePrimaryKey() {
+        Product product = new Product();
+        product.setName("Producto de prueba");
+        product.setPrice(BigDecimal.valueOf(9.99));
+        product.setStockQuantity(5);
+        product.setCategory("categoria-1");
+
+        assertNoSequentialScan(sqlCapture.capture(() -> {
+            Product saved = products.save(product).block();
+            saved.setStockQuantity(4);
+            products.save(saved).block();
+            products.deleteById(saved.getId()).block();
+        }));
+    }
+
+    // Reserved, confirmed, released, and refused for short stock, which rolls back after the first decrement
+    @Test
+    void testStockReservationsUsePrimaryKeys() {
+        assertNoSequentialScan(sqlCapture.capture(() -> {
+            assertTrue(reservations.reserve("plan-confirmed", Map.of(4242L, 2, 14242L, 1)).block().isPresent());
+            reservations.reserve("plan-confirmed", Map.of(4242L, 2, 14242L, 1)).block();
+            reservations.confirm("plan-confirmed").block();
+            reservations.reserve("plan-released", Map.of(4243L, 1)).block();
+            assertTrue(reservations.release("plan-released").block());
+            assertTrue(reservations.reserve("plan-short", Map.of(4241L, 1, 4244L, 1_000_000)).block().isEmpty());
+        }));
+    }
+
+    @Test
+    void testReservationSweepUsesStatusIndexes() {
+        assertNoSequentialScan(sqlCapture.capture(() -> {
+            assertFalse(reservations.findPendingCreatedBefore(LocalDateTime.now().minusMinutes(15), 500)
+                    .collectList().block().isEmpty());
+            assertTrue(reservations.deleteFinishedBefore(LocalDateTime.now().minusDays(7)).block() > 0);
+        }));
+    }
+
+    // findByActiveTrue lists the whole active catalog, nine products in ten here, so reading products in full is the
+    // cheapest plan and the one expected; anything else scanned sequentially still fails
+    @Test
+    void testActiveProductsListingScansOnlyProducts() {
+        List<Plan> plans = plan(sqlCapture.capture(() -> products.findAll().collectList().block()));
+
+        assertFalse(plans.isEmpty());
+        for (Plan plan : plans) {
+            assertEquals(List.of("products"), plan.generic(), plan.sql());
+            assertEquals(List.of("products"), plan.literal(), plan.sql());
+        }
+    }
+
+    private void assertNoSequentialScan(List<CapturedStatement> sent) {
+        List<String> failures = plan(sent).stream()
+                .filter(plan -> !plan.generic().isEmpty() || !plan.literal().isEmpty())
+                .map(plan -> plan.sql() + " -> generic plan " + plan.generic() + ", with literals " + plan.literal())
+                .toList();
+        assertEquals(List.of(), failures);
+    }
+
+    // Each distinct statement once, with the relations its two plans read sequentially
+    private List<Plan> plan(List<CapturedStatement> sent) {
+        Map<String, CapturedStatement> distinct = new LinkedHashMap<>();
+        sent.stream()
+                .filter(statement -> statement.sql().stripLeading().toLowerCase()
+                        .matches("(select|insert|update|delete|with)\\b[\\s\\S]*"))
+                .forEach(statement -> distinct.putIfAbsent(statement.sql(), statement));
+        assertFalse(distinct.isEmpty(), "no statement was captured");
+        return distinct.values().stream()
+                .map(statement -> new Plan(statement.sql(), sequentialScans(genericPlan(statement)),
+                        sequentialScans(literalPlan(statement))))
+                .toList();
+    }
+
+    // The plan Postgres keeps reusing for a prepared statement once it stops planning each execution
+    private String genericPlan(CapturedStatement statement) {
+        List<Object> parameters = statement.parameters();
+        String types = parameters.stream().map(QueryPlanTest::type).collect(Collectors.joining(", "));
+        String values = parameters.stream().map(QueryPlanTest::literal).collect(Collectors.joining(", "));
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement sql = connection.createStatement()) {
+                sql.execute("SET plan_cache_mode = force_generic_plan");
+                sql.execute("PREPARE plan_check" + (parameters.isEmpty() ? "" : "(" + types + ")") + " AS "
+                        + statement.sql());
+                try (ResultSet plan = sql.executeQuery("EXPLAIN (FORMAT JSON) EXECUTE plan_check"
+                        + (parameters.isEmpty() ? "" : "(" + values + ")"))) {
+                    plan.next();
+                    return plan.getString(1);
+                } finally {
+                    sql.execute("DEALLOCATE plan_check");
+                    sql.execute("RESET plan_cache_mode");
+                }
+            }
+        });
+    }
+
+    private String literalPlan(CapturedStatement statement) {
+        String sql = PLACEHOLDER.matcher(statement.sql()).replaceAll(placeholder -> Matcher.quoteReplacement(
+                literal(statement.parameters().get(Integer.parseInt(placeholder.group(1)) - 1))));
+        return jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class);
+    }
+
+    private List<String> sequentialScans(String explained) {
+        try {
+            JsonNode plan = objectMapper.readTree(explained);
+            List<String> relations = new ArrayList<>();
+            collectSequentialScans(plan.get(0).get("Plan"), relations);
+            return relations;
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable plan " + explained, e);
+        }
+    }
+
+    private static void collectSequentialScans(JsonNode node, List<String> relations) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            relations.add(node.path("Relation Name").asText());
+        }
+        node.path("Plans").forEach(child -> collectSequentialScans(child, relations));
+    }
+
+    // Declared the way pgjdbc sends them; strings go as varchar
+    private static String type(Object value) {
+        if (value instanceof String || value instanceof Enum<?>) {
+            return "varchar";
+        }
+        if (value instanceof Long) {
+            return "bigint";
+        }
+        if (value instanceof Integer) {
+            return "integer";
+        }
+        if (value instanceof BigDecimal) {
+            return "numeric";
+        }
+        if (value instanceof Boolean) {
+            return "boolean";
+        }
+        if (value instanceof Timestamp || value instanceof Temporal) {
+            return "timestamp";
+        }
+        return "unknown";
+    }
+
+    private static String literal(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return value.toString();
+        }
+        if (value instanceof Timestamp || value instanceof Temporal) {
+            return "TIMESTAMP '" + value + "'";
+        }
+        String text = value instanceof Enum<?> constant ? constant.name() : value.toString();
+        return "'" + text.replace("'", "''") + "'";
+    }
+
+    private record Plan(String sql, List<String> generic, List<String> literal) {
+    }
+}
@@ -0,0 +1,141 @@
+package com.arkam.product.infrastructure.adapter.persistence;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Records the statements Hibernate sends and the values bound to them, so that plans are checked for the SQL that
+ * actually runs rather than a copy of it. As a bean post-processor it wraps the {@link DataSource}; placeholders
+ * are reported in Postgres form ({@code $1}, {@code $2}...), and statements are only kept while {@link #capture}
+ * runs.
+ */
+class SqlCapture implements BeanPostProcessor {
+
+    private final List<CapturedStatement> statements = Collections.synchronizedList(new ArrayList<>());
+    private volatile boolean recording;
+
+    // Statements sent while work runs, in order; batches appear once per row
+    List<CapturedStatement> capture(Runnable work) {
+        statements.clear();
+        recording = true;
+        try {
+            work.run();
+        } finally {
+            recording = false;
+        }
+        synchronized (statements) {
+            return List.copyOf(statements);
+        }
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource dataSource && !(bean instanceof CapturingDataSource)
+                ? new CapturingDataSource(dataSource) : bean;
+    }
+
+    private void record(String sql, List<Object> parameters) {
+        if (recording) {
+            statements.add(new CapturedStatement(sql, Collections.unmodifiableList(new ArrayList<>(parameters))));
+        }
+    }
+
+    private Connection connection(Connection target) {
+        return proxy(Connection.class, target, (self, method, args) -> {
+            Object result = method.invoke(target, args);
+            return method.getName().equals("prepareStatement")
+                    ? preparedStatement((PreparedStatement) result, numbered((String) args[0])) : result;
+        });
+    }
+
+    private PreparedStatement preparedStatement(PreparedStatement target, String sql) {
+        List<Object> parameters = new ArrayList<>();
+        return proxy(PreparedStatement.class, target, (self, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                set(parameters, index - 1, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (args == null && (name.equals("addBatch") || name.equals("execute")
+                    || name.equals("executeQuery") || name.equals("executeUpdate") || name.equals("executeLargeUpdate"))) {
+                record(sql, parameters);
+            }
+            return method.invoke(target, args);
+        });
+    }
+
+    private static void set(List<Object> parameters, int index, Object value) {
+        while (parameters.size() <= index) {
+            parameters.add(null);
+        }
+        parameters.set(index, value);
+    }
+
+    // JDBC ? placeholders as $1, $2...; Hibernate's SQL has no ? inside literals
+    private static String numbered(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int next = 1;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(next++);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        return (T) Proxy.newProxyInstance(SqlCapture.class.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return self == args[0];
+                case "hashCode":
+                    return System.identityHashCode(self);
+                default:
+                    try {
+                        return handler.handle(self, method, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Object self, Method method, Object[] args) throws Exception;
+    }
+
+    record CapturedStatement(String sql, List<Object> parameters) {
+    }
+
+    private class CapturingDataSource extends DelegatingDataSource {
+
+        CapturingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return connection(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return connection(super.getConnection(username, password));
+        }
+    }
+}
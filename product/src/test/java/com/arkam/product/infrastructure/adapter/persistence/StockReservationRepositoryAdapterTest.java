@@ -0,0 +1,196 @@
+package com.arkam.product.infrastructure.adapter.persistence;
+
+import com.arkam.product.domain.model.StockReservation;
+import com.arkam.product.domain.model.StockReservationStatus;
+import com.arkam.product.infrastructure.adapter.persistence.entity.ProductEntity;
+import com.arkam.product.infrastructure.adapter.persistence.mapper.StockReservationPersistenceMapper;
+import com.arkam.product.infrastructure.adapter.persistence.repository.ProductJpaRepository;
+import com.arkam.product.infrastructure.adapter.persistence.repository.StockReservationJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(StockReservationPersistenceMapper.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockReservationRepositoryAdapterTest {
+
+    @Autowired
+    private ProductJpaRepository productJpaRepository;
+
+    @Autowired
+    private StockReservationJpaRepository stockReservationJpaRepository;
+
+    @Autowired
+    private StockReservationPersistenceMapper stockReservationPersistenceMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private StockReservationRepositoryAdapter adapter;
+    private Long laptop;
+    private Long mouse;
+
+    @BeforeEach
+    void setUp() {
+        stockReservationJpaRepository.deleteAll();
+        productJpaRepository.deleteAll();
+        adapter = new StockReservationRepositoryAdapter(stockReservationJpaRepository, productJpaRepository,
+                stockReservationPersistenceMapper, new TransactionTemplate(transactionManager));
+        laptop = product("Laptop", 5);
+        mouse = product("Mouse", 1);
+    }
+
+    @Test
+    void testReserveDecrementsEveryLine() {
+        StepVerifier.create(adapter.reserve("res-1", Map.of(laptop, 2, mouse, 1)))
+                .expectNextMatches(reservation -> reservation.map(StockReservation::getStatus)
+                        .equals(Optional.of(StockReservationStatus.PENDING)))
+                .verifyComplete();
+
+        assertEquals(3, stock(laptop));
+        assertEquals(0, stock(mouse));
+    }
+
+    @Test
+    void testReserveIsAllOrNothing() {
+        StepVerifier.create(adapter.reserve("res-1", Map.of(laptop, 2, mouse, 2)))
+                .expectNext(Optional.empty())
+                .verifyComplete();
+
+        assertEquals(5, stock(laptop));
+        assertEquals(1, stock(mouse));
+        assertTrue(stockReservationJpaRepository.findById("res-1").isEmpty());
+    }
+
+    @Test
+    void testRetriedReserveTakesStockOnce() {
+        adapter.reserve("res-1", Map.of(laptop, 2)).block();
+
+        StockReservation retried = adapter.reserve("res-1", Map.of(laptop, 2)).block().orElseThrow();
+
+        assertEquals(StockReservationStatus.PENDING, retried.getStatus());
+        assertEquals(3, stock(laptop));
+    }
+
+    @Test
+    void testReleaseRestoresStockOnce() {
+        adapter.reserve("res-1", Map.of(laptop, 2, mouse, 1)).block();
+
+        assertTrue(adapter.release("res-1").block());
+        assertFalse(adapter.release("res-1").block());
+
+        assertEquals(5, stock(laptop));
+        assertEquals(1, stock(mouse));
+    }
+
+    @Test
+    void testConfirmedReservationIsNotReleased() {
+        adapter.reserve("res-1", Map.of(laptop, 2)).block();
+
+        assertEquals(StockReservationStatus.CONFIRMED, adapter.confirm("res-1").block().orElseThrow().getStatus());
+        assertFalse(adapter.release("res-1").block());
+
+        assertEquals(3, stock(laptop));
+    }
+
+    @Test
+    void testConfirmAfterReleaseStaysReleased() {
+        adapter.reserve("res-1", Map.of(laptop, 2)).block();
+        adapter.release("res-1").block();
+
+        assertEquals(StockReservationStatus.RELEASED, adapter.confirm("res-1").block().orElseThrow().getStatus());
+        assertEquals(Optional.empty(), adapter.confirm("unknown").block());
+    }
+
+    @Test
+    void testOnlyPendingReservationsExpire() {
+        adapter.reserve("pending", Map.of(laptop, 1)).block();
+        adapter.reserve("confirmed", Map.of(laptop, 1)).block();
+        adapter.confirm("confirmed").block();
+
+        assertEquals(List.of("pending"), adapter.findPendingCreatedBefore(LocalDateTime.now().plusSeconds(1), 10)
+                .collectList().block());
+        assertEquals(List.of(), adapter.findPendingCreatedBefore(LocalDateTime.now().minusMinutes(1), 10)
+                .collectList().block());
+    }
+
+    @Test
+    void testDeleteFinishedKeepsPendingReservations() {
+        adapter.reserve("pending", Map.of(laptop, 1)).block();
+        adapter.reserve("released", Map.of(laptop, 1, mouse, 1)).block();
+        adapter.release("released").block();
+
+        assertEquals(1, adapter.deleteFinishedBefore(LocalDateTime.now().plusSeconds(1)).block());
+
+        assertTrue(stockReservationJpaRepository.findById("released").isEmpty());
+        assertTrue(stockReservationJpaRepository.findById("pending").isPresent());
+    }
+
+    @Test
+    void testConcurrentReservationsNeverOversell() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Optional<StockReservation>>> results = IntStream.range(0, 20)
+                    .mapToObj(i -> executor.submit(() -> adapter.reserve("res-" + i, Map.of(laptop, 1)).block()))
+                    .toList();
+            long reserved = 0;
+            for (Future<Optional<StockReservation>> result : results) {
+                if (result.get().isPresent()) {
+                    reserved++;
+                }
+            }
+            assertEquals(5, reserved);
+            assertEquals(0, stock(laptop));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testConcurrentRetriesOfOneReservationTakeStockOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Optional<StockReservation>>> results = IntStream.range(0, 8)
+                    .mapToObj(i -> executor.submit(() -> adapter.reserve("res-1", Map.of(laptop, 1)).block()))
+                    .toList();
+            for (Future<Optional<StockReservation>> result : results) {
+                assertEquals("res-1", result.get().orElseThrow().getId());
+            }
+            assertEquals(4, stock(laptop));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Long product(String name, int stock) {
+        ProductEntity entity = new ProductEntity();
+        entity.setName(name);
+        entity.setPrice(BigDecimal.TEN);
+        entity.setStockQuantity(stock);
+        return productJpaRepository.save(entity).getId();
+    }
+
+    private int stock(Long id) {
+        return productJpaRepository.findById(id).orElseThrow().getStockQuantity();
+    }
+}
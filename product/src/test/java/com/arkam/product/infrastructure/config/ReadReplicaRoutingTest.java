@@ -0,0 +1,130 @@
+package com.arkam.product.infrastructure.config;
+
+import com.arkam.product.application.port.out.ProductRepositoryPort;
+import com.arkam.product.domain.model.Product;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two separate in-memory databases stand in for the primary and the replica. Each holds a different name for the
+ * same product, so every read shows which pool served it. The replica reports its lag from a table the test
+ * controls.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingTest.PRIMARY_URL,
+        "product.datasource.replica.url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "product.datasource.replica.username=sa",
+        "product.datasource.replica.lag-query=SELECT lag_ms FROM replica_lag",
+        "product.datasource.replica.max-lag=2s",
+        "product.datasource.replica.lag-check-interval=1h"
+})
+class ReadReplicaRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:product-primary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+    static final String REPLICA_URL = "jdbc:h2:mem:product-replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    private static final long PRODUCT = 1000;
+
+    @Autowired
+    private ProductRepositoryPort productRepository;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    private ReplicaLagGuard replicaLagGuard;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    void setUp() {
+        replica.execute("CREATE TABLE IF NOT EXISTS products (id BIGINT PRIMARY KEY, name VARCHAR(255), "
+                + "description VARCHAR(255), price NUMERIC(38, 2), stock_quantity INTEGER, category VARCHAR(255), "
+                + "image_url VARCHAR(255), active BOOLEAN, created_at TIMESTAMP(6), updated_at TIMESTAMP(6))");
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_lag (lag_ms BIGINT)");
+        replica.update("DELETE FROM products");
+        replica.update("DELETE FROM replica_lag");
+        insertProduct(replica, "from-replica");
+        replica.update("INSERT INTO replica_lag VALUES (0)");
+
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        primary.update("DELETE FROM products");
+        insertProduct(primary, "from-primary");
+    }
+
+    @Test
+    void testCatalogReadsGoToReplicaWhileItKeepsUp() {
+        replicaLagGuard.check();
+
+        assertTrue(replicaLagGuard.replicaUsable());
+        assertEquals(List.of("from-replica"), names(productRepository.findAll().collectList().block()));
+        assertEquals(List.of("from-replica"), names(productRepository.findAllById(Set.of(PRODUCT)).collectList().block()));
+        assertEquals(List.of("from-replica"), names(productRepository.searchProducts("from").collectList().block()));
+    }
+
+    @Test
+    void testFindByIdStaysOnPrimary() {
+        replicaLagGuard.check();
+
+        assertTrue(replicaLagGuard.replicaUsable());
+        assertEquals("from-primary", productRepository.findById(PRODUCT).block().orElseThrow().getName());
+    }
+
+    @Test
+    void testLaggingReplicaFallsBackToPrimary() {
+        replica.update("UPDATE replica_lag SET lag_ms = 60000");
+        replicaLagGuard.check();
+
+        assertFalse(replicaLagGuard.replicaUsable());
+        assertEquals(List.of("from-primary"), names(productRepository.findAll().collectList().block()));
+        assertEquals(60000, meterRegistry.get("product.datasource.replica.lag").gauge().value());
+    }
+
+    @Test
+    void testFailingLagCheckFallsBackToPrimary() {
+        replica.execute("DROP TABLE replica_lag");
+        replicaLagGuard.check();
+
+        assertFalse(replicaLagGuard.replicaUsable());
+        assertEquals(List.of("from-primary"), names(productRepository.findAll().collectList().block()));
+        assertEquals(0, meterRegistry.get("product.datasource.replica.usable").gauge().value());
+    }
+
+    @Test
+    void testEachPoolReportsItsOwnConnectionMetrics() {
+        replicaLagGuard.check();
+        productRepository.findAll().collectList().block();
+
+        assertNotNull(meterRegistry.get("hikaricp.connections").tag("pool", "product-primary").gauge());
+        assertNotNull(meterRegistry.get("hikaricp.connections").tag("pool", "product-replica").gauge());
+    }
+
+    private static void insertProduct(JdbcTemplate jdbcTemplate, String name) {
+        jdbcTemplate.update("INSERT INTO products (id, name, description, price, stock_quantity, category, active, "
+                + "created_at, updated_at) VALUES (?, ?, 'Descripción', 9.99, 10, 'categoria', true, "
+                + "LOCALTIMESTAMP, LOCALTIMESTAMP)", PRODUCT, name);
+    }
+
+    private static List<String> names(List<Product> products) {
+        return products.stream().map(Product::getName).toList();
+    }
+}